@@ -0,0 +1,39 @@
+package pt.up.edscrum.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import pt.up.edscrum.service.AwardService;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+/**
+ * Tempo de atribuição de um prémio de equipa (escrita do prémio, scores da
+ * equipa e dos membros e notificações), rodando pelas equipas existentes.
+ */
+public class AwardBenchmark {
+
+    private int next;
+
+    @Benchmark
+    public void assignAwardToTeam(EdScrumBenchmarkState state) {
+        Long teamId = state.data.teamIds.get(Math.floorMod(next++, state.data.teamIds.size()));
+        state.inRequest(() -> {
+            state.getBean(AwardService.class).assignAwardToTeam(state.data.teamAwardId, teamId);
+            return null;
+        });
+    }
+}
@@ -0,0 +1,250 @@
+package pt.up.edscrum.benchmark;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.springframework.context.ApplicationContext;
+
+import pt.up.edscrum.enums.ProjectStatus;
+import pt.up.edscrum.enums.SprintStatus;
+import pt.up.edscrum.enums.UserStoryPriority;
+import pt.up.edscrum.enums.UserStoryStatus;
+import pt.up.edscrum.model.Award;
+import pt.up.edscrum.model.Course;
+import pt.up.edscrum.model.Enrollment;
+import pt.up.edscrum.model.Project;
+import pt.up.edscrum.model.Score;
+import pt.up.edscrum.model.Sprint;
+import pt.up.edscrum.model.StudentAward;
+import pt.up.edscrum.model.Team;
+import pt.up.edscrum.model.TeamAward;
+import pt.up.edscrum.model.User;
+import pt.up.edscrum.model.UserStory;
+import pt.up.edscrum.repository.AwardRepository;
+import pt.up.edscrum.repository.CourseRepository;
+import pt.up.edscrum.repository.EnrollmentRepository;
+import pt.up.edscrum.repository.ProjectRepository;
+import pt.up.edscrum.repository.ScoreRepository;
+import pt.up.edscrum.repository.SprintRepository;
+import pt.up.edscrum.repository.StudentAwardRepository;
+import pt.up.edscrum.repository.TeamAwardRepository;
+import pt.up.edscrum.repository.TeamRepository;
+import pt.up.edscrum.repository.UserRepository;
+import pt.up.edscrum.repository.UserStoryRepository;
+
+/**
+ * Cria um conjunto de dados sintético (sempre igual para a mesma escala)
+ * para os benchmarks: um professor com `COURSES_PER_SCALE × scale` cursos,
+ * cada um com `STUDENTS_PER_COURSE` estudantes inscritos, divididos em
+ * equipas de `TEAM_SIZE` com um projeto cada, sprints, user stories,
+ * prémios e scores.
+ */
+public class BenchmarkDataSeeder {
+
+    static final int COURSES_PER_SCALE = 4;
+    static final int STUDENTS_PER_COURSE = 50;
+    static final int TEAM_SIZE = 5;
+    static final int SPRINTS_PER_PROJECT = 3;
+    static final int STORIES_PER_SPRINT = 8;
+    static final int AWARDS_PER_STUDENT = 2;
+
+    private static final UserStoryStatus[] STATUSES = UserStoryStatus.values();
+
+    private final UserRepository userRepo;
+    private final CourseRepository courseRepo;
+    private final EnrollmentRepository enrollmentRepo;
+    private final ProjectRepository projectRepo;
+    private final TeamRepository teamRepo;
+    private final SprintRepository sprintRepo;
+    private final UserStoryRepository userStoryRepo;
+    private final AwardRepository awardRepo;
+    private final StudentAwardRepository studentAwardRepo;
+    private final TeamAwardRepository teamAwardRepo;
+    private final ScoreRepository scoreRepo;
+
+    private final Random random = new Random(42);
+
+    public BenchmarkDataSeeder(ApplicationContext context) {
+        this.userRepo = context.getBean(UserRepository.class);
+        this.courseRepo = context.getBean(CourseRepository.class);
+        this.enrollmentRepo = context.getBean(EnrollmentRepository.class);
+        this.projectRepo = context.getBean(ProjectRepository.class);
+        this.teamRepo = context.getBean(TeamRepository.class);
+        this.sprintRepo = context.getBean(SprintRepository.class);
+        this.userStoryRepo = context.getBean(UserStoryRepository.class);
+        this.awardRepo = context.getBean(AwardRepository.class);
+        this.studentAwardRepo = context.getBean(StudentAwardRepository.class);
+        this.teamAwardRepo = context.getBean(TeamAwardRepository.class);
+        this.scoreRepo = context.getBean(ScoreRepository.class);
+    }
+
+    /**
+     * Ids das entidades criadas que os benchmarks usam como alvo.
+     */
+    public static class SeedResult {
+
+        public Long teacherId;
+        public final List<Long> courseIds = new ArrayList<>();
+        public final List<Long> studentIds = new ArrayList<>();
+        public final List<Long> projectIds = new ArrayList<>();
+        public final List<Long> teamIds = new ArrayList<>();
+        public Long teamAwardId;
+    }
+
+    /**
+     * Cria os dados. Deve ser chamado dentro de uma transação.
+     *
+     * @param scale multiplicador do número de cursos
+     * @return ids criados
+     */
+    public SeedResult seed(int scale) {
+        SeedResult result = new SeedResult();
+
+        User teacher = newUser("Professor Benchmark", "teacher@bench.pt", "TEACHER");
+        teacher = userRepo.save(teacher);
+        result.teacherId = teacher.getId();
+
+        List<Award> studentAwards = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            studentAwards.add(newAward("Prémio Individual " + i, 10 + i * 10, "INDIVIDUAL"));
+        }
+        studentAwards = awardRepo.saveAll(studentAwards);
+        Award teamAward = awardRepo.save(newAward("Prémio de Equipa", 50, "TEAM"));
+        result.teamAwardId = teamAward.getId();
+
+        for (int c = 0; c < COURSES_PER_SCALE * scale; c++) {
+            Course course = new Course();
+            course.setName("Curso " + c);
+            course.setCode("BENCH" + c);
+            course.setTeacher(teacher);
+            course = courseRepo.save(course);
+            result.courseIds.add(course.getId());
+
+            List<User> students = new ArrayList<>();
+            for (int s = 0; s < STUDENTS_PER_COURSE; s++) {
+                students.add(newUser("Aluno " + c + "-" + s, "aluno" + c + "_" + s + "@bench.pt", "STUDENT"));
+            }
+            students = userRepo.saveAll(students);
+
+            List<Enrollment> enrollments = new ArrayList<>();
+            for (User student : students) {
+                Enrollment e = new Enrollment();
+                e.setStudent(student);
+                e.setCourse(course);
+                enrollments.add(e);
+                result.studentIds.add(student.getId());
+            }
+            enrollmentRepo.saveAll(enrollments);
+
+            for (int t = 0; t + TEAM_SIZE <= students.size(); t += TEAM_SIZE) {
+                seedTeam(course, students.subList(t, t + TEAM_SIZE), studentAwards, teamAward, result);
+            }
+        }
+        // As stories são gravadas diretamente no repositório: acerta os contadores dos sprints
+        sprintRepo.backfillStoryCounters();
+        return result;
+    }
+
+    private void seedTeam(Course course, List<User> members, List<Award> studentAwards, Award teamAward, SeedResult result) {
+        Project project = new Project();
+        project.setName("Projeto " + course.getName() + " / " + members.get(0).getName());
+        project.setCourse(course);
+        project.setStatus(ProjectStatus.EM_CURSO);
+        project.setStartDate(LocalDate.now().minusWeeks(6));
+        project.setEndDate(LocalDate.now().plusWeeks(6));
+        project = projectRepo.save(project);
+        result.projectIds.add(project.getId());
+
+        Team team = new Team();
+        team.setName("Equipa " + members.get(0).getName());
+        team.setCourse(course);
+        team.setProject(project);
+        team.setScrumMaster(members.get(0));
+        team.setProductOwner(members.get(1));
+        team.setDevelopers(new ArrayList<>(members.subList(2, members.size())));
+        team = teamRepo.save(team);
+        result.teamIds.add(team.getId());
+
+        for (int s = 0; s < SPRINTS_PER_PROJECT; s++) {
+            Sprint sprint = new Sprint();
+            sprint.setName("Sprint " + (s + 1));
+            sprint.setProject(project);
+            sprint.setCreatedBy(members.get(0));
+            sprint.setStartDate(LocalDate.now().minusWeeks(6 - s * 2L));
+            sprint.setEndDate(LocalDate.now().minusWeeks(4 - s * 2L));
+            sprint.setStatus(s < SPRINTS_PER_PROJECT - 1 ? SprintStatus.CONCLUIDO : SprintStatus.EM_CURSO);
+            sprint = sprintRepo.save(sprint);
+
+            List<UserStory> stories = new ArrayList<>();
+            for (int u = 0; u < STORIES_PER_SPRINT; u++) {
+                UserStory story = new UserStory();
+                story.setName("US " + (u + 1));
+                story.setSprint(sprint);
+                story.setStoryPoints(1 + random.nextInt(8));
+                story.setPriority(UserStoryPriority.values()[random.nextInt(UserStoryPriority.values().length)]);
+                story.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+                story.setAssignee(members.get(random.nextInt(members.size())));
+                story.setCreatedBy(members.get(1));
+                stories.add(story);
+            }
+            userStoryRepo.saveAll(stories);
+        }
+
+        TeamAward ta = new TeamAward();
+        ta.setTeam(team);
+        ta.setAward(teamAward);
+        ta.setProject(project);
+        ta.setPointsEarned(teamAward.getPoints());
+        teamAwardRepo.save(ta);
+
+        Score teamScore = new Score();
+        teamScore.setTeam(team);
+        teamScore.setTotalPoints(teamAward.getPoints());
+        scoreRepo.save(teamScore);
+
+        List<StudentAward> awards = new ArrayList<>();
+        List<Score> scores = new ArrayList<>();
+        for (User member : members) {
+            int points = teamAward.getPoints();
+            // Prémios distintos: o mesmo prémio só pode ser atribuído uma vez por projeto
+            int first = random.nextInt(studentAwards.size());
+            for (int a = 0; a < AWARDS_PER_STUDENT; a++) {
+                Award award = studentAwards.get((first + a) % studentAwards.size());
+                StudentAward sa = new StudentAward();
+                sa.setStudent(member);
+                sa.setAward(award);
+                sa.setProject(project);
+                sa.setPointsEarned(award.getPoints());
+                awards.add(sa);
+                points += award.getPoints();
+            }
+            Score score = new Score();
+            score.setUser(member);
+            score.setTotalPoints(points);
+            scores.add(score);
+        }
+        studentAwardRepo.saveAll(awards);
+        scoreRepo.saveAll(scores);
+    }
+
+    private static User newUser(String name, String email, String role) {
+        User u = new User();
+        u.setName(name);
+        u.setEmail(email);
+        u.setPassword("bench");
+        u.setRole(role);
+        return u;
+    }
+
+    private static Award newAward(String name, int points, String targetType) {
+        Award a = new Award();
+        a.setName(name);
+        a.setDescription(name);
+        a.setPoints(points);
+        a.setType("MANUAL");
+        a.setTargetType(targetType);
+        return a;
+    }
+}
@@ -0,0 +1,64 @@
+package pt.up.edscrum.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import pt.up.edscrum.dto.dashboard.ProjectDetailsDTO;
+import pt.up.edscrum.dto.dashboard.RankingDTO;
+import pt.up.edscrum.dto.dashboard.StudentDashboardDTO;
+import pt.up.edscrum.dto.dashboard.TeacherDashboardDTO;
+import pt.up.edscrum.service.DashboardService;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+/**
+ * Tempo médio das leituras dos dashboards e rankings. Cada invocação usa o
+ * próximo estudante / curso / projeto dos dados sintéticos, para não medir
+ * sempre a mesma linha.
+ */
+public class DashboardBenchmark {
+
+    private int next;
+
+    private static Long pick(List<Long> ids, int i) {
+        return ids.get(Math.floorMod(i, ids.size()));
+    }
+
+    @Benchmark
+    public StudentDashboardDTO studentDashboard(EdScrumBenchmarkState state) {
+        Long studentId = pick(state.data.studentIds, next++);
+        return state.inRequest(() -> state.getBean(DashboardService.class).getStudentDashboard(studentId));
+    }
+
+    @Benchmark
+    public TeacherDashboardDTO teacherDashboard(EdScrumBenchmarkState state) {
+        Long courseId = pick(state.data.courseIds, next++);
+        return state.inRequest(() -> state.getBean(DashboardService.class).getTeacherDashboard(courseId));
+    }
+
+    @Benchmark
+    public ProjectDetailsDTO projectDetails(EdScrumBenchmarkState state) {
+        Long projectId = pick(state.data.projectIds, next++);
+        return state.inRequest(() -> state.getBean(DashboardService.class).getProjectDetails(projectId));
+    }
+
+    @Benchmark
+    public List<RankingDTO> studentRanking(EdScrumBenchmarkState state) {
+        Long courseId = pick(state.data.courseIds, next++);
+        return state.inRequest(() -> state.getBean(DashboardService.class).getStudentRanking(courseId));
+    }
+}
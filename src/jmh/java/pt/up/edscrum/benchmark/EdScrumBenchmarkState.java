@@ -0,0 +1,82 @@
+package pt.up.edscrum.benchmark;
+
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import pt.up.edscrum.EduScrumApplication;
+
+@State(Scope.Benchmark)
+/**
+ * Contexto Spring partilhado pelos benchmarks: arranca a aplicação sobre uma
+ * base H2 em memória (modo MySQL) e carrega os dados sintéticos de
+ * `BenchmarkDataSeeder` à escala `scale`.
+ */
+public class EdScrumBenchmarkState {
+
+    @Param({"1", "10"})
+    public int scale;
+
+    public ConfigurableApplicationContext context;
+    public BenchmarkDataSeeder.SeedResult data;
+
+    private EntityManagerFactory entityManagerFactory;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(EduScrumApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:edscrum-bench;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN");
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+
+        BenchmarkDataSeeder seeder = new BenchmarkDataSeeder(context);
+        data = new TransactionTemplate(context.getBean(PlatformTransactionManager.class))
+                .execute(status -> seeder.seed(scale));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * Executa como num pedido HTTP: um `EntityManager` aberto durante toda a
+     * chamada (tal como o open-in-view faz na aplicação), sem transação.
+     */
+    public <T> T inRequest(Supplier<T> work) {
+        EntityManager em = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(em));
+        try {
+            return work.get();
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            EntityManagerFactoryUtils.closeEntityManager(em);
+        }
+    }
+}
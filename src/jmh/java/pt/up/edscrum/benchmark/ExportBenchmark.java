@@ -0,0 +1,45 @@
+package pt.up.edscrum.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpSession;
+
+import pt.up.edscrum.controller.ExportController;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+/**
+ * Tempo de geração do CSV de rankings de um professor (todos os cursos).
+ */
+public class ExportBenchmark {
+
+    private MockHttpSession session;
+
+    @Setup
+    public void login(EdScrumBenchmarkState state) {
+        session = new MockHttpSession();
+        session.setAttribute("currentUserId", state.data.teacherId);
+        session.setAttribute("currentUserRole", "TEACHER");
+    }
+
+    @Benchmark
+    public ResponseEntity<byte[]> exportRankingsCsv(EdScrumBenchmarkState state) {
+        return state.inRequest(() -> state.getBean(ExportController.class)
+                .exportRankingsCsv(state.data.teacherId, session));
+    }
+}
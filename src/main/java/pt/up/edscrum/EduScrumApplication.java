@@ -2,13 +2,22 @@ package pt.up.edscrum;
 
 import java.util.List;
 
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
 
+import jakarta.persistence.EntityManagerFactory;
 import pt.up.edscrum.model.Award;
 import pt.up.edscrum.repository.AwardRepository;
+import pt.up.edscrum.repository.ScoreRepository;
+import pt.up.edscrum.repository.SprintRepository;
+import pt.up.edscrum.repository.StudentAwardRepository;
+import pt.up.edscrum.repository.TeamMembershipRepository;
 
 @SpringBootApplication
 /**
@@ -17,6 +26,8 @@ import pt.up.edscrum.repository.AwardRepository;
  */
 public class EduScrumApplication {
 
+    private static final Logger log = LoggerFactory.getLogger(EduScrumApplication.class);
+
     public static void main(String[] args) {
         SpringApplication.run(EduScrumApplication.class, args);
     }
@@ -49,6 +60,56 @@ public class EduScrumApplication {
         };
     }
 
+    @Bean
+    public CommandLineRunner backfillSprintStoryCounters(SprintRepository sprintRepository) {
+        // Contadores de user stories por sprint: preenche-os só nos sprints
+        // criados antes de existirem (nas execuções seguintes não há nenhum)
+        return args -> sprintRepository.backfillStoryCounters();
+    }
+
+    @Bean
+    public CommandLineRunner removeDuplicateStudentAwards(StudentAwardRepository studentAwardRepository) {
+        // Migração única: duplicados de antes da restrição
+        // uk_student_award_project impedem o ddl-auto de a criar. São apagados
+        // no primeiro arranque e a restrição é criada no arranque seguinte
+        // (são precisos dois arranques); a partir daí não corre mais
+        return args -> {
+            if (studentAwardRepository.countUniqueProjectConstraints() == 0) {
+                studentAwardRepository.deleteDuplicates();
+            }
+        };
+    }
+
+    @Bean
+    public CommandLineRunner rebuildTeamMemberships(TeamMembershipRepository teamMembershipRepository) {
+        // Tabela team_membership: preenche-a só quando está vazia (bases de
+        // dados criadas antes de existir); a partir daí é mantida pelo
+        // TeamMembershipSync
+        return args -> {
+            if (teamMembershipRepository.count() == 0) {
+                teamMembershipRepository.rebuild();
+            }
+        };
+    }
+
+    @Bean
+    public CommandLineRunner alignScoreIdSequence(ScoreRepository scoreRepository,
+            EntityManagerFactory entityManagerFactory) {
+        // Score passou de AUTO_INCREMENT para a sequência score_seq: em bases
+        // de dados existentes a sequência tem de começar depois do maior id.
+        // Só em bases sem sequências nativas (ex.: MySQL) o Hibernate a emula
+        // com a tabela score_seq; nas restantes (ex.: H2) não há nada a alinhar.
+        return args -> {
+            Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices().getDialect();
+            if (dialect.getSequenceSupport().supportsSequences()) {
+                log.debug("score_seq é uma sequência nativa ({}): nada a alinhar", dialect);
+                return;
+            }
+            scoreRepository.alignIdSequence();
+        };
+    }
+
     private static Award createAwardObj(String name, String desc, int points, String type, String target) {
         Award a = new Award();
         a.setName(name);
@@ -13,6 +13,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import pt.up.edscrum.dto.BulkAwardRequest;
+import pt.up.edscrum.dto.BulkAwardResultDTO;
 import pt.up.edscrum.model.Award;
 import pt.up.edscrum.service.AwardService;
 
@@ -144,6 +146,30 @@ public class AwardController {
         awardService.assignAwardToTeam(awardId, teamId);
     }
 
+    /**
+     * Atribui um prémio individual a vários estudantes de uma vez (ids,
+     * membros de equipas, inscritos num curso e/ou lista CSV). Apenas para
+     * professores.
+     *
+     * @param request prémio, projeto (opcional) e alvos
+     * @return resultado da atribuição, ou 400 com a mensagem de erro
+     */
+    @PostMapping("/assign-bulk")
+    public org.springframework.http.ResponseEntity<?> assignAwardInBulk(
+            @RequestBody BulkAwardRequest request,
+            jakarta.servlet.http.HttpSession session) {
+        Long currentUserId = (Long) session.getAttribute("currentUserId");
+        String currentUserRole = (String) session.getAttribute("currentUserRole");
+        if (currentUserId == null) return org.springframework.http.ResponseEntity.status(401).build();
+        if (!"TEACHER".equals(currentUserRole)) return org.springframework.http.ResponseEntity.status(403).build();
+        try {
+            BulkAwardResultDTO result = awardService.assignAwardInBulk(request);
+            return org.springframework.http.ResponseEntity.ok(result);
+        } catch (RuntimeException e) {
+            return org.springframework.http.ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     /**
      * Calcula o total de pontos de um estudante.
      *
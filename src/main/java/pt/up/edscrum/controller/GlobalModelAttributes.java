@@ -1,13 +1,12 @@
 package pt.up.edscrum.controller;
 
-import java.util.HashMap;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ModelAttribute;
 
-import pt.up.edscrum.repository.UserRepository;
+import pt.up.edscrum.service.ProfileImageCache;
 
 @ControllerAdvice
 /**
@@ -17,12 +16,14 @@ import pt.up.edscrum.repository.UserRepository;
 public class GlobalModelAttributes {
 
     @Autowired
-    private UserRepository userRepository;
+    private ProfileImageCache profileImageCache;
 
+    /**
+     * Mapa id → imagem de perfil resolvido a pedido: só os ids efetivamente
+     * consultados pela view são carregados (e ficam em cache).
+     */
     @ModelAttribute("userProfileImageMap")
     public Map<Long, String> userProfileImageMap() {
-        Map<Long, String> map = new HashMap<>();
-        userRepository.findAll().forEach(u -> map.put(u.getId(), u.getProfileImage()));
-        return map;
+        return profileImageCache.lazyView();
     }
 }
@@ -8,8 +8,10 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import pt.up.edscrum.dto.NotificationDTO;
 import pt.up.edscrum.model.Notification;
 import pt.up.edscrum.service.NotificationService;
 
@@ -24,19 +26,37 @@ public class NotificationController {
     private NotificationService notificationService;
 
     /**
-     * Obtém as notificações de um utilizador específico. URL: GET
-     * /api/notifications/{userId}
+     * Obtém uma página das notificações de um utilizador (mais recentes
+     * primeiro). Para a página seguinte, passar em `beforeId` o id da última
+     * notificação recebida. URL: GET
+     * /api/notifications/{userId}?beforeId=&limit=
      */
     @GetMapping("/{userId}")
-    public ResponseEntity<List<Notification>> getUserNotifications(@PathVariable Long userId, jakarta.servlet.http.HttpSession session) {
+    public ResponseEntity<List<NotificationDTO>> getUserNotifications(@PathVariable Long userId,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "20") int limit,
+            jakarta.servlet.http.HttpSession session) {
         Long currentUserId = (Long) session.getAttribute("currentUserId");
         String currentUserRole = (String) session.getAttribute("currentUserRole");
         if (currentUserId == null) return ResponseEntity.status(401).build();
         if (!currentUserId.equals(userId) && !"TEACHER".equals(currentUserRole)) return ResponseEntity.status(403).build();
-        List<Notification> notifications = notificationService.getUserNotifications(userId);
+        List<NotificationDTO> notifications = notificationService.getNotificationPage(userId, beforeId, limit);
         return ResponseEntity.ok(notifications);
     }
 
+    /**
+     * Obtém o número de notificações por ler de um utilizador. URL: GET
+     * /api/notifications/{userId}/unread-count
+     */
+    @GetMapping("/{userId}/unread-count")
+    public ResponseEntity<Long> getUnreadCount(@PathVariable Long userId, jakarta.servlet.http.HttpSession session) {
+        Long currentUserId = (Long) session.getAttribute("currentUserId");
+        String currentUserRole = (String) session.getAttribute("currentUserRole");
+        if (currentUserId == null) return ResponseEntity.status(401).build();
+        if (!currentUserId.equals(userId) && !"TEACHER".equals(currentUserRole)) return ResponseEntity.status(403).build();
+        return ResponseEntity.ok(notificationService.getUnreadCount(userId));
+    }
+
     /**
      * Marca uma notificação específica como lida. URL: POST
      * /api/notifications/{id}/read
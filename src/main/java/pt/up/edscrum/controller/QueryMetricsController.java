@@ -0,0 +1,88 @@
+package pt.up.edscrum.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import jakarta.servlet.http.HttpSession;
+import pt.up.edscrum.dto.ConnectionPoolMetricsDTO;
+import pt.up.edscrum.dto.QueryMetricsDTO;
+import pt.up.edscrum.metrics.ConnectionPoolMetrics;
+import pt.up.edscrum.metrics.QueryMetricsRegistry;
+
+@RestController
+@RequestMapping("/api/metrics")
+/**
+ * Expõe as métricas de acesso à base de dados recolhidas por pedido HTTP e
+ * por método de serviço (instruções SQL, entidades carregadas e tempos) e o
+ * estado dos pools de ligações. Apenas para professores.
+ */
+public class QueryMetricsController {
+
+    private final QueryMetricsRegistry registry;
+    // Só existe com edscrum.metrics.enabled (ver QueryMetricsConfig)
+    private final ObjectProvider<ConnectionPoolMetrics> poolMetrics;
+
+    public QueryMetricsController(QueryMetricsRegistry registry, ObjectProvider<ConnectionPoolMetrics> poolMetrics) {
+        this.registry = registry;
+        this.poolMetrics = poolMetrics;
+    }
+
+    /**
+     * Lista as métricas, das mais pesadas (instruções SQL por chamada) para
+     * as mais leves. URL: GET /api/metrics/queries
+     */
+    @GetMapping("/queries")
+    public ResponseEntity<List<QueryMetricsDTO>> getQueryMetrics(HttpSession session) {
+        Long currentUserId = (Long) session.getAttribute("currentUserId");
+        String currentUserRole = (String) session.getAttribute("currentUserRole");
+        if (currentUserId == null) return ResponseEntity.status(401).build();
+        if (!"TEACHER".equals(currentUserRole)) return ResponseEntity.status(403).build();
+        return ResponseEntity.ok(registry.getAll());
+    }
+
+    /**
+     * Limpa as métricas recolhidas. URL: POST /api/metrics/queries/reset
+     */
+    @PostMapping("/queries/reset")
+    public ResponseEntity<Void> resetQueryMetrics(HttpSession session) {
+        Long currentUserId = (Long) session.getAttribute("currentUserId");
+        String currentUserRole = (String) session.getAttribute("currentUserRole");
+        if (currentUserId == null) return ResponseEntity.status(401).build();
+        if (!"TEACHER".equals(currentUserRole)) return ResponseEntity.status(403).build();
+        registry.reset();
+        return ResponseEntity.ok().build();
+    }
+
+    /**
+     * Estado e tempos de espera/uso de cada pool de ligações.
+     * URL: GET /api/metrics/pool
+     */
+    @GetMapping("/pool")
+    public ResponseEntity<List<ConnectionPoolMetricsDTO>> getPoolMetrics(HttpSession session) {
+        Long currentUserId = (Long) session.getAttribute("currentUserId");
+        String currentUserRole = (String) session.getAttribute("currentUserRole");
+        if (currentUserId == null) return ResponseEntity.status(401).build();
+        if (!"TEACHER".equals(currentUserRole)) return ResponseEntity.status(403).build();
+        ConnectionPoolMetrics metrics = poolMetrics.getIfAvailable();
+        return ResponseEntity.ok(metrics != null ? metrics.getAll() : List.of());
+    }
+
+    /**
+     * Limpa os tempos e contadores dos pools. URL: POST /api/metrics/pool/reset
+     */
+    @PostMapping("/pool/reset")
+    public ResponseEntity<Void> resetPoolMetrics(HttpSession session) {
+        Long currentUserId = (Long) session.getAttribute("currentUserId");
+        String currentUserRole = (String) session.getAttribute("currentUserRole");
+        if (currentUserId == null) return ResponseEntity.status(401).build();
+        if (!"TEACHER".equals(currentUserRole)) return ResponseEntity.status(403).build();
+        poolMetrics.ifAvailable(ConnectionPoolMetrics::reset);
+        return ResponseEntity.ok().build();
+    }
+}
@@ -61,7 +61,7 @@ public class TeamController {
      */
     @GetMapping("/{id}")
     public ResponseEntity<Team> getTeamById(@PathVariable Long id) {
-        Team team = teamService.getTeamById(id);
+        Team team = teamService.getFullTeamById(id);
         return ResponseEntity.ok(team);
     }
 
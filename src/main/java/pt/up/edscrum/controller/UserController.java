@@ -9,10 +9,12 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.http.ResponseEntity;
 import jakarta.servlet.http.HttpSession;
 
+import pt.up.edscrum.dto.UserDirectoryPageDTO;
 import pt.up.edscrum.model.User;
 import pt.up.edscrum.service.UserService;
 
@@ -56,6 +58,34 @@ public class UserController {
         return ResponseEntity.ok(userService.getAllUsers());
     }
 
+    /**
+     * Diretório de utilizadores paginado (keyset) e filtrável, com projeções
+     * leves, para os seletores das páginas do professor. Para a página
+     * seguinte, passar em `after` o `nextCursor` da resposta anterior.
+     * GET /users/directory?q=&role=&courseId=&after=&limit=
+     *
+     * @param q prefixo de nome, email ou tag de estudante
+     * @param role papel (STUDENT ou TEACHER)
+     * @param courseId curso em que os utilizadores estão inscritos
+     * @param after cursor da página anterior
+     * @param limit tamanho da página
+     * @return página de utilizadores
+     */
+    @GetMapping("/directory")
+    public ResponseEntity<UserDirectoryPageDTO> getDirectory(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) Long courseId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int limit,
+            HttpSession session) {
+        Long currentUserId = (Long) session.getAttribute("currentUserId");
+        String currentUserRole = (String) session.getAttribute("currentUserRole");
+        if (currentUserId == null) return ResponseEntity.status(401).build();
+        if (!"TEACHER".equals(currentUserRole)) return ResponseEntity.status(403).build();
+        return ResponseEntity.ok(userService.searchDirectory(q, role, courseId, after, limit));
+    }
+
     /**
      * Obtém um utilizador por ID.
      *
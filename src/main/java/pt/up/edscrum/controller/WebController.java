@@ -3,7 +3,7 @@ package pt.up.edscrum.controller;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Objects;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
@@ -18,9 +18,9 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import pt.up.edscrum.dto.dashboard.RankingDTO;
 import pt.up.edscrum.dto.dashboard.StudentDashboardDTO;
 import pt.up.edscrum.dto.dashboard.TeacherDashboardDTO;
+import pt.up.edscrum.dto.dashboard.TeacherHomeDTO;
 import pt.up.edscrum.model.Course;
 import pt.up.edscrum.model.Project;
 import pt.up.edscrum.model.Sprint;
@@ -32,6 +32,7 @@ import pt.up.edscrum.service.CourseService;
 import pt.up.edscrum.service.DashboardService;
 import pt.up.edscrum.service.ProjectService;
 import pt.up.edscrum.service.SprintService;
+import pt.up.edscrum.service.TeacherHomeView;
 import pt.up.edscrum.service.TeamService;
 import pt.up.edscrum.service.UserService;
 import pt.up.edscrum.utils.FileStorageService;
@@ -52,6 +53,7 @@ public class WebController {
     private final FileStorageService fileStorageService;
     private final ProjectService projectService;
     private final SprintService sprintService;
+    private final TeacherHomeView teacherHomeView;
 
     public WebController(DashboardService dashboardService,
             AuthService authService,
@@ -61,7 +63,8 @@ public class WebController {
             TeamService teamService,
             FileStorageService fileStorageService,
             ProjectService projectService,
-            SprintService sprintService) {
+            SprintService sprintService,
+            TeacherHomeView teacherHomeView) {
         this.dashboardService = dashboardService;
         this.authService = authService;
         this.userService = userService;
@@ -71,6 +74,7 @@ public class WebController {
         this.fileStorageService = fileStorageService;
         this.projectService = projectService;
         this.sprintService = sprintService;
+        this.teacherHomeView = teacherHomeView;
     }
 
     /**
@@ -314,111 +318,26 @@ public class WebController {
             if ("TEACHER".equals(currentUserRole)) return "redirect:/view/teacher/home";
             return "redirect:/view/student/home";
         }
-        Long teacherId = currentUserId;
-        User teacher = userService.getUserById(teacherId);
-        model.addAttribute("teacher", teacher);
-
-        
-        List<Course> teacherCourses = courseService.getCoursesByTeacher(teacherId);
-        List<Team> allTeams = teamService.getAllTeams();
-
-        model.addAttribute("courses", teacherCourses);
-        model.addAttribute("teams", allTeams);
-        model.addAttribute("awards", awardService.getAllAwards());
-
-        
-        Map<Long, List<Team>> teamsByCourse = allTeams.stream()
-                .filter(t -> t.getCourse() != null)
-                .collect(Collectors.groupingBy(t -> t.getCourse().getId()));
-        model.addAttribute("teamsByCourse", teamsByCourse);
-
-        List<Team> availableTeams = new ArrayList<>();
-        if (teacherCourses != null) {
-            for (Course c : teacherCourses) {
-                availableTeams.addAll(teamService.getAvailableTeamsByCourse(c.getId()));
-            }
-        }
-        model.addAttribute("availableTeams", availableTeams);
-
-        List<RankingDTO> rankings = new ArrayList<>();
-
-        
-        model.addAttribute("totalStudents", 0);
-        model.addAttribute("activeTeamsCount", 0);
-        model.addAttribute("averageScore", 0);
-        model.addAttribute("topPerformerName", "-");
-        model.addAttribute("topPerformerScore", 0);
-        model.addAttribute("scoreVariation", 0);
-
-        if (!teacherCourses.isEmpty()) {
-            
-            java.util.Map<Long, RankingDTO> byStudent = new java.util.HashMap<>();
-            for (Course c : teacherCourses) {
-                List<RankingDTO> rlist = dashboardService.getStudentRanking(c.getId());
-                for (RankingDTO r : rlist) {
-                    RankingDTO existing = byStudent.get(r.getId());
-                    if (existing == null) {
-                        byStudent.put(r.getId(), new RankingDTO(r.getId(), r.getName(), r.getTotalPoints()));
-                    } else {
-                        
-                        if (r.getTotalPoints() > existing.getTotalPoints()) {
-                            byStudent.put(r.getId(), new RankingDTO(r.getId(), r.getName(), r.getTotalPoints()));
-                        }
-                    }
-                }
-            }
-
-            rankings = new ArrayList<>(byStudent.values());
-            rankings.sort((r1, r2) -> Long.compare(r2.getTotalPoints(), r1.getTotalPoints()));
-
-            
-            if (!rankings.isEmpty()) {
-                model.addAttribute("totalStudents", rankings.size());
-                List<Long> courseIds = teacherCourses.stream().map(Course::getId).toList();
-                long courseTeams = allTeams.stream()
-                        .filter(t -> t.getCourse() != null && courseIds.contains(t.getCourse().getId()))
-                        .count();
-                model.addAttribute("activeTeamsCount", courseTeams);
-
-                double avg = rankings.stream().mapToLong(RankingDTO::getTotalPoints).average().orElse(0.0);
-                model.addAttribute("averageScore", (int) avg);
-
-                RankingDTO top = rankings.get(0);
-                model.addAttribute("topPerformerName", top.getName());
-                model.addAttribute("topPerformerScore", top.getTotalPoints());
-
-                RankingDTO bottom = rankings.get(rankings.size() - 1);
-                long variation = top.getTotalPoints() - bottom.getTotalPoints();
-                model.addAttribute("scoreVariation", variation);
-            }
-        }
-
-        model.addAttribute("studentRankings", rankings);
-
-        model.addAttribute("students", userService.getAllUsers());
-        model.addAttribute("takenMap", teamService.getTakenStudentsMap());
-
-        java.util.Map<Long, List<User>> enrolledStudentsMap = new java.util.HashMap<>();
-        for (Course course : teacherCourses) {
-            List<User> enrolledStudents = courseService.getEnrolledStudentsByCourse(course.getId());
-            enrolledStudentsMap.put(course.getId(), enrolledStudents);
-        }
-        model.addAttribute("enrolledStudentsMap", enrolledStudentsMap);
-
-        java.util.Map<Long, String> studentCoursesMap = new java.util.HashMap<>();
-        for (java.util.Map.Entry<Long, List<User>> entry : enrolledStudentsMap.entrySet()) {
-            Long courseId = entry.getKey();
-            List<User> students = entry.getValue();
-            for (User student : students) {
-                String existingCourses = studentCoursesMap.getOrDefault(student.getId(), "");
-                if (existingCourses.isEmpty()) {
-                    studentCoursesMap.put(student.getId(), courseId.toString());
-                } else {
-                    studentCoursesMap.put(student.getId(), existingCourses + "," + courseId);
-                }
-            }
-        }
-        model.addAttribute("studentCoursesMap", studentCoursesMap);
+        TeacherHomeDTO view = teacherHomeView.build(currentUserId);
+        model.addAttribute("teacher", view.getTeacher());
+        model.addAttribute("courses", view.getCourses());
+        model.addAttribute("teams", view.getTeams());
+        model.addAttribute("awards", view.getAwards());
+        model.addAttribute("teamsByCourse", view.getTeamsByCourse());
+        model.addAttribute("availableTeams", view.getAvailableTeams());
+
+        model.addAttribute("totalStudents", view.getTotalStudents());
+        model.addAttribute("activeTeamsCount", view.getActiveTeamsCount());
+        model.addAttribute("averageScore", view.getAverageScore());
+        model.addAttribute("topPerformerName", view.getTopPerformerName());
+        model.addAttribute("topPerformerScore", view.getTopPerformerScore());
+        model.addAttribute("scoreVariation", view.getScoreVariation());
+        model.addAttribute("studentRankings", view.getStudentRankings());
+
+        model.addAttribute("takenMap", view.getTakenMap());
+        model.addAttribute("enrolledStudentsMap", view.getEnrolledStudentsMap());
+        model.addAttribute("studentCoursesMap", view.getStudentCoursesMap());
+        model.addAttribute("userProfileImageMap", view.getUserProfileImageMap());
 
         return "teacherHome";
     }
@@ -446,7 +365,6 @@ public class WebController {
         TeacherDashboardDTO data = dashboardService.getTeacherDashboard(courseId);
         model.addAttribute("dashboard", data);
         model.addAttribute("allAwards", awardService.getAllAwards());
-        model.addAttribute("allStudents", userService.getAllUsers());
         return "teacherDashboard";
     }
 
@@ -667,18 +585,27 @@ public class WebController {
                 team.setProject(project);
             }
 
+            // SM, PO e developers lidos numa única query
+            List<Long> memberIds = new ArrayList<>();
+            if (scrumMasterId != null) memberIds.add(scrumMasterId);
+            if (productOwnerId != null) memberIds.add(productOwnerId);
+            if (developerIds != null) {
+                developerIds.stream().filter(Objects::nonNull).forEach(memberIds::add);
+            }
+            Map<Long, User> members = memberIds.isEmpty() ? Map.of() : userService.getUsersByIds(memberIds);
+
             if (scrumMasterId != null) {
-                team.setScrumMaster(userService.getUserById(scrumMasterId));
+                team.setScrumMaster(members.get(scrumMasterId));
             }
             if (productOwnerId != null) {
-                team.setProductOwner(userService.getUserById(productOwnerId));
+                team.setProductOwner(members.get(productOwnerId));
             }
             if (developerIds != null && !developerIds.isEmpty()) {
                 List<User> devs = new ArrayList<>();
                 for (Long devId : developerIds) {
                     
                     if (devId != null) {
-                        devs.add(userService.getUserById(devId));
+                        devs.add(members.get(devId));
                     }
                 }
                 
@@ -691,25 +618,7 @@ public class WebController {
 
             
             try {
-                if (scrumMasterId != null) {
-                    List<Team> teamsOfSM = teamService.findTeamsByUserId(scrumMasterId);
-                    if (teamsOfSM != null && teamsOfSM.size() == 1) {
-                        awardService.assignAutomaticAwardToStudentByName("Arquiteto de Equipas", "Formaste a tua primeira equipa.", 30, scrumMasterId, null);
-                    }
-                    
-                    if (projectId != null) {
-                        awardService.assignAutomaticAwardToStudentByName("Líder de Projeto (SM)", "Assumiste o papel de Scrum Master num projeto.", 80, scrumMasterId, projectId);
-                    }
-                }
-                if (productOwnerId != null) {
-                    List<Team> teamsOfPO = teamService.findTeamsByUserId(productOwnerId);
-                    if (teamsOfPO != null && teamsOfPO.size() == 1) {
-                        awardService.assignAutomaticAwardToStudentByName("Arquiteto de Equipas", "Formaste a tua primeira equipa.", 30, productOwnerId, null);
-                    }
-                    if (projectId != null) {
-                        awardService.assignAutomaticAwardToStudentByName("Líder de Projeto (PO)", "Assumiste o papel de Product Owner num projeto.", 80, productOwnerId, projectId);
-                    }
-                }
+                awardService.handleTeamLeadersAssigned(scrumMasterId, productOwnerId, projectId);
             } catch (Exception e) {
             }
             redirectAttributes.addFlashAttribute("successMessage", "Equipa criada com sucesso!");
@@ -1083,26 +992,15 @@ public class WebController {
                 }
             }
 
-            
-            int progress = sprintService.calculateSprintProgress(sprintId);
-            model.addAttribute("sprintProgress", progress);
-
-            
-            long todoCount = sprint.getUserStories().stream().filter(s -> s.getStatus().name().equals("TODO")).count();
-            long progressCount = sprint.getUserStories().stream().filter(s -> s.getStatus().name().equals("IN_PROGRESS")).count();
-            long testingCount = sprint.getUserStories().stream().filter(s -> s.getStatus().name().equals("TESTING")).count();
-            long doneCount = sprint.getUserStories().stream().filter(s -> s.getStatus().name().equals("DONE")).count();
+            // Progresso e contagens vêm dos contadores do sprint (sem percorrer as stories)
+            model.addAttribute("sprintProgress", sprint.getStoryProgress());
+            model.addAttribute("todoCount", sprint.getTodoCount());
+            model.addAttribute("progressCount", sprint.getInProgressCount());
+            model.addAttribute("testingCount", sprint.getTestingCount());
+            model.addAttribute("doneCount", sprint.getDoneCount());
+            model.addAttribute("totalStories", sprint.getStoryCount());
 
-            model.addAttribute("todoCount", todoCount);
-            model.addAttribute("progressCount", progressCount);
-            model.addAttribute("testingCount", testingCount);
-            model.addAttribute("doneCount", doneCount);
-            model.addAttribute("totalStories", sprint.getUserStories().size());
-
-            
-            boolean allDone = sprint.getUserStories().isEmpty()
-                    || sprint.getUserStories().stream().allMatch(s -> s.getStatus().name().equals("DONE"));
-            model.addAttribute("canComplete", allDone && !sprint.getUserStories().isEmpty());
+            model.addAttribute("canComplete", sprint.getStoryCount() > 0 && sprint.getDoneCount() == sprint.getStoryCount());
 
             return "sprintDashboard";
         } catch (Exception e) {
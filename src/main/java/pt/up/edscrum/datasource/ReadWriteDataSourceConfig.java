@@ -0,0 +1,92 @@
+package pt.up.edscrum.datasource;
+
+import javax.sql.DataSource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+@Configuration
+@ConditionalOnProperty(name = "edscrum.datasource.replica.enabled", havingValue = "true")
+/**
+ * Liga o encaminhamento leitura/escrita: o `DataSource` configurado em
+ * `spring.datasource.*` passa a ser a base de dados principal e é embrulhado
+ * num `ReadWriteRoutingDataSource` com uma réplica configurada em
+ * `edscrum.datasource.replica.*` (propriedades do Hikari: `jdbc-url`,
+ * `username`, `password`, `maximum-pool-size`, ...).
+ * <p>
+ * A réplica pode estar atrasada em relação à principal: uma transação
+ * read-only não vê garantidamente o que acabou de ser escrito, nem no
+ * pedido seguinte (ex.: o GET depois do redirect de um POST). As leituras
+ * que têm de mostrar uma escrita acabada de fazer (confirmações, páginas de
+ * destino de formulários) não devem ser `readOnly`; ficam na réplica apenas
+ * as leituras que toleram dados com alguns segundos (dashboards, rankings,
+ * exportações).
+ */
+public class ReadWriteDataSourceConfig {
+
+    static final String REPLICA_PREFIX = "edscrum.datasource.replica";
+
+    /**
+     * Devolve a ligação ao pool no fim de cada transação (o padrão do Spring
+     * é mantê-la até fechar a sessão), para que a transação seguinte do mesmo
+     * pedido (open-in-view) escolha de novo entre principal e réplica.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Bean
+    public static BeanPostProcessor readWriteRoutingDataSourcePostProcessor(Environment environment) {
+        return new RoutingPostProcessor(environment);
+    }
+
+    /**
+     * Corre antes do post-processor das métricas, que assim conta as
+     * instruções das duas bases de dados.
+     */
+    private static final class RoutingPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final Environment environment;
+
+        RoutingPostProcessor(Environment environment) {
+            this.environment = environment;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if ("dataSource".equals(beanName) && bean instanceof DataSource primary
+                    && !(bean instanceof ReadWriteRoutingDataSource)) {
+                return new ReadWriteRoutingDataSource(primary, replica());
+            }
+            return bean;
+        }
+
+        private HikariDataSource replica() {
+            HikariDataSource replica = Binder.get(environment).bindOrCreate(REPLICA_PREFIX, HikariDataSource.class);
+            if (replica.getJdbcUrl() == null) {
+                throw new IllegalStateException(REPLICA_PREFIX + ".jdbc-url não está definido");
+            }
+            if (replica.getPoolName() == null) {
+                replica.setPoolName("edscrum-replica");
+            }
+            return replica;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
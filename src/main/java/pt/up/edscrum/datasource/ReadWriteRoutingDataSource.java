@@ -0,0 +1,83 @@
+package pt.up.edscrum.datasource;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * `DataSource` que envia as transações `@Transactional(readOnly = true)` para
+ * a réplica e tudo o resto (escritas e acessos fora de transação) para a base
+ * de dados principal.
+ * <p>
+ * A ligação física só é pedida na primeira instrução SQL
+ * (`LazyConnectionDataSourceProxy`): quando a transação começa o Hibernate já
+ * pede a ligação, mas o Spring só marca a transação como read-only depois
+ * disso. O destino é escolhido pela transação do Spring e não por
+ * `Connection.setReadOnly` (`setReadOnlyDataSource`), porque com JPA o
+ * `HibernateJpaDialect` só marca a ligação como read-only quando a sessão a
+ * mantém até fechar, o que não acontece com a libertação no fim de cada
+ * transação que a `ReadWriteDataSourceConfig` configura.
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private final DataSource primary;
+    private final DataSource replica;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica) {
+        super(router(primary, replica));
+        this.primary = primary;
+        this.replica = replica;
+    }
+
+    private static DataSource router(DataSource primary, DataSource replica) {
+        AbstractRoutingDataSource router = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return currentRoute();
+            }
+        };
+        router.setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        router.setDefaultTargetDataSource(primary);
+        router.afterPropertiesSet();
+        return router;
+    }
+
+    /**
+     * Destino das ligações pedidas nesta thread, segundo a transação atual.
+     *
+     * @return `REPLICA` numa transação read-only, `PRIMARY` caso contrário
+     */
+    static Route currentRoute() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Route.REPLICA : Route.PRIMARY;
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public DataSource getReplica() {
+        return replica;
+    }
+
+    /**
+     * Fecha os dois pools no fim da aplicação.
+     */
+    @Override
+    public void close() throws Exception {
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+        if (replica instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
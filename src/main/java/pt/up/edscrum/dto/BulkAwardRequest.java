@@ -0,0 +1,67 @@
+package pt.up.edscrum.dto;
+
+import java.util.List;
+
+/**
+ * Pedido de atribuição de um prémio individual a vários estudantes de uma
+ * vez. Os alvos são a união de: estudantes indicados por id, membros das
+ * equipas indicadas, inscritos no curso indicado e a lista CSV (ids ou
+ * emails separados por vírgula, ponto e vírgula ou mudança de linha).
+ */
+public class BulkAwardRequest {
+
+    private Long awardId;
+    private Long projectId;
+    private List<Long> studentIds;
+    private List<Long> teamIds;
+    private Long courseId;
+    private String csv;
+
+    public Long getAwardId() {
+        return awardId;
+    }
+
+    public void setAwardId(Long awardId) {
+        this.awardId = awardId;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public List<Long> getStudentIds() {
+        return studentIds;
+    }
+
+    public void setStudentIds(List<Long> studentIds) {
+        this.studentIds = studentIds;
+    }
+
+    public List<Long> getTeamIds() {
+        return teamIds;
+    }
+
+    public void setTeamIds(List<Long> teamIds) {
+        this.teamIds = teamIds;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public String getCsv() {
+        return csv;
+    }
+
+    public void setCsv(String csv) {
+        this.csv = csv;
+    }
+}
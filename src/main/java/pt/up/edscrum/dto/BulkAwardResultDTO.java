@@ -0,0 +1,44 @@
+package pt.up.edscrum.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado de uma atribuição em massa (`AwardService.assignAwardInBulk`).
+ */
+public class BulkAwardResultDTO {
+
+    private final List<Long> assigned = new ArrayList<>();
+    private final List<Long> alreadyAssigned = new ArrayList<>();
+    private final List<Long> ineligible = new ArrayList<>();
+    private final List<String> unresolved = new ArrayList<>();
+
+    /**
+     * @return ids dos estudantes que receberam o prémio
+     */
+    public List<Long> getAssigned() {
+        return assigned;
+    }
+
+    /**
+     * @return ids dos estudantes que já tinham o prémio (no mesmo projeto)
+     */
+    public List<Long> getAlreadyAssigned() {
+        return alreadyAssigned;
+    }
+
+    /**
+     * @return ids que não correspondem a um utilizador ou de professores que
+     * são Product Owner
+     */
+    public List<Long> getIneligible() {
+        return ineligible;
+    }
+
+    /**
+     * @return entradas da lista CSV que não correspondem a nenhum utilizador
+     */
+    public List<String> getUnresolved() {
+        return unresolved;
+    }
+}
@@ -0,0 +1,86 @@
+package pt.up.edscrum.dto;
+
+/**
+ * Estado e tempos de um pool de ligações: ligações ativas e livres, threads à
+ * espera de ligação e quanto tempo esperaram e usaram cada ligação.
+ */
+public class ConnectionPoolMetricsDTO {
+
+    private String pool;
+    private int activeConnections;
+    private int idleConnections;
+    private int totalConnections;
+    private int maxConnections;
+    private int pendingThreads;
+    private long acquisitions;
+    private double totalAcquireMillis;
+    private double maxAcquireMillis;
+    private long totalUsageMillis;
+    private long maxUsageMillis;
+    private long timeouts;
+
+    public ConnectionPoolMetricsDTO(String pool, int activeConnections, int idleConnections, int totalConnections,
+            int maxConnections, int pendingThreads, long acquisitions, double totalAcquireMillis,
+            double maxAcquireMillis, long totalUsageMillis, long maxUsageMillis, long timeouts) {
+        this.pool = pool;
+        this.activeConnections = activeConnections;
+        this.idleConnections = idleConnections;
+        this.totalConnections = totalConnections;
+        this.maxConnections = maxConnections;
+        this.pendingThreads = pendingThreads;
+        this.acquisitions = acquisitions;
+        this.totalAcquireMillis = totalAcquireMillis;
+        this.maxAcquireMillis = maxAcquireMillis;
+        this.totalUsageMillis = totalUsageMillis;
+        this.maxUsageMillis = maxUsageMillis;
+        this.timeouts = timeouts;
+    }
+
+    public String getPool() {
+        return pool;
+    }
+
+    public int getActiveConnections() {
+        return activeConnections;
+    }
+
+    public int getIdleConnections() {
+        return idleConnections;
+    }
+
+    public int getTotalConnections() {
+        return totalConnections;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public int getPendingThreads() {
+        return pendingThreads;
+    }
+
+    public long getAcquisitions() {
+        return acquisitions;
+    }
+
+    public double getAvgAcquireMillis() {
+        return acquisitions > 0 ? totalAcquireMillis / acquisitions : 0;
+    }
+
+    public double getMaxAcquireMillis() {
+        return maxAcquireMillis;
+    }
+
+    public double getAvgUsageMillis() {
+        return acquisitions > 0 ? (double) totalUsageMillis / acquisitions : 0;
+    }
+
+    public long getMaxUsageMillis() {
+        return maxUsageMillis;
+    }
+
+    public long getTimeouts() {
+        return timeouts;
+    }
+}
@@ -0,0 +1,52 @@
+package pt.up.edscrum.dto;
+
+import java.time.LocalDateTime;
+
+import pt.up.edscrum.enums.NotificationType;
+
+/**
+ * Projeção de uma notificação para a API (sem o utilizador associado).
+ */
+public class NotificationDTO {
+
+    private Long id;
+    private NotificationType type;
+    private String title;
+    private String message;
+    private LocalDateTime createdAt;
+    private boolean read;
+
+    public NotificationDTO(Long id, NotificationType type, String title, String message,
+            LocalDateTime createdAt, boolean read) {
+        this.id = id;
+        this.type = type;
+        this.title = title;
+        this.message = message;
+        this.createdAt = createdAt;
+        this.read = read;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public NotificationType getType() {
+        return type;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public boolean isRead() {
+        return read;
+    }
+}
@@ -0,0 +1,63 @@
+package pt.up.edscrum.dto;
+
+/**
+ * Métricas de acesso à base de dados agregadas de um pedido HTTP ou método
+ * de serviço.
+ */
+public class QueryMetricsDTO {
+
+    private String key;
+    private long calls;
+    private long totalStatements;
+    private long maxStatements;
+    private long totalEntitiesLoaded;
+    private double totalJdbcMillis;
+    private double totalElapsedMillis;
+
+    public QueryMetricsDTO(String key, long calls, long totalStatements, long maxStatements,
+            long totalEntitiesLoaded, double totalJdbcMillis, double totalElapsedMillis) {
+        this.key = key;
+        this.calls = calls;
+        this.totalStatements = totalStatements;
+        this.maxStatements = maxStatements;
+        this.totalEntitiesLoaded = totalEntitiesLoaded;
+        this.totalJdbcMillis = totalJdbcMillis;
+        this.totalElapsedMillis = totalElapsedMillis;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public long getCalls() {
+        return calls;
+    }
+
+    public long getTotalStatements() {
+        return totalStatements;
+    }
+
+    public long getMaxStatements() {
+        return maxStatements;
+    }
+
+    public double getAvgStatements() {
+        return calls > 0 ? (double) totalStatements / calls : 0;
+    }
+
+    public long getTotalEntitiesLoaded() {
+        return totalEntitiesLoaded;
+    }
+
+    public double getTotalJdbcMillis() {
+        return totalJdbcMillis;
+    }
+
+    public double getAvgJdbcMillis() {
+        return calls > 0 ? totalJdbcMillis / calls : 0;
+    }
+
+    public double getAvgElapsedMillis() {
+        return calls > 0 ? totalElapsedMillis / calls : 0;
+    }
+}
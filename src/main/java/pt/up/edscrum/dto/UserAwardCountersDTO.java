@@ -0,0 +1,73 @@
+package pt.up.edscrum.dto;
+
+/**
+ * Contadores de atividade de um utilizador usados para decidir prémios
+ * automáticos, calculados numa única query (`UserRepository.findAwardCounters`).
+ */
+public class UserAwardCountersDTO {
+
+    private Long userId;
+    private String role;
+    private long sprintsCreated;
+    private long coursesEnrolled;
+    private long teams;
+    private long projects;
+    private long productOwnerTeams;
+
+    public UserAwardCountersDTO(Long userId, String role, Long sprintsCreated, Long coursesEnrolled,
+            Long teams, Long projects, Long productOwnerTeams) {
+        this.userId = userId;
+        this.role = role;
+        this.sprintsCreated = sprintsCreated != null ? sprintsCreated : 0;
+        this.coursesEnrolled = coursesEnrolled != null ? coursesEnrolled : 0;
+        this.teams = teams != null ? teams : 0;
+        this.projects = projects != null ? projects : 0;
+        this.productOwnerTeams = productOwnerTeams != null ? productOwnerTeams : 0;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    /**
+     * @return número de sprints criados pelo utilizador
+     */
+    public long getSprintsCreated() {
+        return sprintsCreated;
+    }
+
+    /**
+     * @return número de cursos em que o utilizador está inscrito
+     */
+    public long getCoursesEnrolled() {
+        return coursesEnrolled;
+    }
+
+    /**
+     * @return número de equipas de que o utilizador é membro (SM, PO ou developer)
+     */
+    public long getTeams() {
+        return teams;
+    }
+
+    /**
+     * @return número de projetos distintos das equipas do utilizador
+     */
+    public long getProjects() {
+        return projects;
+    }
+
+    /**
+     * Professores que são Product Owner de alguma equipa não recebem prémios
+     * individuais.
+     *
+     * @return true se não puder receber prémios individuais
+     */
+    public boolean isTeacherProductOwner() {
+        return "TEACHER".equals(role) && productOwnerTeams > 0;
+    }
+}
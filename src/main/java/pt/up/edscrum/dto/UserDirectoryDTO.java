@@ -0,0 +1,45 @@
+package pt.up.edscrum.dto;
+
+/**
+ * Projeção leve de um utilizador para listagens e seletores (diretório de
+ * utilizadores), sem password, preferências nem imagem de perfil.
+ */
+public class UserDirectoryDTO {
+
+    private Long id;
+    private String name;
+    private String email;
+    private String role;
+
+    public UserDirectoryDTO(Long id, String name, String email, String role) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.role = role;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    /**
+     * Tag de estudante no formato "{id}-UPT" (igual a `User.getStudentTag`).
+     *
+     * @return tag de estudante
+     */
+    public String getStudentTag() {
+        return id + "-UPT";
+    }
+}
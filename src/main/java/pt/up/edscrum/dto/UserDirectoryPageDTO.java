@@ -0,0 +1,27 @@
+package pt.up.edscrum.dto;
+
+import java.util.List;
+
+/**
+ * Página do diretório de utilizadores. `nextCursor` é o id do último
+ * utilizador da página, a passar em `after` para obter a seguinte; é null na
+ * última página.
+ */
+public class UserDirectoryPageDTO {
+
+    private List<UserDirectoryDTO> items;
+    private Long nextCursor;
+
+    public UserDirectoryPageDTO(List<UserDirectoryDTO> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<UserDirectoryDTO> getItems() {
+        return items;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+}
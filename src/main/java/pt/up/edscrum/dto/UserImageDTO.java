@@ -0,0 +1,24 @@
+package pt.up.edscrum.dto;
+
+/**
+ * Projeção mínima de um utilizador com a sua imagem de perfil (pode ser
+ * null).
+ */
+public class UserImageDTO {
+
+    private Long id;
+    private String profileImage;
+
+    public UserImageDTO(Long id, String profileImage) {
+        this.id = id;
+        this.profileImage = profileImage;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getProfileImage() {
+        return profileImage;
+    }
+}
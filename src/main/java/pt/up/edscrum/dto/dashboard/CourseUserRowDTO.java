@@ -0,0 +1,24 @@
+package pt.up.edscrum.dto.dashboard;
+
+/**
+ * Linha (curso, utilizador) devolvida por projeções JPQL, por exemplo os
+ * estudantes que já pertencem a uma equipa de cada curso.
+ */
+public class CourseUserRowDTO {
+
+    private Long courseId;
+    private Long userId;
+
+    public CourseUserRowDTO(Long courseId, Long userId) {
+        this.courseId = courseId;
+        this.userId = userId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+}
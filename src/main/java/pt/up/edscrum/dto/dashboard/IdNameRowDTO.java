@@ -0,0 +1,24 @@
+package pt.up.edscrum.dto.dashboard;
+
+/**
+ * Linha genérica (id, nome) devolvida por projeções JPQL, por exemplo
+ * (estudante, nome do curso) ou (equipa, nome do membro).
+ */
+public class IdNameRowDTO {
+
+    private Long id;
+    private String name;
+
+    public IdNameRowDTO(Long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
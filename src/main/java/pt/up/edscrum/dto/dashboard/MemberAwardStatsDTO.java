@@ -0,0 +1,36 @@
+package pt.up.edscrum.dto.dashboard;
+
+/**
+ * Agregado de prémios individuais de um estudante num projeto (número de
+ * prémios e soma de pontos).
+ */
+public class MemberAwardStatsDTO {
+
+    private Long projectId;
+    private Long studentId;
+    private long awardsCount;
+    private long totalPoints;
+
+    public MemberAwardStatsDTO(Long projectId, Long studentId, long awardsCount, long totalPoints) {
+        this.projectId = projectId;
+        this.studentId = studentId;
+        this.awardsCount = awardsCount;
+        this.totalPoints = totalPoints;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public long getAwardsCount() {
+        return awardsCount;
+    }
+
+    public long getTotalPoints() {
+        return totalPoints;
+    }
+}
@@ -0,0 +1,48 @@
+package pt.up.edscrum.dto.dashboard;
+
+/**
+ * Linha de projeção que associa um membro (com o seu papel na equipa) a um
+ * projeto. Permite obter os membros de vários projetos numa única query.
+ */
+public class ProjectMemberRowDTO {
+
+    private Long projectId;
+    private Long teamId;
+    private Long userId;
+    private String name;
+    private String userRole;
+    private String roleInTeam;
+
+    public ProjectMemberRowDTO(Long projectId, Long teamId, Long userId, String name, String userRole, String roleInTeam) {
+        this.projectId = projectId;
+        this.teamId = teamId;
+        this.userId = userId;
+        this.name = name;
+        this.userRole = userRole;
+        this.roleInTeam = roleInTeam;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public Long getTeamId() {
+        return teamId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getUserRole() {
+        return userRole;
+    }
+
+    public String getRoleInTeam() {
+        return roleInTeam;
+    }
+}
@@ -20,6 +20,23 @@ public class ProjectProgressDTO {
         this.completionPercentage = completionPercentage;
     }
 
+    /**
+     * Construtor usado pela projeção agregada de `ProjectRepository`: a
+     * percentagem é a fração de sprints concluídos.
+     *
+     * @param projectId id do projeto
+     * @param projectName nome do projeto
+     * @param totalSprints número de sprints do projeto
+     * @param doneSprints número de sprints concluídos
+     */
+    public ProjectProgressDTO(Long projectId, String projectName, Long totalSprints, Long doneSprints) {
+        this.projectId = projectId;
+        this.projectName = projectName;
+        long total = totalSprints != null ? totalSprints : 0;
+        long done = doneSprints != null ? doneSprints : 0;
+        this.completionPercentage = total == 0 ? 0 : (done * 100.0 / total);
+    }
+
     public ProjectProgressDTO() {
     }
 
@@ -23,6 +23,26 @@ public class ProjectWithProgressDTO {
     /** Informações do curso para exibição no dashboard */
     private Long courseId;
     private String courseName;
+
+    public ProjectWithProgressDTO() {
+    }
+
+    /**
+     * Construtor usado por projeções JPQL (sem sprints nem membros, que são
+     * preenchidos posteriormente).
+     */
+    public ProjectWithProgressDTO(Long id, String name, String sprintGoals, LocalDate startDate, LocalDate endDate,
+            ProjectStatus status, Long courseId, String courseName) {
+        this.id = id;
+        this.name = name;
+        this.sprintGoals = sprintGoals;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.status = status;
+        this.courseId = courseId;
+        this.courseName = courseName;
+    }
+
     /** Getters e setters */
     public Long getId() {
         return id;
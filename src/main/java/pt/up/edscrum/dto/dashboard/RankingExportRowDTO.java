@@ -0,0 +1,56 @@
+package pt.up.edscrum.dto.dashboard;
+
+/**
+ * Linha do ranking de estudantes usada na exportação CSV, já com os dados do
+ * utilizador necessários (tag e email) para evitar leituras adicionais.
+ */
+public class RankingExportRowDTO {
+
+    private Long id;
+    private String name;
+    private String studentTag;
+    private String email;
+    private long totalPoints;
+    private Long scoreId;
+
+    public RankingExportRowDTO(Long id, String name, String studentTag, String email, Integer totalPoints, Long scoreId) {
+        this.id = id;
+        this.name = name;
+        this.studentTag = studentTag;
+        this.email = email;
+        this.totalPoints = totalPoints != null ? totalPoints : 0;
+        this.scoreId = scoreId;
+    }
+
+    public RankingExportRowDTO(Long id, String name, String studentTag, String email, Integer totalPoints) {
+        this(id, name, studentTag, email, totalPoints, null);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getStudentTag() {
+        return studentTag;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public long getTotalPoints() {
+        return totalPoints;
+    }
+
+    /**
+     * @return id do `Score` (chave das páginas), ou null se o estudante não
+     * tiver `Score`
+     */
+    public Long getScoreId() {
+        return scoreId;
+    }
+}
@@ -0,0 +1,60 @@
+package pt.up.edscrum.dto.dashboard;
+
+/**
+ * Linha de ranking lida pelo `RankingService`: além de utilizador e pontos,
+ * traz o critério de desempate da query (id da inscrição no ranking de um
+ * curso, id do `Score` no ranking global) e, nos rankings de curso, o curso.
+ * Permite atualizar um ranking em memória na mesma ordem da base de dados.
+ */
+public class RankingRowDTO {
+
+    private final Long courseId;
+    private final Long id;
+    private final String name;
+    private final long totalPoints;
+    private final long tieKey;
+
+    public RankingRowDTO(Long courseId, Long id, String name, Long totalPoints, Long tieKey) {
+        this.courseId = courseId;
+        this.id = id;
+        this.name = name;
+        this.totalPoints = totalPoints != null ? totalPoints : 0L;
+        this.tieKey = tieKey;
+    }
+
+    public RankingRowDTO(Long courseId, Long id, String name, Integer totalPoints, Long tieKey) {
+        this(courseId, id, name, totalPoints != null ? totalPoints.longValue() : null, tieKey);
+    }
+
+    public RankingRowDTO(Long id, String name, Long totalPoints, Long tieKey) {
+        this(null, id, name, totalPoints, tieKey);
+    }
+
+    public RankingRowDTO(Long id, String name, Integer totalPoints, Long tieKey) {
+        this(null, id, name, totalPoints, tieKey);
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getTotalPoints() {
+        return totalPoints;
+    }
+
+    public long getTieKey() {
+        return tieKey;
+    }
+
+    public RankingDTO toRankingDTO() {
+        return new RankingDTO(id, name, totalPoints);
+    }
+}
@@ -0,0 +1,46 @@
+package pt.up.edscrum.dto.dashboard;
+
+import pt.up.edscrum.enums.UserStoryStatus;
+
+/**
+ * Linha agregada por sprint com o número de user stories em cada estado,
+ * contado na base de dados. O progresso é calculado com os pesos de
+ * `UserStoryStatus`.
+ */
+public class SprintProgressDTO {
+
+    private Long sprintId;
+    private long todoCount;
+    private long inProgressCount;
+    private long testingCount;
+    private long doneCount;
+
+    public SprintProgressDTO(Long sprintId, Long todoCount, Long inProgressCount, Long testingCount, Long doneCount) {
+        this.sprintId = sprintId;
+        this.todoCount = todoCount != null ? todoCount : 0;
+        this.inProgressCount = inProgressCount != null ? inProgressCount : 0;
+        this.testingCount = testingCount != null ? testingCount : 0;
+        this.doneCount = doneCount != null ? doneCount : 0;
+    }
+
+    public Long getSprintId() {
+        return sprintId;
+    }
+
+    public long getStoryCount() {
+        return todoCount + inProgressCount + testingCount + doneCount;
+    }
+
+    public long getDoneCount() {
+        return doneCount;
+    }
+
+    /**
+     * Percentagem de progresso do sprint (média dos pesos das user stories).
+     *
+     * @return progresso (0-100)
+     */
+    public int getProgress() {
+        return UserStoryStatus.progressOf(todoCount, inProgressCount, testingCount, doneCount);
+    }
+}
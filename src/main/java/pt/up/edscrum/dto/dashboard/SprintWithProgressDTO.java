@@ -15,6 +15,24 @@ public class SprintWithProgressDTO {
     private LocalDate endDate;
     private SprintStatus status;
     private int progress;
+    private Long projectId;
+
+    public SprintWithProgressDTO() {
+    }
+
+    /**
+     * Construtor usado por projeções JPQL; o progresso é calculado à parte.
+     */
+    public SprintWithProgressDTO(Long id, String name, String description, LocalDate startDate, LocalDate endDate,
+            SprintStatus status, Long projectId) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.status = status;
+        this.projectId = projectId;
+    }
 
     /** Getters e setters */
     public Long getId() {
@@ -72,4 +90,12 @@ public class SprintWithProgressDTO {
     public void setProgress(int progress) {
         this.progress = progress;
     }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
 }
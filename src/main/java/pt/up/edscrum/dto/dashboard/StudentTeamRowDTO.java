@@ -0,0 +1,64 @@
+package pt.up.edscrum.dto.dashboard;
+
+/**
+ * Linha de projeção com a equipa de um estudante (curso, projeto e líderes),
+ * usada para montar o dashboard do estudante sem carregar entidades `Team`.
+ */
+public class StudentTeamRowDTO {
+
+    private Long teamId;
+    private String teamName;
+    private Long courseId;
+    private Long projectId;
+    private Long scrumMasterId;
+    private Long productOwnerId;
+
+    public StudentTeamRowDTO(Long teamId, String teamName, Long courseId, Long projectId, Long scrumMasterId, Long productOwnerId) {
+        this.teamId = teamId;
+        this.teamName = teamName;
+        this.courseId = courseId;
+        this.projectId = projectId;
+        this.scrumMasterId = scrumMasterId;
+        this.productOwnerId = productOwnerId;
+    }
+
+    public Long getTeamId() {
+        return teamId;
+    }
+
+    public String getTeamName() {
+        return teamName;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public Long getScrumMasterId() {
+        return scrumMasterId;
+    }
+
+    public Long getProductOwnerId() {
+        return productOwnerId;
+    }
+
+    /**
+     * Papel do utilizador indicado nesta equipa.
+     *
+     * @param userId id do utilizador
+     * @return "Scrum Master", "Product Owner" ou "Developer"
+     */
+    public String getRoleOf(Long userId) {
+        if (scrumMasterId != null && scrumMasterId.equals(userId)) {
+            return "Scrum Master";
+        }
+        if (productOwnerId != null && productOwnerId.equals(userId)) {
+            return "Product Owner";
+        }
+        return "Developer";
+    }
+}
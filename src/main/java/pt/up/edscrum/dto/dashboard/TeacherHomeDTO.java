@@ -0,0 +1,174 @@
+package pt.up.edscrum.dto.dashboard;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import pt.up.edscrum.model.Award;
+import pt.up.edscrum.model.Course;
+import pt.up.edscrum.model.Team;
+import pt.up.edscrum.model.User;
+
+/**
+ * Modelo já calculado da página inicial do professor (cursos, equipas,
+ * rankings e alunos), restrito aos cursos do professor.
+ */
+public class TeacherHomeDTO {
+
+    private User teacher;
+    private List<Course> courses;
+    private List<Team> teams;
+    private Map<Long, List<Team>> teamsByCourse;
+    private List<Team> availableTeams;
+    private List<Award> awards;
+    private List<RankingDTO> studentRankings;
+    private int totalStudents;
+    private long activeTeamsCount;
+    private int averageScore;
+    private String topPerformerName = "-";
+    private long topPerformerScore;
+    private long scoreVariation;
+    private Map<Long, Set<Long>> takenMap;
+    private Map<Long, List<User>> enrolledStudentsMap;
+    private Map<Long, String> studentCoursesMap;
+    private Map<Long, String> userProfileImageMap;
+
+    public TeacherHomeDTO() {
+    }
+
+    public User getTeacher() {
+        return teacher;
+    }
+
+    public void setTeacher(User teacher) {
+        this.teacher = teacher;
+    }
+
+    public List<Course> getCourses() {
+        return courses;
+    }
+
+    public void setCourses(List<Course> courses) {
+        this.courses = courses;
+    }
+
+    public List<Team> getTeams() {
+        return teams;
+    }
+
+    public void setTeams(List<Team> teams) {
+        this.teams = teams;
+    }
+
+    public Map<Long, List<Team>> getTeamsByCourse() {
+        return teamsByCourse;
+    }
+
+    public void setTeamsByCourse(Map<Long, List<Team>> teamsByCourse) {
+        this.teamsByCourse = teamsByCourse;
+    }
+
+    public List<Team> getAvailableTeams() {
+        return availableTeams;
+    }
+
+    public void setAvailableTeams(List<Team> availableTeams) {
+        this.availableTeams = availableTeams;
+    }
+
+    public List<Award> getAwards() {
+        return awards;
+    }
+
+    public void setAwards(List<Award> awards) {
+        this.awards = awards;
+    }
+
+    public List<RankingDTO> getStudentRankings() {
+        return studentRankings;
+    }
+
+    public void setStudentRankings(List<RankingDTO> studentRankings) {
+        this.studentRankings = studentRankings;
+    }
+
+    public int getTotalStudents() {
+        return totalStudents;
+    }
+
+    public void setTotalStudents(int totalStudents) {
+        this.totalStudents = totalStudents;
+    }
+
+    public long getActiveTeamsCount() {
+        return activeTeamsCount;
+    }
+
+    public void setActiveTeamsCount(long activeTeamsCount) {
+        this.activeTeamsCount = activeTeamsCount;
+    }
+
+    public int getAverageScore() {
+        return averageScore;
+    }
+
+    public void setAverageScore(int averageScore) {
+        this.averageScore = averageScore;
+    }
+
+    public String getTopPerformerName() {
+        return topPerformerName;
+    }
+
+    public void setTopPerformerName(String topPerformerName) {
+        this.topPerformerName = topPerformerName;
+    }
+
+    public long getTopPerformerScore() {
+        return topPerformerScore;
+    }
+
+    public void setTopPerformerScore(long topPerformerScore) {
+        this.topPerformerScore = topPerformerScore;
+    }
+
+    public long getScoreVariation() {
+        return scoreVariation;
+    }
+
+    public void setScoreVariation(long scoreVariation) {
+        this.scoreVariation = scoreVariation;
+    }
+
+    public Map<Long, Set<Long>> getTakenMap() {
+        return takenMap;
+    }
+
+    public void setTakenMap(Map<Long, Set<Long>> takenMap) {
+        this.takenMap = takenMap;
+    }
+
+    public Map<Long, List<User>> getEnrolledStudentsMap() {
+        return enrolledStudentsMap;
+    }
+
+    public void setEnrolledStudentsMap(Map<Long, List<User>> enrolledStudentsMap) {
+        this.enrolledStudentsMap = enrolledStudentsMap;
+    }
+
+    public Map<Long, String> getStudentCoursesMap() {
+        return studentCoursesMap;
+    }
+
+    public void setStudentCoursesMap(Map<Long, String> studentCoursesMap) {
+        this.studentCoursesMap = studentCoursesMap;
+    }
+
+    public Map<Long, String> getUserProfileImageMap() {
+        return userProfileImageMap;
+    }
+
+    public void setUserProfileImageMap(Map<Long, String> userProfileImageMap) {
+        this.userProfileImageMap = userProfileImageMap;
+    }
+}
@@ -0,0 +1,36 @@
+package pt.up.edscrum.dto.dashboard;
+
+/**
+ * Linha do ranking de equipas usada na exportação CSV (equipa, projeto e
+ * pontos).
+ */
+public class TeamExportRowDTO {
+
+    private Long teamId;
+    private String teamName;
+    private String projectName;
+    private long totalPoints;
+
+    public TeamExportRowDTO(Long teamId, String teamName, String projectName, Integer totalPoints) {
+        this.teamId = teamId;
+        this.teamName = teamName;
+        this.projectName = projectName;
+        this.totalPoints = totalPoints != null ? totalPoints : 0;
+    }
+
+    public Long getTeamId() {
+        return teamId;
+    }
+
+    public String getTeamName() {
+        return teamName;
+    }
+
+    public String getProjectName() {
+        return projectName;
+    }
+
+    public long getTotalPoints() {
+        return totalPoints;
+    }
+}
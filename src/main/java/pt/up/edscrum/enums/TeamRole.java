@@ -0,0 +1,10 @@
+package pt.up.edscrum.enums;
+
+/**
+ * Papel de um utilizador numa equipa.
+ */
+public enum TeamRole {
+    SCRUM_MASTER,
+    PRODUCT_OWNER,
+    DEVELOPER
+}
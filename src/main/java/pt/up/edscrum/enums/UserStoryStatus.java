@@ -1,11 +1,46 @@
 package pt.up.edscrum.enums;
 
 /**
- * Estados possíveis de uma User Story no fluxo do sprint.
+ * Estados possíveis de uma User Story no fluxo do sprint. Cada estado tem o
+ * seu peso no progresso do sprint (TODO=0%, IN_PROGRESS=25%, TESTING=75%,
+ * DONE=100%); todos os cálculos de progresso usam `progressOf`.
  */
 public enum UserStoryStatus {
-    TODO,
-    IN_PROGRESS,
-    TESTING,
-    DONE
+    TODO(0),
+    IN_PROGRESS(25),
+    TESTING(75),
+    DONE(100);
+
+    private final int progressWeight;
+
+    UserStoryStatus(int progressWeight) {
+        this.progressWeight = progressWeight;
+    }
+
+    /**
+     * @return contribuição de uma user story neste estado (0-100)
+     */
+    public int getProgressWeight() {
+        return progressWeight;
+    }
+
+    /**
+     * Progresso de um sprint a partir do número de user stories em cada
+     * estado: média dos pesos.
+     *
+     * @param todo user stories em TODO
+     * @param inProgress user stories em IN_PROGRESS
+     * @param testing user stories em TESTING
+     * @param done user stories em DONE
+     * @return percentagem de progresso (0-100), 0 se não houver user stories
+     */
+    public static int progressOf(long todo, long inProgress, long testing, long done) {
+        long total = todo + inProgress + testing + done;
+        if (total == 0) {
+            return 0;
+        }
+        double weighted = todo * (double) TODO.progressWeight + inProgress * (double) IN_PROGRESS.progressWeight
+                + testing * (double) TESTING.progressWeight + done * (double) DONE.progressWeight;
+        return (int) (weighted / total);
+    }
 }
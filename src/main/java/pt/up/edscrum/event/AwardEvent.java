@@ -0,0 +1,111 @@
+package pt.up.edscrum.event;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Eventos de domínio que podem dar origem a prémios automáticos. São
+ * publicados pelos serviços através do `ApplicationEventPublisher` e avaliados
+ * de forma síncrona (na mesma transação) pelo `AutomaticAwardEngine`.
+ */
+public sealed interface AwardEvent {
+
+    /**
+     * Utilizadores cujos prémios individuais devem ser avaliados.
+     *
+     * @return ids dos utilizadores
+     */
+    Collection<Long> userIds();
+
+    /**
+     * Equipas cujos prémios de equipa devem ser avaliados.
+     *
+     * @return ids das equipas
+     */
+    default Collection<Long> teamIds() {
+        return List.of();
+    }
+
+    /**
+     * Projeto a que o evento diz respeito.
+     *
+     * @return id do projeto (pode ser null)
+     */
+    Long projectId();
+
+    /**
+     * Um utilizador criou um sprint.
+     *
+     * @param userId id de quem criou o sprint
+     * @param projectId id do projeto do sprint (pode ser null)
+     */
+    record SprintCreated(Long userId, Long projectId) implements AwardEvent {
+
+        @Override
+        public Collection<Long> userIds() {
+            return List.of(userId);
+        }
+    }
+
+    /**
+     * Uma equipa foi criada com os membros indicados.
+     *
+     * @param teamId id da equipa
+     * @param projectId id do projeto da equipa (pode ser null)
+     * @param userIds ids dos membros (SM, PO e developers)
+     */
+    record TeamFormed(Long teamId, Long projectId, Collection<Long> userIds) implements AwardEvent {
+
+        @Override
+        public Collection<Long> teamIds() {
+            return List.of(teamId);
+        }
+    }
+
+    /**
+     * Scrum Master e Product Owner escolhidos ao criar uma equipa na
+     * interface web.
+     *
+     * @param projectId id do projeto da equipa (pode ser null)
+     * @param scrumMasterId id do Scrum Master (pode ser null)
+     * @param productOwnerId id do Product Owner (pode ser null)
+     */
+    record TeamLeadersAssigned(Long projectId, Long scrumMasterId, Long productOwnerId) implements AwardEvent {
+
+        @Override
+        public Collection<Long> userIds() {
+            return Stream.of(scrumMasterId, productOwnerId).filter(Objects::nonNull).distinct().toList();
+        }
+    }
+
+    /**
+     * Um estudante inscreveu-se num curso.
+     *
+     * @param studentId id do estudante
+     * @param courseId id do curso
+     */
+    record Enrolled(Long studentId, Long courseId) implements AwardEvent {
+
+        @Override
+        public Collection<Long> userIds() {
+            return List.of(studentId);
+        }
+
+        @Override
+        public Long projectId() {
+            return null;
+        }
+    }
+
+    /**
+     * Um projeto foi concluído.
+     *
+     * @param projectId id do projeto
+     * @param userIds ids dos membros das equipas do projeto
+     * @param teamIds ids das equipas do projeto
+     */
+    record ProjectCompleted(Long projectId, Collection<Long> userIds, Collection<Long> teamIds) implements AwardEvent {
+    }
+}
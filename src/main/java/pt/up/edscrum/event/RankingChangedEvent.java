@@ -0,0 +1,37 @@
+package pt.up.edscrum.event;
+
+import java.util.Collection;
+
+/**
+ * Alterações aos dados que alimentam os rankings de estudantes. São
+ * publicadas pelo `RankingChangeListener` (escritas JPA em `Score`,
+ * `Enrollment` e `User`) e pelos serviços que fazem UPDATE/DELETE em massa, e
+ * tratadas pelo `RankingService`, que depois do commit atualiza ou descarta
+ * apenas os snapshots afetados.
+ */
+public sealed interface RankingChangedEvent {
+
+    /**
+     * Pontos ou dados de alguns utilizadores mudaram: afeta o ranking global
+     * e os rankings dos cursos em que esses utilizadores aparecem.
+     *
+     * @param userIds ids dos utilizadores
+     */
+    record UsersChanged(Collection<Long> userIds) implements RankingChangedEvent {
+    }
+
+    /**
+     * As inscrições de um curso mudaram: afeta apenas o ranking desse curso.
+     *
+     * @param courseId id do curso
+     */
+    record CourseChanged(Long courseId) implements RankingChangedEvent {
+    }
+
+    /**
+     * Alteração sem âmbito conhecido (ex.: remoção em massa de `Score`):
+     * todos os rankings ficam inválidos.
+     */
+    record AllChanged() implements RankingChangedEvent {
+    }
+}
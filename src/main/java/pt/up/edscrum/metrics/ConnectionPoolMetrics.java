@@ -0,0 +1,120 @@
+package pt.up.edscrum.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.sql.DataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import pt.up.edscrum.datasource.ReadWriteRoutingDataSource;
+import pt.up.edscrum.dto.ConnectionPoolMetricsDTO;
+
+/**
+ * Métricas dos pools Hikari da aplicação (principal e, se existir, réplica):
+ * o Hikari avisa cada vez que entrega uma ligação (tempo de espera), quando
+ * ela é devolvida (tempo de uso) e quando um pedido desiste por timeout. O
+ * estado atual (ativas, livres, threads à espera) vem do próprio pool.
+ * Disponível em `GET /api/metrics/pool`. Criado pelo `QueryMetricsConfig`
+ * (só existe com as métricas ativas).
+ */
+public class ConnectionPoolMetrics implements MetricsTrackerFactory {
+
+    private final Map<String, Pool> pools = new ConcurrentHashMap<>();
+
+    /**
+     * Liga as métricas aos pools Hikari de um `DataSource` (diretamente ou
+     * atrás do `ReadWriteRoutingDataSource`). Pools que já tenham outro
+     * registo de métricas ficam de fora.
+     *
+     * @param dataSource o `DataSource` da aplicação
+     */
+    public void track(DataSource dataSource) {
+        if (dataSource instanceof ReadWriteRoutingDataSource routing) {
+            track(routing.getPrimary());
+            track(routing.getReplica());
+        } else if (dataSource instanceof HikariDataSource hikari && hikari.getMetricsTrackerFactory() == null) {
+            hikari.setMetricsTrackerFactory(this);
+        }
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        Pool pool = new Pool(poolStats);
+        pools.put(poolName, pool);
+        return pool;
+    }
+
+    /**
+     * Um registo por pool, por nome.
+     */
+    public List<ConnectionPoolMetricsDTO> getAll() {
+        List<ConnectionPoolMetricsDTO> result = new ArrayList<>();
+        pools.forEach((name, pool) -> result.add(pool.toDTO(name)));
+        result.sort(Comparator.comparing(ConnectionPoolMetricsDTO::getPool));
+        return result;
+    }
+
+    /**
+     * Limpa os tempos e contadores (o estado atual dos pools mantém-se).
+     */
+    public void reset() {
+        pools.values().forEach(Pool::reset);
+    }
+
+    private static final class Pool implements IMetricsTracker {
+
+        private final PoolStats poolStats;
+
+        private long acquisitions;
+        private long totalAcquireNanos;
+        private long maxAcquireNanos;
+        private long totalUsageMillis;
+        private long maxUsageMillis;
+        private long timeouts;
+
+        Pool(PoolStats poolStats) {
+            this.poolStats = poolStats;
+        }
+
+        @Override
+        public synchronized void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            acquisitions++;
+            totalAcquireNanos += elapsedAcquiredNanos;
+            maxAcquireNanos = Math.max(maxAcquireNanos, elapsedAcquiredNanos);
+        }
+
+        @Override
+        public synchronized void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            totalUsageMillis += elapsedBorrowedMillis;
+            maxUsageMillis = Math.max(maxUsageMillis, elapsedBorrowedMillis);
+        }
+
+        @Override
+        public synchronized void recordConnectionTimeout() {
+            timeouts++;
+        }
+
+        synchronized void reset() {
+            acquisitions = 0;
+            totalAcquireNanos = 0;
+            maxAcquireNanos = 0;
+            totalUsageMillis = 0;
+            maxUsageMillis = 0;
+            timeouts = 0;
+        }
+
+        synchronized ConnectionPoolMetricsDTO toDTO(String name) {
+            return new ConnectionPoolMetricsDTO(name, poolStats.getActiveConnections(), poolStats.getIdleConnections(),
+                    poolStats.getTotalConnections(), poolStats.getMaxConnections(), poolStats.getPendingThreads(),
+                    acquisitions, totalAcquireNanos / 1_000_000.0, maxAcquireNanos / 1_000_000.0,
+                    totalUsageMillis, maxUsageMillis, timeouts);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package pt.up.edscrum.metrics;
+
+import org.hibernate.Interceptor;
+import org.hibernate.type.Type;
+
+/**
+ * Interceptor do Hibernate que conta, em `QueryStats`, as entidades
+ * carregadas. Registado em `application.properties`
+ * (`hibernate.session_factory.interceptor`).
+ */
+public class EntityLoadInterceptor implements Interceptor {
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        QueryStats.recordEntityLoad();
+        return false;
+    }
+}
@@ -0,0 +1,113 @@
+package pt.up.edscrum.metrics;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import javax.sql.DataSource;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.stereotype.Service;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnProperty(name = "edscrum.metrics.enabled", havingValue = "true", matchIfMissing = true)
+/**
+ * Liga a instrumentação de acessos à base de dados: conta as instruções SQL
+ * no `DataSource`, mede cada pedido HTTP (controladores MVC e REST) e cada
+ * método público das classes `*Service` da aplicação. Os resultados ficam
+ * em `GET /api/metrics/queries`; os tempos de espera e de uso das ligações
+ * dos pools Hikari ficam em `GET /api/metrics/pool`.
+ */
+public class QueryMetricsConfig implements WebMvcConfigurer {
+
+    private final QueryMetricsRegistry registry;
+    private final boolean responseHeader;
+
+    public QueryMetricsConfig(QueryMetricsRegistry registry,
+            @Value("${edscrum.metrics.response-header:false}") boolean responseHeader) {
+        this.registry = registry;
+        this.responseHeader = responseHeader;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry interceptors) {
+        interceptors.addInterceptor(new QueryMetricsInterceptor(registry, responseHeader))
+                .excludePathPatterns("/css/**", "/js/**", "/images/**", "/uploads/**", "/webjars/**", "/favicon.ico");
+    }
+
+    @Bean
+    public static QueryCountingPostProcessor queryCountingDataSourcePostProcessor() {
+        return new QueryCountingPostProcessor(new ConnectionPoolMetrics());
+    }
+
+    /**
+     * As métricas dos pools são criadas pelo post-processor (que as liga ao
+     * `DataSource` antes de o contexto estar completo) e expostas daqui.
+     */
+    @Bean
+    public ConnectionPoolMetrics connectionPoolMetrics(QueryCountingPostProcessor postProcessor) {
+        return postProcessor.poolMetrics;
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor serviceQueryMetricsAdvisor(ObjectProvider<QueryMetricsRegistry> registry) {
+        StaticMethodMatcherPointcut pointcut = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return Modifier.isPublic(method.getModifiers()) && method.getDeclaringClass() != Object.class;
+            }
+        };
+        pointcut.setClassFilter(type -> type.getName().startsWith("pt.up.edscrum.")
+                && type.getSimpleName().endsWith("Service")
+                && type.isAnnotationPresent(Service.class));
+
+        MethodInterceptor interceptor = invocation -> {
+            QueryStats.Snapshot before = QueryStats.snapshot();
+            long start = System.nanoTime();
+            try {
+                return invocation.proceed();
+            } finally {
+                String key = ClassUtils.getUserClass(invocation.getMethod().getDeclaringClass()).getSimpleName()
+                        + "." + invocation.getMethod().getName();
+                registry.getObject().record(key, QueryStats.snapshot().minus(before), System.nanoTime() - start);
+            }
+        };
+        return new DefaultPointcutAdvisor(pointcut, interceptor);
+    }
+
+    /**
+     * Embrulha o `DataSource` num `QueryCountingDataSource` e liga as
+     * métricas aos seus pools Hikari.
+     */
+    static final class QueryCountingPostProcessor implements BeanPostProcessor {
+
+        private final ConnectionPoolMetrics poolMetrics;
+
+        QueryCountingPostProcessor(ConnectionPoolMetrics poolMetrics) {
+            this.poolMetrics = poolMetrics;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource && !(bean instanceof QueryCountingDataSource)) {
+                poolMetrics.track(dataSource);
+                return new QueryCountingDataSource(dataSource);
+            }
+            return bean;
+        }
+    }
+}
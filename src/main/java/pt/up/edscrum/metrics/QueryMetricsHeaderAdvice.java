@@ -0,0 +1,40 @@
+package pt.up.edscrum.metrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+@ControllerAdvice
+/**
+ * Acrescenta os cabeçalhos de `QueryMetricsInterceptor` às respostas REST,
+ * antes de o corpo ser escrito (depois disso já não é possível alterar os
+ * cabeçalhos).
+ */
+public class QueryMetricsHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    private final boolean responseHeader;
+
+    public QueryMetricsHeaderAdvice(@Value("${edscrum.metrics.response-header:false}") boolean responseHeader) {
+        this.responseHeader = responseHeader;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return responseHeader;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            QueryMetricsInterceptor.headers(servletRequest.getServletRequest()).forEach(response.getHeaders()::set);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,92 @@
+package pt.up.edscrum.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.ModelAndView;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Mede os acessos à base de dados de cada pedido HTTP e regista-os em
+ * `QueryMetricsRegistry` com a chave "MÉTODO /padrão/do/url". Com
+ * `edscrum.metrics.response-header=true`, acrescenta também os cabeçalhos
+ * `X-Query-Count`, `X-Entities-Loaded` e `X-Jdbc-Time-Ms` à resposta (nas
+ * views são calculados antes da renderização do template).
+ */
+public class QueryMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String START_STATS = QueryMetricsInterceptor.class.getName() + ".stats";
+    private static final String START_TIME = QueryMetricsInterceptor.class.getName() + ".start";
+
+    private final QueryMetricsRegistry registry;
+    private final boolean responseHeader;
+
+    public QueryMetricsInterceptor(QueryMetricsRegistry registry, boolean responseHeader) {
+        this.registry = registry;
+        this.responseHeader = responseHeader;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.ASYNC) {
+            request.setAttribute(START_STATS, QueryStats.snapshot());
+            request.setAttribute(START_TIME, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) {
+        if (responseHeader && !response.isCommitted()) {
+            headers(request).forEach(response::setHeader);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        finish(request);
+    }
+
+    /**
+     * Respostas assíncronas (ex.: CSV em streaming): regista apenas a parte
+     * feita na thread do pedido.
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        finish(request);
+    }
+
+    /**
+     * Cabeçalhos com os acessos feitos até agora no pedido (vazio se o
+     * pedido não estiver a ser medido).
+     */
+    static Map<String, String> headers(HttpServletRequest request) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        if (request.getAttribute(START_STATS) instanceof QueryStats.Snapshot start) {
+            QueryStats.Snapshot stats = QueryStats.snapshot().minus(start);
+            headers.put("X-Query-Count", String.valueOf(stats.getStatements()));
+            headers.put("X-Entities-Loaded", String.valueOf(stats.getEntitiesLoaded()));
+            headers.put("X-Jdbc-Time-Ms", String.format(Locale.ROOT, "%.2f", stats.getJdbcMillis()));
+        }
+        return headers;
+    }
+
+    private void finish(HttpServletRequest request) {
+        if (!(request.getAttribute(START_STATS) instanceof QueryStats.Snapshot start)) {
+            return;
+        }
+        long elapsed = System.nanoTime() - (Long) request.getAttribute(START_TIME);
+        request.removeAttribute(START_STATS);
+        request.removeAttribute(START_TIME);
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String key = request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+        registry.record(key, QueryStats.snapshot().minus(start), elapsed);
+    }
+}
@@ -0,0 +1,72 @@
+package pt.up.edscrum.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import pt.up.edscrum.dto.QueryMetricsDTO;
+
+@Component
+/**
+ * Agrega, por pedido HTTP ("GET /view/student/home") e por método de serviço
+ * ("DashboardService.getStudentDashboard"), o número de chamadas, instruções
+ * SQL, entidades carregadas e tempos.
+ */
+public class QueryMetricsRegistry {
+
+    private final Map<String, Aggregate> metrics = new ConcurrentHashMap<>();
+
+    /**
+     * Regista uma execução.
+     *
+     * @param key pedido ou método
+     * @param stats acessos à base de dados feitos na execução
+     * @param elapsedNanos duração total da execução
+     */
+    public void record(String key, QueryStats.Snapshot stats, long elapsedNanos) {
+        metrics.computeIfAbsent(key, k -> new Aggregate()).add(stats, elapsedNanos);
+    }
+
+    /**
+     * Métricas recolhidas, das que fizeram mais instruções SQL por chamada
+     * para as que fizeram menos.
+     */
+    public List<QueryMetricsDTO> getAll() {
+        List<QueryMetricsDTO> result = new ArrayList<>();
+        metrics.forEach((key, aggregate) -> result.add(aggregate.toDTO(key)));
+        result.sort(Comparator.comparingDouble(QueryMetricsDTO::getAvgStatements).reversed());
+        return result;
+    }
+
+    public void reset() {
+        metrics.clear();
+    }
+
+    private static final class Aggregate {
+
+        private long calls;
+        private long totalStatements;
+        private long maxStatements;
+        private long totalEntitiesLoaded;
+        private long totalJdbcNanos;
+        private long totalElapsedNanos;
+
+        synchronized void add(QueryStats.Snapshot stats, long elapsedNanos) {
+            calls++;
+            totalStatements += stats.getStatements();
+            maxStatements = Math.max(maxStatements, stats.getStatements());
+            totalEntitiesLoaded += stats.getEntitiesLoaded();
+            totalJdbcNanos += stats.getJdbcNanos();
+            totalElapsedNanos += elapsedNanos;
+        }
+
+        synchronized QueryMetricsDTO toDTO(String key) {
+            return new QueryMetricsDTO(key, calls, totalStatements, maxStatements, totalEntitiesLoaded,
+                    totalJdbcNanos / 1_000_000.0, totalElapsedNanos / 1_000_000.0);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package pt.up.edscrum.metrics;
+
+import java.util.Locale;
+
+/**
+ * Contadores de acesso à base de dados da thread atual: instruções SQL
+ * executadas, entidades carregadas pelo Hibernate e tempo total passado no
+ * JDBC.
+ *
+ * Os contadores só crescem; para medir um pedido ou uma chamada de serviço
+ * tira-se um `Snapshot` antes e outro depois e usa-se a diferença (ver
+ * `measure`, útil também para impor orçamentos de queries nos testes).
+ */
+public final class QueryStats {
+
+    private static final ThreadLocal<QueryStats> CURRENT = ThreadLocal.withInitial(QueryStats::new);
+
+    private long statements;
+    private long entitiesLoaded;
+    private long jdbcNanos;
+
+    private QueryStats() {
+    }
+
+    /**
+     * Contadores acumulados da thread atual.
+     */
+    public static Snapshot snapshot() {
+        QueryStats stats = CURRENT.get();
+        return new Snapshot(stats.statements, stats.entitiesLoaded, stats.jdbcNanos);
+    }
+
+    /**
+     * Executa `work` e devolve os acessos à base de dados que este fez.
+     *
+     * @param work código a medir
+     * @return diferença dos contadores
+     */
+    public static Snapshot measure(Runnable work) {
+        Snapshot before = snapshot();
+        work.run();
+        return snapshot().minus(before);
+    }
+
+    static void recordStatement(long nanos) {
+        QueryStats stats = CURRENT.get();
+        stats.statements++;
+        stats.jdbcNanos += nanos;
+    }
+
+    static void recordEntityLoad() {
+        CURRENT.get().entitiesLoaded++;
+    }
+
+    /**
+     * Valores dos contadores num dado instante (ou a diferença entre dois).
+     */
+    public static final class Snapshot {
+
+        private final long statements;
+        private final long entitiesLoaded;
+        private final long jdbcNanos;
+
+        Snapshot(long statements, long entitiesLoaded, long jdbcNanos) {
+            this.statements = statements;
+            this.entitiesLoaded = entitiesLoaded;
+            this.jdbcNanos = jdbcNanos;
+        }
+
+        public Snapshot minus(Snapshot other) {
+            return new Snapshot(statements - other.statements,
+                    entitiesLoaded - other.entitiesLoaded,
+                    jdbcNanos - other.jdbcNanos);
+        }
+
+        public long getStatements() {
+            return statements;
+        }
+
+        public long getEntitiesLoaded() {
+            return entitiesLoaded;
+        }
+
+        public long getJdbcNanos() {
+            return jdbcNanos;
+        }
+
+        public double getJdbcMillis() {
+            return jdbcNanos / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return statements + " statements, " + entitiesLoaded + " entities, "
+                    + String.format(Locale.ROOT, "%.2f", getJdbcMillis()) + " ms JDBC";
+        }
+    }
+}
@@ -1,11 +1,17 @@
 package pt.up.edscrum.model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "award")
 /**
  * Representa um prémio (award) atribuído a estudantes ou equipas. Contém
  * informação básica como nome, descrição, pontos e tipo.
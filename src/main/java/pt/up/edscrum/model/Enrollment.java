@@ -3,12 +3,14 @@ package pt.up.edscrum.model;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
 
 @Entity
+@EntityListeners(RankingChangeListener.class)
 /**
  * Entidade que representa a inscrição de um estudante num curso.
  */
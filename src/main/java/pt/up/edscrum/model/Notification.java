@@ -10,13 +10,17 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import pt.up.edscrum.enums.NotificationType;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+    @Index(name = "idx_notifications_user_read_created", columnList = "user_id, is_read, created_at"),
+    @Index(name = "idx_notifications_user_created", columnList = "user_id, created_at")
+})
 /**
  * Entidade que representa uma notificação do sistema associada a um
  * utilizador.
@@ -0,0 +1,45 @@
+package pt.up.edscrum.model;
+
+import java.util.List;
+
+import org.springframework.context.ApplicationEventPublisher;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+import pt.up.edscrum.event.RankingChangedEvent;
+
+/**
+ * Listener JPA associado às entidades que alimentam os rankings (`Score`,
+ * `Enrollment` e `User`). Cada escrita publica um `RankingChangedEvent` com o
+ * âmbito afetado (utilizador ou curso). É criado pelo Spring, que injeta o
+ * `ApplicationEventPublisher`.
+ */
+public class RankingChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public RankingChangeListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        RankingChangedEvent event = switch (entity) {
+            case Score score when score.getUser() != null ->
+                new RankingChangedEvent.UsersChanged(List.of(score.getUser().getId()));
+            case Enrollment enrollment when enrollment.getCourse() != null ->
+                new RankingChangedEvent.CourseChanged(enrollment.getCourse().getId());
+            case User user ->
+                new RankingChangedEvent.UsersChanged(List.of(user.getId()));
+            default -> null;
+        };
+        // Scores só de equipa não entram nos rankings de estudantes
+        if (event != null) {
+            eventPublisher.publishEvent(event);
+        }
+    }
+}
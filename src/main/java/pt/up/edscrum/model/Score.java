@@ -1,20 +1,36 @@
 package pt.up.edscrum.model;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 
 @Entity
+@Table(indexes = @Index(name = "idx_score_points", columnList = "total_points DESC, id"))
+@EntityListeners(RankingChangeListener.class)
 /**
  * Entidade que guarda o total de pontos (score) de um utilizador ou equipa.
+ * Os ids vêm de uma sequência com alocação em blocos (no MySQL, a tabela
+ * `score_seq`), para que os INSERT de vários `Score` possam ir em batch. O
+ * índice (total_points DESC, id) segue a ordem do ranking: o topo (ex.: Top
+ * 5 dos prémios de posição) lê-se sem percorrer todos os scores.
  */
 public class Score {
 
+    /**
+     * Ids reservados de cada vez na sequência `score_seq`.
+     */
+    public static final int ID_ALLOCATION = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "score_seq")
+    @SequenceGenerator(name = "score_seq", sequenceName = "score_seq", allocationSize = ID_ALLOCATION)
     private Long id;
 
     private int totalPoints;
@@ -6,6 +6,7 @@ import java.util.List;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
@@ -16,6 +17,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import pt.up.edscrum.enums.SprintStatus;
+import pt.up.edscrum.enums.UserStoryStatus;
 
 @Entity
 /**
@@ -49,6 +51,20 @@ public class Sprint {
     @JsonIgnoreProperties("sprint")
     private List<UserStory> userStories;
 
+    // Contadores de user stories por estado, mantidos por instruções UPDATE
+    // atómicas (`SprintRepository.moveStoryStatus`); a entidade nunca os escreve
+    @Column(name = "todo_count", insertable = false, updatable = false, columnDefinition = "integer not null default 0")
+    private int todoCount;
+
+    @Column(name = "in_progress_count", insertable = false, updatable = false, columnDefinition = "integer not null default 0")
+    private int inProgressCount;
+
+    @Column(name = "testing_count", insertable = false, updatable = false, columnDefinition = "integer not null default 0")
+    private int testingCount;
+
+    @Column(name = "done_count", insertable = false, updatable = false, columnDefinition = "integer not null default 0")
+    private int doneCount;
+
     
     public Long getId() {
         return id;
@@ -121,4 +137,39 @@ public class Sprint {
     public void setUserStories(List<UserStory> userStories) {
         this.userStories = userStories;
     }
+
+    public int getTodoCount() {
+        return todoCount;
+    }
+
+    public int getInProgressCount() {
+        return inProgressCount;
+    }
+
+    public int getTestingCount() {
+        return testingCount;
+    }
+
+    public int getDoneCount() {
+        return doneCount;
+    }
+
+    /**
+     * Número total de user stories do sprint (soma dos contadores).
+     *
+     * @return total de user stories
+     */
+    public int getStoryCount() {
+        return todoCount + inProgressCount + testingCount + doneCount;
+    }
+
+    /**
+     * Progresso do sprint calculado a partir dos contadores, com os pesos de
+     * `UserStoryStatus`.
+     *
+     * @return percentagem de progresso (0-100)
+     */
+    public int getStoryProgress() {
+        return UserStoryStatus.progressOf(todoCount, inProgressCount, testingCount, doneCount);
+    }
 }
@@ -1,15 +1,23 @@
 package pt.up.edscrum.model;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_student_award_project",
+        columnNames = {"student_id", "award_id", "project_key"}))
 /**
  * Entidade que representa a atribuição de um prémio a um estudante num
- * determinado contexto (opcionalmente ligado a um projeto).
+ * determinado contexto (opcionalmente ligado a um projeto). Cada prémio só
+ * pode ser atribuído uma vez ao mesmo estudante no mesmo projeto (ou sem
+ * projeto); duplicados anteriores à restrição são apagados no arranque
+ * (`StudentAwardRepository.deleteDuplicates`).
  */
 public class StudentAward {
 
@@ -28,6 +36,15 @@ public class StudentAward {
 
     private int pointsEarned;
 
+    /**
+     * Projeto como chave da restrição de unicidade (0 quando não há projeto),
+     * porque o MySQL não considera NULLs repetidos como duplicados. Coluna
+     * gerada pela base de dados.
+     */
+    @Column(name = "project_key", insertable = false, updatable = false,
+            columnDefinition = "bigint generated always as (coalesce(project_id, 0))")
+    private Long projectKey;
+
     public Project getProject() {
         return project;
     }
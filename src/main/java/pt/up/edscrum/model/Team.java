@@ -6,6 +6,7 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -13,37 +14,63 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedEntityGraphs;
 
 /**
  * Entidade que representa uma equipa de desenvolvimento dentro de um
  * projeto/curso, com membros, papéis (scrum master, product owner) e
  * informação de configuração (tamanho máximo, estado encerrado).
+ * <p>
+ * Todas as associações são LAZY; cada pesquisa no `TeamRepository` indica o
+ * grafo de entidades de que precisa (ver as constantes `GRAPH_*`), que é
+ * carregado na mesma query.
  */
 @Entity
+@NamedEntityGraphs({
+    @NamedEntityGraph(name = Team.GRAPH_SUMMARY, attributeNodes = {
+        @NamedAttributeNode("course"), @NamedAttributeNode("project")
+    }),
+    @NamedEntityGraph(name = Team.GRAPH_WITH_MEMBERS, attributeNodes = {
+        @NamedAttributeNode("scrumMaster"), @NamedAttributeNode("productOwner"), @NamedAttributeNode("developers")
+    }),
+    @NamedEntityGraph(name = Team.GRAPH_FULL, attributeNodes = {
+        @NamedAttributeNode("course"), @NamedAttributeNode("project"),
+        @NamedAttributeNode("scrumMaster"), @NamedAttributeNode("productOwner"), @NamedAttributeNode("developers")
+    })
+})
 public class Team {
 
+    /** Curso e projeto (listagens de equipas). */
+    public static final String GRAPH_SUMMARY = "team-summary";
+    /** Scrum Master, Product Owner e developers (membros, prémios de equipa). */
+    public static final String GRAPH_WITH_MEMBERS = "team-with-members";
+    /** Todas as associações (equipas serializadas em JSON pela API). */
+    public static final String GRAPH_FULL = "team-full";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     private String name;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id")
     @JsonIgnoreProperties({"teams", "sprints", "course"})
     private Project project;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "course_id")
     @JsonIgnoreProperties({"projects", "enrollments", "teams"})
     private Course course;
 
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "scrum_master_id")
     private User scrumMaster;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "product_owner_id")
     private User productOwner;
 
@@ -0,0 +1,76 @@
+package pt.up.edscrum.model;
+
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Synchronize;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import pt.up.edscrum.enums.TeamRole;
+
+@Entity
+@Immutable
+@Synchronize({"team", "team_developers"})
+@Table(name = "team_membership",
+        uniqueConstraints = @UniqueConstraint(name = "uk_team_membership", columnNames = {"team_id", "user_id", "role"}),
+        indexes = @Index(name = "idx_team_membership_user_course", columnList = "user_id, course_id"))
+/**
+ * Projeção normalizada dos membros de uma equipa: uma linha por (equipa,
+ * utilizador, papel), com o curso da equipa. Não é escrita pela aplicação:
+ * é mantida pelo `TeamMembershipSync` a partir do SM, PO e developers de cada
+ * `Team`, e serve as pesquisas "equipas de um utilizador" sem juntar as três
+ * colunas com OR. O `@Synchronize` garante o flush das alterações pendentes
+ * às equipas antes de uma query sobre esta tabela.
+ */
+public class TeamMembership {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "team_id", nullable = false)
+    private Team team;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TeamRole role;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "course_id")
+    private Course course;
+
+    public Long getId() {
+        return id;
+    }
+
+    public Team getTeam() {
+        return team;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public TeamRole getRole() {
+        return role;
+    }
+
+    public Course getCourse() {
+        return course;
+    }
+}
@@ -0,0 +1,37 @@
+package pt.up.edscrum.persistence;
+
+import java.util.List;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+
+/**
+ * Regista o `TeamMembershipSync` nos eventos do Hibernate durante a criação
+ * da `SessionFactory`. Registado em `application.properties`
+ * (`hibernate.integrator_provider`).
+ */
+public class TeamMembershipIntegrator implements Integrator, IntegratorProvider {
+
+    @Override
+    public List<Integrator> getIntegrators() {
+        return List.of(this);
+    }
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+            SessionFactoryImplementor sessionFactory) {
+        TeamMembershipSync sync = new TeamMembershipSync();
+        EventListenerRegistry registry = sessionFactory.getEventListenerRegistry();
+        registry.appendListeners(EventType.POST_INSERT, sync);
+        registry.appendListeners(EventType.POST_UPDATE, sync);
+        registry.appendListeners(EventType.PRE_DELETE, sync);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, sync);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, sync);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, sync);
+    }
+}
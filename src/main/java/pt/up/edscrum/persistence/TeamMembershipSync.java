@@ -0,0 +1,195 @@
+package pt.up.edscrum.persistence;
+
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.hibernate.Hibernate;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.Status;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.event.spi.PreDeleteEvent;
+import org.hibernate.event.spi.PreDeleteEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+
+import pt.up.edscrum.enums.TeamRole;
+import pt.up.edscrum.model.Team;
+import pt.up.edscrum.model.User;
+
+/**
+ * Mantém a tabela `team_membership` sincronizada com as equipas. Está
+ * registado nos eventos do Hibernate pelo `TeamMembershipIntegrator`, para que
+ * qualquer escrita de uma `Team` através do `EntityManager` (pelo
+ * `TeamService` ou diretamente pelo repositório) reescreva as linhas dessa
+ * equipa na mesma transação e na mesma ligação:
+ * <ul>
+ * <li>inserção, ou alteração de SM, PO ou curso;</li>
+ * <li>criação, alteração ou remoção da coleção de developers;</li>
+ * <li>antes de apagar a equipa, remove as suas linhas.</li>
+ * </ul>
+ * UPDATE/DELETE em massa (JPQL ou SQL nativo) sobre `team` ou
+ * `team_developers` não geram estes eventos e deixam a tabela desatualizada:
+ * quem os fizer tem de chamar `TeamMembershipRepository.rebuild()`.
+ */
+public class TeamMembershipSync implements PostInsertEventListener, PostUpdateEventListener, PreDeleteEventListener,
+        PostCollectionRecreateEventListener, PostCollectionUpdateEventListener, PostCollectionRemoveEventListener {
+
+    private static final String DEVELOPERS_ROLE = Team.class.getName() + ".developers";
+    private static final Set<String> MEMBER_PROPERTIES = Set.of("scrumMaster", "productOwner", "course", "developers");
+
+    private static final String DELETE = "DELETE FROM team_membership WHERE team_id = ?";
+    private static final String DELETE_LEADERS = "DELETE FROM team_membership WHERE team_id = ? AND role <> 'DEVELOPER'";
+    private static final String UPDATE_COURSE = "UPDATE team_membership SET course_id = ? WHERE team_id = ?";
+    private static final String INSERT = "INSERT INTO team_membership (team_id, user_id, role, course_id) VALUES (?, ?, ?, ?)";
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Team team) {
+            resync(event.getSession(), team);
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Team team && membersChanged(event)) {
+            resync(event.getSession(), team);
+        }
+    }
+
+    @Override
+    public boolean onPreDelete(PreDeleteEvent event) {
+        if (event.getEntity() instanceof Team team && team.getId() != null) {
+            event.getSession().doWork(connection -> {
+                try (PreparedStatement ps = connection.prepareStatement(DELETE)) {
+                    ps.setLong(1, team.getId());
+                    ps.executeUpdate();
+                }
+            });
+        }
+        return false;
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        onDevelopersChanged(event.getSession(), event.getCollection().getRole(), event.getAffectedOwnerOrNull());
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        onDevelopersChanged(event.getSession(), event.getCollection().getRole(), event.getAffectedOwnerOrNull());
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        onDevelopersChanged(event.getSession(), event.getCollection().getRole(), event.getAffectedOwnerOrNull());
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void onDevelopersChanged(EventSource session, String role, Object owner) {
+        if (!DEVELOPERS_ROLE.equals(role) || !(owner instanceof Team team)) {
+            return;
+        }
+        // A coleção também é removida quando a equipa é apagada: nada a reescrever
+        EntityEntry entry = session.getPersistenceContextInternal().getEntry(team);
+        if (entry != null && (entry.getStatus() == Status.DELETED || entry.getStatus() == Status.GONE)) {
+            return;
+        }
+        resync(session, team);
+    }
+
+    private static boolean membersChanged(PostUpdateEvent event) {
+        int[] dirty = event.getDirtyProperties();
+        if (dirty == null) {
+            return true;
+        }
+        String[] names = event.getPersister().getPropertyNames();
+        for (int i : dirty) {
+            if (MEMBER_PROPERTIES.contains(names[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reescreve as linhas de uma equipa a partir do estado da entidade. Se a
+     * coleção de developers não estiver carregada (alteração só de SM, PO ou
+     * curso), as linhas dos developers são mantidas e apenas o curso é
+     * atualizado: inicializar uma coleção durante o flush não é permitido.
+     */
+    private static void resync(EventSource session, Team team) {
+        Long teamId = team.getId();
+        Long courseId = team.getCourse() != null ? team.getCourse().getId() : null;
+        boolean developersLoaded = team.getDevelopers() == null || Hibernate.isInitialized(team.getDevelopers());
+
+        List<Object[]> rows = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        addRow(rows, seen, team.getScrumMaster(), TeamRole.SCRUM_MASTER);
+        addRow(rows, seen, team.getProductOwner(), TeamRole.PRODUCT_OWNER);
+        if (team.getDevelopers() != null && developersLoaded) {
+            for (User dev : team.getDevelopers()) {
+                addRow(rows, seen, dev, TeamRole.DEVELOPER);
+            }
+        }
+
+        // Com batching, a inserção da equipa (ou dos membros) pode ainda estar pendente
+        session.getJdbcCoordinator().executeBatch();
+        session.doWork(connection -> {
+            try (PreparedStatement delete = connection.prepareStatement(developersLoaded ? DELETE : DELETE_LEADERS)) {
+                delete.setLong(1, teamId);
+                delete.executeUpdate();
+            }
+            if (!developersLoaded) {
+                try (PreparedStatement update = connection.prepareStatement(UPDATE_COURSE)) {
+                    if (courseId != null) {
+                        update.setLong(1, courseId);
+                    } else {
+                        update.setNull(1, Types.BIGINT);
+                    }
+                    update.setLong(2, teamId);
+                    update.executeUpdate();
+                }
+            }
+            if (rows.isEmpty()) {
+                return;
+            }
+            try (PreparedStatement insert = connection.prepareStatement(INSERT)) {
+                for (Object[] row : rows) {
+                    insert.setLong(1, teamId);
+                    insert.setLong(2, (Long) row[0]);
+                    insert.setString(3, ((TeamRole) row[1]).name());
+                    if (courseId != null) {
+                        insert.setLong(4, courseId);
+                    } else {
+                        insert.setNull(4, Types.BIGINT);
+                    }
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+        });
+    }
+
+    private static void addRow(List<Object[]> rows, Set<String> seen, User user, TeamRole role) {
+        if (user != null && user.getId() != null && seen.add(user.getId() + ":" + role)) {
+            rows.add(new Object[]{user.getId(), role});
+        }
+    }
+}
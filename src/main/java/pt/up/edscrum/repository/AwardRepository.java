@@ -1,9 +1,13 @@
 package pt.up.edscrum.repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import jakarta.persistence.QueryHint;
 import pt.up.edscrum.model.Award;
 
 /**
@@ -12,10 +16,32 @@ import pt.up.edscrum.model.Award;
 public interface AwardRepository extends JpaRepository<Award, Long> {
 
     /**
-     * Procura um prémio pelo seu nome.
+     * Região da cache de queries onde ficam os resultados de `findByName` e
+     * `findAll`.
+     */
+    String QUERY_CACHE_REGION = "award-queries";
+
+    /**
+     * Procura um prémio pelo seu nome. O resultado fica na cache de queries.
      *
      * @param name nome do prémio
      * @return Optional contendo o `Award` se existir
      */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     Optional<Award> findByName(String name);
+
+    /**
+     * Lista todos os prémios. O resultado fica na cache de queries.
+     *
+     * @return lista de `Award`
+     */
+    @Override
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
+    List<Award> findAll();
 }
@@ -32,4 +32,13 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
      * @return lista de `Course` com projetos inicializados
      */
     List<Course> findByTeacherIdWithProjects(@Param("teacherId") Long teacherId);
+
+    @Query("SELECT c FROM Course c LEFT JOIN FETCH c.teacher ORDER BY c.id")
+    /**
+     * Lista todos os cursos com o professor já carregado (evita uma query
+     * adicional por professor devido ao mapeamento EAGER).
+     *
+     * @return lista de `Course`
+     */
+    List<Course> findAllWithTeacher();
 }
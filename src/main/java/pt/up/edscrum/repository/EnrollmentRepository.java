@@ -1,10 +1,13 @@
 package pt.up.edscrum.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import pt.up.edscrum.dto.dashboard.IdNameRowDTO;
 import pt.up.edscrum.model.Enrollment;
 import pt.up.edscrum.model.User;
 
@@ -55,4 +58,65 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
      * @return true se existir inscrição, false caso contrário
      */
     boolean existsByStudentIdAndCourseId(Long studentId, Long courseId);
+
+    @Query("SELECT e.course.id FROM Enrollment e WHERE e.student.id = :studentId ORDER BY e.id")
+    /**
+     * Obtém os ids dos cursos em que um estudante está inscrito, pela ordem
+     * de inscrição.
+     *
+     * @param studentId id do estudante
+     * @return lista de ids de cursos
+     */
+    List<Long> findCourseIdsByStudentId(Long studentId);
+
+    @Query("SELECT e.student.id FROM Enrollment e WHERE e.course.id = :courseId ORDER BY e.id")
+    /**
+     * Ids dos estudantes inscritos num curso.
+     *
+     * @param courseId id do curso
+     * @return ids dos inscritos, por ordem de inscrição
+     */
+    List<Long> findStudentIdsByCourseId(Long courseId);
+
+    @Query("SELECT e.student.id FROM Enrollment e WHERE e.course.id = :courseId AND e.student.id IN :studentIds")
+    /**
+     * De um conjunto de estudantes, os que estão inscritos num curso (uma
+     * única query, para validar vários membros de uma vez).
+     *
+     * @param courseId id do curso
+     * @param studentIds ids dos estudantes
+     * @return ids dos inscritos
+     */
+    List<Long> findEnrolledStudentIds(Long courseId, Collection<Long> studentIds);
+
+    @Query("SELECT COUNT(DISTINCT e.student.id) FROM Enrollment e WHERE e.course.teacher.id = :teacherId")
+    /**
+     * Conta os estudantes distintos inscritos nos cursos de um professor.
+     *
+     * @param teacherId id do professor
+     * @return número de estudantes
+     */
+    long countDistinctStudentsByTeacherId(Long teacherId);
+
+    @Query("SELECT new pt.up.edscrum.dto.dashboard.IdNameRowDTO(e.student.id, e.course.name) "
+            + "FROM Enrollment e WHERE e.course.teacher.id = :teacherId AND e.student.id IN :studentIds "
+            + "ORDER BY e.course.id")
+    /**
+     * Pares (estudante, nome do curso) dos cursos de um professor, para um
+     * conjunto de estudantes.
+     *
+     * @param teacherId id do professor
+     * @param studentIds ids dos estudantes
+     * @return lista de `IdNameRowDTO` com id do estudante e nome do curso
+     */
+    List<IdNameRowDTO> findCourseNameRowsByTeacherId(Long teacherId, Collection<Long> studentIds);
+
+    @Query("SELECT e FROM Enrollment e JOIN FETCH e.student WHERE e.course.id IN :courseIds ORDER BY e.id")
+    /**
+     * Inscrições de um conjunto de cursos com o estudante já carregado.
+     *
+     * @param courseIds ids dos cursos
+     * @return inscrições, pela ordem em que foram feitas
+     */
+    List<Enrollment> findWithStudentByCourseIds(Collection<Long> courseIds);
 }
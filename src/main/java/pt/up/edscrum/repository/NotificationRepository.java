@@ -2,8 +2,14 @@ package pt.up.edscrum.repository;
 
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import pt.up.edscrum.dto.NotificationDTO;
 import pt.up.edscrum.model.Notification;
 
 /**
@@ -14,4 +20,42 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     List<Notification> findByUserIdOrderByCreatedAtDesc(Long userId);
 
     List<Notification> findByUserIdAndReadFalseOrderByCreatedAtDesc(Long userId);
+
+    /**
+     * Conta as notificações por ler de um utilizador (resolvido apenas com o
+     * índice (user_id, is_read, created_at)).
+     */
+    long countByUserIdAndReadFalse(Long userId);
+
+    @Query("SELECT new pt.up.edscrum.dto.NotificationDTO(n.id, n.type, n.title, n.message, n.createdAt, n.read) "
+            + "FROM Notification n WHERE n.user.id = :userId "
+            + "ORDER BY n.createdAt DESC, n.id DESC")
+    /**
+     * Primeira página do histórico de notificações de um utilizador (mais
+     * recentes primeiro).
+     */
+    List<NotificationDTO> findFirstPageByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT new pt.up.edscrum.dto.NotificationDTO(n.id, n.type, n.title, n.message, n.createdAt, n.read) "
+            + "FROM Notification n WHERE n.user.id = :userId "
+            + "AND (n.createdAt < (SELECT c.createdAt FROM Notification c WHERE c.id = :beforeId AND c.user.id = :userId) "
+            + "OR (n.createdAt = (SELECT c.createdAt FROM Notification c WHERE c.id = :beforeId AND c.user.id = :userId) AND n.id < :beforeId)) "
+            + "ORDER BY n.createdAt DESC, n.id DESC")
+    /**
+     * Página seguinte do histórico (keyset): notificações estritamente
+     * anteriores à notificação `beforeId`, na mesma ordem de
+     * `findFirstPageByUserId`.
+     */
+    List<NotificationDTO> findPageByUserIdBefore(@Param("userId") Long userId, @Param("beforeId") Long beforeId, Pageable pageable);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.read = true WHERE n.user.id = :userId AND n.read = false")
+    /**
+     * Marca como lidas, numa única instrução, todas as notificações por ler
+     * de um utilizador.
+     *
+     * @return número de notificações alteradas
+     */
+    int markAllAsReadByUserId(@Param("userId") Long userId);
 }
@@ -1,10 +1,14 @@
 package pt.up.edscrum.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
+import pt.up.edscrum.dto.dashboard.ProjectProgressDTO;
+import pt.up.edscrum.dto.dashboard.ProjectWithProgressDTO;
+import pt.up.edscrum.enums.SprintStatus;
 import pt.up.edscrum.model.Project;
 
 /**
@@ -28,4 +32,29 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
      * @return número de projetos
      */
     long countByCourseId(Long courseId);
+
+    @Query("SELECT new pt.up.edscrum.dto.dashboard.ProjectWithProgressDTO(p.id, p.name, p.sprintGoals, p.startDate, p.endDate, p.status, c.id, c.name) "
+            + "FROM Project p LEFT JOIN p.course c WHERE p.id IN :projectIds")
+    /**
+     * Projeção dos dados base de um conjunto de projetos (sem sprints nem
+     * membros).
+     *
+     * @param projectIds ids dos projetos
+     * @return lista de `ProjectWithProgressDTO` parcialmente preenchidos
+     */
+    List<ProjectWithProgressDTO> findProgressViewsByIds(Collection<Long> projectIds);
+
+    @Query("SELECT new pt.up.edscrum.dto.dashboard.ProjectProgressDTO(p.id, p.name, COUNT(s), "
+            + "SUM(CASE WHEN s.status = :doneStatus THEN 1 ELSE 0 END)) "
+            + "FROM Project p LEFT JOIN p.sprints s WHERE p.course.id = :courseId "
+            + "GROUP BY p.id, p.name ORDER BY p.id")
+    /**
+     * Progresso dos projetos de um curso numa única query agregada (sprints
+     * totais vs. concluídos por projeto), sem carregar projetos nem sprints.
+     *
+     * @param courseId id do curso
+     * @param doneStatus estado que conta como sprint concluído
+     * @return lista de `ProjectProgressDTO`
+     */
+    List<ProjectProgressDTO> findProgressByCourseId(Long courseId, SprintStatus doneStatus);
 }
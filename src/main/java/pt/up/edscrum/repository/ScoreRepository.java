@@ -1,12 +1,19 @@
 package pt.up.edscrum.repository;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 import pt.up.edscrum.dto.dashboard.PointHistoryDTO;
 import pt.up.edscrum.dto.dashboard.RankingDTO;
+import pt.up.edscrum.dto.dashboard.RankingRowDTO;
+import pt.up.edscrum.dto.dashboard.RankingExportRowDTO;
+import pt.up.edscrum.dto.dashboard.TeamExportRowDTO;
 import pt.up.edscrum.model.Score;
 import pt.up.edscrum.model.Team;
 import pt.up.edscrum.model.User;
@@ -76,6 +83,176 @@ public interface ScoreRepository extends JpaRepository<Score, Long> {
      */
     List<RankingDTO> getTeamRanking(Long courseId);
 
+    @Query("SELECT new pt.up.edscrum.dto.dashboard.RankingRowDTO(e.course.id, u.id, u.name, COALESCE(s.totalPoints, 0), e.id) "
+            + "FROM Enrollment e JOIN e.student u LEFT JOIN Score s ON s.user = u "
+            + "WHERE e.course.id = :courseId "
+            + "ORDER BY COALESCE(s.totalPoints, 0) DESC, e.id ASC")
+    /**
+     * Obtém o ranking dos estudantes inscritos num curso numa única query
+     * (estudantes sem `Score` contam com 0 pontos; empate desfeito pelo id da
+     * inscrição).
+     *
+     * @param courseId id do curso
+     * @return lista de `RankingRowDTO` ordenada por pontos decrescentes
+     */
+    List<RankingRowDTO> getStudentRankingForCourse(Long courseId);
+
+    @Query("SELECT new pt.up.edscrum.dto.dashboard.RankingRowDTO(e.course.id, u.id, u.name, COALESCE(s.totalPoints, 0), e.id) "
+            + "FROM Enrollment e JOIN e.student u LEFT JOIN Score s ON s.user = u "
+            + "WHERE u.id IN :userIds")
+    /**
+     * Linhas de alguns utilizadores em todos os rankings de curso em que
+     * aparecem (uma por inscrição), para atualizar os rankings em memória.
+     *
+     * @param userIds ids dos utilizadores
+     * @return lista de `RankingRowDTO`
+     */
+    List<RankingRowDTO> findCourseRankingRowsForUsers(Collection<Long> userIds);
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Score s SET s.totalPoints = s.totalPoints + :delta WHERE s.user.id = :userId")
+    /**
+     * Soma atomicamente `delta` pontos ao `Score` de um utilizador, sem ler a
+     * entidade.
+     *
+     * @param userId id do utilizador
+     * @param delta pontos a adicionar
+     * @return número de linhas atualizadas (0 se o utilizador ainda não tiver
+     * `Score`)
+     */
+    int addPointsToUser(Long userId, int delta);
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Score s SET s.totalPoints = s.totalPoints + :delta WHERE s.user.id IN :userIds")
+    /**
+     * Soma atomicamente `delta` pontos aos `Score` de vários utilizadores num
+     * único UPDATE.
+     *
+     * @param userIds ids dos utilizadores
+     * @param delta pontos a adicionar
+     * @return número de linhas atualizadas
+     */
+    int addPointsToUsers(Collection<Long> userIds, int delta);
+
+    @Query("SELECT DISTINCT s.user.id FROM Score s WHERE s.user.id IN :userIds")
+    /**
+     * Dos utilizadores indicados, devolve os que já têm `Score`.
+     *
+     * @param userIds ids dos utilizadores
+     * @return ids com `Score`
+     */
+    List<Long> findUserIdsWithScore(Collection<Long> userIds);
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Score s SET s.totalPoints = s.totalPoints + :delta WHERE s.team.id = :teamId AND s.user IS NULL")
+    /**
+     * Soma atomicamente `delta` pontos ao `Score` agregado de uma equipa.
+     *
+     * @param teamId id da equipa
+     * @param delta pontos a adicionar
+     * @return número de linhas atualizadas (0 se a equipa ainda não tiver
+     * `Score`)
+     */
+    int addPointsToTeam(Long teamId, int delta);
+
+    @Query("SELECT s.user.id FROM Score s WHERE s.user IS NOT NULL ORDER BY s.totalPoints DESC, s.id ASC")
+    /**
+     * Ids dos utilizadores no topo do ranking global. O tamanho do resultado é
+     * limitado pelo `Pageable` (ex: `PageRequest.of(0, 5)` para o Top 5).
+     *
+     * @param pageable limite do top
+     * @return lista de ids ordenada por pontos decrescentes
+     */
+    List<Long> findTopUserIds(Pageable pageable);
+
+    @Query("SELECT new pt.up.edscrum.dto.dashboard.RankingExportRowDTO(u.id, u.name, u.studentTag, u.email, s.totalPoints, s.id) "
+            + "FROM Score s JOIN s.user u "
+            + "WHERE EXISTS (SELECT 1 FROM Enrollment e WHERE e.student = u AND e.course.teacher.id = :teacherId) "
+            + "ORDER BY s.totalPoints DESC, s.id ASC")
+    /**
+     * Primeira página do ranking dos estudantes com `Score` inscritos nos
+     * cursos de um professor (cada estudante aparece uma vez), com os dados
+     * usados na exportação. A ordem (pontos, id do `Score`) segue o índice
+     * `idx_score_points`.
+     *
+     * @param teacherId id do professor
+     * @param pageable tamanho da página
+     * @return lista de `RankingExportRowDTO` ordenada por pontos decrescentes
+     */
+    List<RankingExportRowDTO> findRankingExportFirstPage(Long teacherId, Pageable pageable);
+
+    @Query("SELECT new pt.up.edscrum.dto.dashboard.RankingExportRowDTO(u.id, u.name, u.studentTag, u.email, s.totalPoints, s.id) "
+            + "FROM Score s JOIN s.user u "
+            + "WHERE EXISTS (SELECT 1 FROM Enrollment e WHERE e.student = u AND e.course.teacher.id = :teacherId) "
+            + "AND (s.totalPoints < :afterPoints OR (s.totalPoints = :afterPoints AND s.id > :afterScoreId)) "
+            + "ORDER BY s.totalPoints DESC, s.id ASC")
+    /**
+     * Página seguinte do ranking de exportação (keyset): estudantes com
+     * `Score` estritamente depois de (`afterPoints`, `afterScoreId`), na mesma
+     * ordem de `findRankingExportFirstPage`. Ao contrário de um OFFSET, não
+     * volta a ler as páginas anteriores.
+     *
+     * @param teacherId id do professor
+     * @param afterPoints pontos do último estudante da página anterior
+     * @param afterScoreId id do `Score` do último estudante da página anterior
+     * @param pageable tamanho da página
+     * @return lista de `RankingExportRowDTO` ordenada por pontos decrescentes
+     */
+    List<RankingExportRowDTO> findRankingExportPageAfter(Long teacherId, long afterPoints, Long afterScoreId, Pageable pageable);
+
+    @Query("SELECT new pt.up.edscrum.dto.dashboard.RankingExportRowDTO(u.id, u.name, u.studentTag, u.email, 0) "
+            + "FROM User u "
+            + "WHERE EXISTS (SELECT 1 FROM Enrollment e WHERE e.student = u AND e.course.teacher.id = :teacherId) "
+            + "AND NOT EXISTS (SELECT 1 FROM Score s WHERE s.user = u) "
+            + "AND u.id > :afterId "
+            + "ORDER BY u.id ASC")
+    /**
+     * Página (keyset pelo id) dos estudantes sem `Score` inscritos nos cursos
+     * de um professor, exportados com 0 pontos depois dos que têm `Score`.
+     *
+     * @param teacherId id do professor
+     * @param afterId id do último estudante da página anterior (0 na primeira)
+     * @param pageable tamanho da página
+     * @return lista de `RankingExportRowDTO` ordenada por id
+     */
+    List<RankingExportRowDTO> findUnscoredRankingExportPage(Long teacherId, Long afterId, Pageable pageable);
+
+    @Query("SELECT new pt.up.edscrum.dto.dashboard.TeamExportRowDTO(t.id, t.name, p.name, s.totalPoints) "
+            + "FROM Score s JOIN s.team t JOIN t.project p "
+            + "WHERE s.user IS NULL AND p.course.id = :courseId "
+            + "ORDER BY s.totalPoints DESC")
+    /**
+     * Ranking das equipas de um curso com o nome do projeto, para exportação.
+     *
+     * @param courseId id do curso
+     * @return lista de `TeamExportRowDTO`
+     */
+    List<TeamExportRowDTO> findTeamExportRows(Long courseId);
+
+    @Query("SELECT new pt.up.edscrum.dto.dashboard.RankingRowDTO(u.id, u.name, s.totalPoints, s.id) "
+            + "FROM Score s JOIN s.user u ORDER BY s.totalPoints DESC, s.id ASC")
+    /**
+     * Obtém o ranking global de todos os utilizadores com `Score` (empate
+     * desfeito pelo id do `Score`).
+     *
+     * @return lista de `RankingRowDTO` ordenada por pontos decrescentes
+     */
+    List<RankingRowDTO> getGlobalStudentRanking();
+
+    @Query("SELECT new pt.up.edscrum.dto.dashboard.RankingRowDTO(u.id, u.name, s.totalPoints, s.id) "
+            + "FROM Score s JOIN s.user u WHERE u.id IN :userIds")
+    /**
+     * Linhas de alguns utilizadores no ranking global (utilizadores sem
+     * `Score` são omitidos), para atualizar o ranking em memória.
+     *
+     * @param userIds ids dos utilizadores
+     * @return lista de `RankingRowDTO`
+     */
+    List<RankingRowDTO> findGlobalRankingRowsForUsers(Collection<Long> userIds);
+
     /**
      * Lista todos os `Score` de utilizadores ordenados por pontos decrescentes.
      *
@@ -84,4 +261,40 @@ public interface ScoreRepository extends JpaRepository<Score, Long> {
     List<Score> findAllByUserIsNotNullOrderByTotalPointsDesc();
     
         List<Score> findByTeamId(Long teamId);
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM Score s WHERE s.team.id = :teamId")
+    /**
+     * Apaga num único DELETE todos os `Score` de uma equipa. Não passa pelos
+     * listeners da entidade: quem chama deve invalidar o ranking.
+     *
+     * @param teamId id da equipa
+     * @return número de linhas apagadas
+     */
+    int deleteByTeamId(Long teamId);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE score_seq SET next_val = GREATEST(next_val, "
+            + "(SELECT COALESCE(MAX(s.id), 0) + " + Score.ID_ALLOCATION + " + 1 FROM score s))", nativeQuery = true)
+    /**
+     * Avança a sequência de ids para lá do maior id existente (bases de dados
+     * em que os `Score` foram criados com AUTO_INCREMENT).
+     *
+     * @return número de linhas atualizadas
+     */
+    int alignIdSequence();
+
+    @Query("SELECT new pt.up.edscrum.dto.dashboard.RankingDTO(u.id, u.name, COALESCE(s.totalPoints, 0)) "
+            + "FROM Enrollment e JOIN e.student u LEFT JOIN Score s ON s.user = u "
+            + "WHERE e.course.id IN :courseIds")
+    /**
+     * Pontos dos estudantes inscritos num conjunto de cursos (uma linha por
+     * inscrição e `Score`; estudantes sem `Score` contam com 0 pontos).
+     *
+     * @param courseIds ids dos cursos
+     * @return linhas de ranking, sem ordem definida
+     */
+    List<RankingDTO> getStudentRankingRowsForCourses(Collection<Long> courseIds);
 }
@@ -1,9 +1,15 @@
 package pt.up.edscrum.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import pt.up.edscrum.dto.dashboard.SprintWithProgressDTO;
+import pt.up.edscrum.enums.UserStoryStatus;
 import pt.up.edscrum.model.Sprint;
 
 /**
@@ -26,4 +32,79 @@ public interface SprintRepository extends JpaRepository<Sprint, Long> {
      * @return lista de `Sprint`
      */
     List<Sprint> findByCreatedById(Long createdById);
+
+    @Query("SELECT new pt.up.edscrum.dto.dashboard.SprintWithProgressDTO(s.id, s.name, s.description, s.startDate, s.endDate, s.status, s.project.id) "
+            + "FROM Sprint s WHERE s.project.id IN :projectIds ORDER BY s.id")
+    /**
+     * Projeção dos sprints de um conjunto de projetos (sem progresso, que é
+     * calculado à parte).
+     *
+     * @param projectIds ids dos projetos
+     * @return lista de `SprintWithProgressDTO` ordenada por id
+     */
+    List<SprintWithProgressDTO> findProgressViewsByProjectIds(Collection<Long> projectIds);
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Sprint s SET s.todoCount = s.todoCount + :todo, s.inProgressCount = s.inProgressCount + :inProgress, "
+            + "s.testingCount = s.testingCount + :testing, s.doneCount = s.doneCount + :done WHERE s.id = :sprintId")
+    /**
+     * Soma deltas aos contadores de user stories de um sprint numa única
+     * instrução (sem perder atualizações concorrentes). O contexto de
+     * persistência não é limpo: um `Sprint` já carregado mantém os contadores
+     * antigos até ser lido de novo, mas como as colunas não são atualizáveis
+     * pelo Hibernate, gravá-lo não desfaz os deltas.
+     *
+     * @param sprintId id do sprint
+     * @param todo delta de TODO
+     * @param inProgress delta de IN_PROGRESS
+     * @param testing delta de TESTING
+     * @param done delta de DONE
+     * @return número de sprints atualizados
+     */
+    int adjustStoryCounters(Long sprintId, int todo, int inProgress, int testing, int done);
+
+    /**
+     * Atualiza os contadores de um sprint quando uma user story muda de
+     * estado, é criada (`from` nulo) ou removida (`to` nulo).
+     *
+     * @param sprintId id do sprint (ignorado se nulo)
+     * @param from estado anterior
+     * @param to novo estado
+     */
+    default void moveStoryStatus(Long sprintId, UserStoryStatus from, UserStoryStatus to) {
+        if (sprintId == null || from == to) {
+            return;
+        }
+        adjustStoryCounters(sprintId,
+                delta(UserStoryStatus.TODO, from, to),
+                delta(UserStoryStatus.IN_PROGRESS, from, to),
+                delta(UserStoryStatus.TESTING, from, to),
+                delta(UserStoryStatus.DONE, from, to));
+    }
+
+    private static int delta(UserStoryStatus status, UserStoryStatus from, UserStoryStatus to) {
+        return (to == status ? 1 : 0) - (from == status ? 1 : 0);
+    }
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Sprint s SET "
+            + "s.todoCount = (SELECT COUNT(us) FROM UserStory us WHERE us.sprint = s AND us.status = pt.up.edscrum.enums.UserStoryStatus.TODO), "
+            + "s.inProgressCount = (SELECT COUNT(us) FROM UserStory us WHERE us.sprint = s AND us.status = pt.up.edscrum.enums.UserStoryStatus.IN_PROGRESS), "
+            + "s.testingCount = (SELECT COUNT(us) FROM UserStory us WHERE us.sprint = s AND us.status = pt.up.edscrum.enums.UserStoryStatus.TESTING), "
+            + "s.doneCount = (SELECT COUNT(us) FROM UserStory us WHERE us.sprint = s AND us.status = pt.up.edscrum.enums.UserStoryStatus.DONE) "
+            + "WHERE s.todoCount + s.inProgressCount + s.testingCount + s.doneCount = 0 "
+            + "AND EXISTS (SELECT us.id FROM UserStory us WHERE us.sprint = s)")
+    /**
+     * Migração única dos contadores: preenche-os, a partir das user stories,
+     * nos sprints que têm user stories mas contadores ainda a zero (criados
+     * antes de as colunas existirem). Depois da primeira execução não há
+     * sprints nessas condições e nada é reescrito. Não corrige outros
+     * desvios: as escritas de user stories têm de passar por
+     * `moveStoryStatus`.
+     *
+     * @return número de sprints preenchidos
+     */
+    int backfillStoryCounters();
 }
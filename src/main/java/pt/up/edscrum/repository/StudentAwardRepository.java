@@ -1,11 +1,15 @@
 package pt.up.edscrum.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 import pt.up.edscrum.dto.dashboard.AwardStatsDTO;
+import pt.up.edscrum.dto.dashboard.MemberAwardStatsDTO;
 import pt.up.edscrum.dto.dashboard.StudentDashboardDTO.AwardDisplayDTO;
 import pt.up.edscrum.model.StudentAward;
 
@@ -13,7 +17,7 @@ import pt.up.edscrum.model.StudentAward;
  * Repositório para operações relacionadas com prémios atribuídos a
  * estudantes (`StudentAward`).
  */
-public interface StudentAwardRepository extends JpaRepository<StudentAward, Long> {
+public interface StudentAwardRepository extends JpaRepository<StudentAward, Long>, StudentAwardRepositoryCustom {
 
     @Query("SELECT new pt.up.edscrum.dto.dashboard.AwardStatsDTO(sa.award.name, COUNT(sa)) "
             + "FROM StudentAward sa WHERE sa.award.id = :courseId GROUP BY sa.award.name")
@@ -64,6 +68,28 @@ public interface StudentAwardRepository extends JpaRepository<StudentAward, Long
      */
     boolean existsByStudentIdAndAwardIdAndProjectId(Long studentId, Long awardId, Long projectId);
 
+    /**
+     * Verifica se um estudante já recebeu um prémio específico sem projeto.
+     *
+     * @param studentId id do estudante
+     * @param awardId id do prémio
+     * @return true se existir, false caso contrário
+     */
+    boolean existsByStudentIdAndAwardIdAndProjectIsNull(Long studentId, Long awardId);
+
+    @Query("SELECT sa.student.id FROM StudentAward sa "
+            + "WHERE sa.award.id = :awardId AND sa.projectKey = :projectKey AND sa.student.id IN :studentIds")
+    /**
+     * Dos estudantes indicados, devolve os que já têm o prémio no projeto
+     * (`projectKey` é o id do projeto, ou 0 para atribuições sem projeto).
+     *
+     * @param awardId id do prémio
+     * @param projectKey id do projeto ou 0
+     * @param studentIds ids dos estudantes
+     * @return ids dos estudantes que já têm o prémio
+     */
+    List<Long> findStudentIdsWithAward(Long awardId, Long projectKey, Collection<Long> studentIds);
+
     /**
      * Lista as atribuições de prémios de um estudante num projeto.
      *
@@ -99,4 +125,59 @@ public interface StudentAwardRepository extends JpaRepository<StudentAward, Long
      * @return número de prémios do estudante no projeto
      */
     long countByStudentIdAndProjectId(Long studentId, Long projectId);
+
+    /**
+     * Agrega, numa única query, o número de prémios e a soma de pontos de cada
+     * estudante em cada um dos projetos indicados.
+     *
+     * @param projectIds ids dos projetos
+     * @return lista de `MemberAwardStatsDTO` (um por par projeto/estudante)
+     */
+    @Query("SELECT new pt.up.edscrum.dto.dashboard.MemberAwardStatsDTO(sa.project.id, sa.student.id, COUNT(sa), SUM(sa.pointsEarned)) "
+            + "FROM StudentAward sa WHERE sa.project.id IN :projectIds "
+            + "GROUP BY sa.project.id, sa.student.id")
+    List<MemberAwardStatsDTO> summarizeByProjectIds(Collection<Long> projectIds);
+
+    /**
+     * Agrega, numa única query, o número de prémios e a soma de pontos de
+     * cada estudante num projeto.
+     *
+     * @param projectId id do projeto
+     * @return lista de `MemberAwardStatsDTO` (um por estudante com prémios)
+     */
+    @Query("SELECT new pt.up.edscrum.dto.dashboard.MemberAwardStatsDTO(sa.project.id, sa.student.id, COUNT(sa), SUM(sa.pointsEarned)) "
+            + "FROM StudentAward sa WHERE sa.project.id = :projectId "
+            + "GROUP BY sa.project.id, sa.student.id")
+    List<MemberAwardStatsDTO> summarizeByProjectId(Long projectId);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM student_award WHERE id IN (SELECT id FROM ("
+            + "SELECT sa.id FROM student_award sa JOIN student_award kept "
+            + "ON kept.student_id = sa.student_id AND kept.award_id = sa.award_id "
+            + "AND COALESCE(kept.project_id, 0) = COALESCE(sa.project_id, 0) AND kept.id < sa.id) duplicates)",
+            nativeQuery = true)
+    /**
+     * Apaga as atribuições repetidas (mesmo estudante, prémio e projeto),
+     * mantendo a mais antiga de cada. Necessário em bases de dados criadas
+     * antes da restrição `uk_student_award_project`: com duplicados o
+     * `ddl-auto=update` não a consegue criar (regista o erro e continua) e
+     * só a cria no arranque seguinte à limpeza. Os pontos já somados no
+     * `Score` não são alterados.
+     *
+     * @return número de atribuições apagadas
+     */
+    int deleteDuplicates();
+
+    @Query(value = "SELECT COUNT(*) FROM information_schema.table_constraints "
+            + "WHERE table_schema = SCHEMA() AND LOWER(constraint_name) = 'uk_student_award_project'",
+            nativeQuery = true)
+    /**
+     * Indica se a restrição `uk_student_award_project` já existe na base de
+     * dados; a partir daí não pode haver duplicados e `deleteDuplicates`
+     * deixa de ser necessário.
+     *
+     * @return número de restrições com esse nome no schema atual (0 ou 1)
+     */
+    long countUniqueProjectConstraints();
 }
@@ -0,0 +1,37 @@
+package pt.up.edscrum.repository;
+
+import java.util.Collection;
+
+/**
+ * Operações de `StudentAwardRepository` implementadas à mão
+ * (`StudentAwardRepositoryImpl`).
+ */
+public interface StudentAwardRepositoryCustom {
+
+    /**
+     * Atribui um prémio a um estudante apenas se ainda não o tiver no mesmo
+     * projeto (ou sem projeto), com um único `INSERT IGNORE`: a restrição
+     * `uk_student_award_project` rejeita o duplicado sem erro, mesmo com
+     * pedidos concorrentes, pelo que a transação de quem chama nunca fica
+     * marcada para rollback. O número de linhas inseridas diz se a
+     * atribuição foi criada.
+     *
+     * @param studentId id do estudante
+     * @param awardId id do prémio
+     * @param projectId id do projeto (pode ser null)
+     * @param pointsEarned pontos ganhos
+     * @return true se a atribuição foi criada, false se já existia
+     */
+    boolean insertIfAbsent(Long studentId, Long awardId, Long projectId, int pointsEarned);
+
+    /**
+     * Insere, num único batch JDBC, a atribuição de um prémio a vários
+     * estudantes. Quem chama garante que nenhum deles já o tem.
+     *
+     * @param awardId id do prémio
+     * @param projectId id do projeto (pode ser null)
+     * @param pointsEarned pontos ganhos
+     * @param studentIds ids dos estudantes
+     */
+    void insertAll(Long awardId, Long projectId, int pointsEarned, Collection<Long> studentIds);
+}
@@ -0,0 +1,71 @@
+package pt.up.edscrum.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.util.Collection;
+
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import pt.up.edscrum.model.StudentAward;
+
+/**
+ * Implementação das operações de `StudentAwardRepositoryCustom`.
+ */
+public class StudentAwardRepositoryImpl implements StudentAwardRepositoryCustom {
+
+    private static final String INSERT_IF_ABSENT
+            = "INSERT IGNORE INTO student_award (student_id, award_id, project_id, points_earned) "
+            + "VALUES (:studentId, :awardId, :projectId, :points)";
+
+    private static final String INSERT
+            = "INSERT INTO student_award (student_id, award_id, project_id, points_earned) VALUES (?, ?, ?, ?)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public boolean insertIfAbsent(Long studentId, Long awardId, Long projectId, int pointsEarned) {
+        // Grava antes o que estiver pendente (estudante, prémio, projeto) por causa das chaves estrangeiras
+        entityManager.flush();
+        int inserted = entityManager.createNativeQuery(INSERT_IF_ABSENT)
+                .unwrap(NativeQuery.class)
+                // Só invalida StudentAward na cache de segundo nível, não todas as regiões
+                .addSynchronizedEntityClass(StudentAward.class)
+                .setParameter("studentId", studentId)
+                .setParameter("awardId", awardId)
+                .setParameter("projectId", projectId, Long.class)
+                .setParameter("points", pointsEarned)
+                .executeUpdate();
+        return inserted > 0;
+    }
+
+    @Override
+    @Transactional
+    public void insertAll(Long awardId, Long projectId, int pointsEarned, Collection<Long> studentIds) {
+        if (studentIds.isEmpty()) {
+            return;
+        }
+        entityManager.flush();
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT)) {
+                for (Long studentId : studentIds) {
+                    ps.setLong(1, studentId);
+                    ps.setLong(2, awardId);
+                    if (projectId != null) {
+                        ps.setLong(3, projectId);
+                    } else {
+                        ps.setNull(3, Types.BIGINT);
+                    }
+                    ps.setInt(4, pointsEarned);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        });
+    }
+}
@@ -4,6 +4,9 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 import pt.up.edscrum.model.TeamAward;
 
@@ -21,6 +24,18 @@ public interface TeamAwardRepository extends JpaRepository<TeamAward, Long> {
     List<TeamAward> findByTeamId(Long teamId);
 
     List<TeamAward> findAllByTeamId(Long teamId);
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM TeamAward ta WHERE ta.team.id = :teamId")
+    /**
+     * Apaga num único DELETE todas as atribuições de prémios de uma equipa.
+     *
+     * @param teamId id da equipa
+     * @return número de linhas apagadas
+     */
+    int deleteByTeamId(Long teamId);
+
     /**
      * Procura um `TeamAward` por equipa, prémio e projeto.
      *
@@ -41,6 +56,15 @@ public interface TeamAwardRepository extends JpaRepository<TeamAward, Long> {
      */
     boolean existsByTeamIdAndAwardIdAndProjectId(Long teamId, Long awardId, Long projectId);
 
+    /**
+     * Verifica se já existe uma atribuição do prémio à equipa sem projeto.
+     *
+     * @param teamId id da equipa
+     * @param awardId id do prémio
+     * @return true se existir, false caso contrário
+     */
+    boolean existsByTeamIdAndAwardIdAndProjectIsNull(Long teamId, Long awardId);
+
     /**
      * Lista todas as atribuições de prémios de uma equipa num projeto.
      *
@@ -0,0 +1,60 @@
+package pt.up.edscrum.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import pt.up.edscrum.model.TeamMembership;
+
+@Repository
+/**
+ * Repositório da projeção `TeamMembership`. As linhas são mantidas pelo
+ * `TeamMembershipSync`; aqui existem apenas leituras e a reconstrução
+ * completa.
+ */
+public interface TeamMembershipRepository extends JpaRepository<TeamMembership, Long> {
+
+    /**
+     * Linhas de uma equipa.
+     *
+     * @param teamId id da equipa
+     * @return lista de `TeamMembership`
+     */
+    List<TeamMembership> findByTeamId(Long teamId);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM team_membership", nativeQuery = true)
+    void deleteAllRows();
+
+    @Modifying
+    @Query(value = "INSERT INTO team_membership (team_id, user_id, role, course_id) "
+            + "SELECT t.id, t.scrum_master_id, 'SCRUM_MASTER', t.course_id FROM team t WHERE t.scrum_master_id IS NOT NULL", nativeQuery = true)
+    void insertScrumMasters();
+
+    @Modifying
+    @Query(value = "INSERT INTO team_membership (team_id, user_id, role, course_id) "
+            + "SELECT t.id, t.product_owner_id, 'PRODUCT_OWNER', t.course_id FROM team t WHERE t.product_owner_id IS NOT NULL", nativeQuery = true)
+    void insertProductOwners();
+
+    @Modifying(clearAutomatically = true)
+    @Query(value = "INSERT INTO team_membership (team_id, user_id, role, course_id) "
+            + "SELECT DISTINCT t.id, td.user_id, 'DEVELOPER', t.course_id FROM team t JOIN team_developers td ON td.team_id = t.id", nativeQuery = true)
+    void insertDevelopers();
+
+    /**
+     * Reconstrói toda a tabela a partir das equipas: preenche-a em bases de
+     * dados criadas antes de existir e corrige os desvios deixados por
+     * escritas em massa que não passam pelo `TeamMembershipSync`.
+     */
+    @Transactional
+    default void rebuild() {
+        deleteAllRows();
+        insertScrumMasters();
+        insertProductOwners();
+        insertDevelopers();
+    }
+}
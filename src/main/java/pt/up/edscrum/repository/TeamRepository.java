@@ -1,28 +1,75 @@
 package pt.up.edscrum.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import pt.up.edscrum.dto.dashboard.CourseUserRowDTO;
+import pt.up.edscrum.dto.dashboard.IdNameRowDTO;
+import pt.up.edscrum.dto.dashboard.ProjectMemberRowDTO;
+import pt.up.edscrum.dto.dashboard.StudentTeamRowDTO;
 import pt.up.edscrum.model.Team;
 
 @Repository
 /**
- * Repositório para operações sobre `Team` (equipas).
+ * Repositório para operações sobre `Team` (equipas). As associações da
+ * equipa são LAZY: os métodos que devolvem entidades indicam com
+ * `@EntityGraph` o grafo (`Team.GRAPH_*`) que os seus chamadores usam.
  */
 public interface TeamRepository extends JpaRepository<Team, Long> {
 
+    /**
+     * Todas as equipas, com todas as associações (a API serializa-as).
+     *
+     * @return lista de `Team`
+     */
+    @Override
+    @EntityGraph(Team.GRAPH_FULL)
+    List<Team> findAll();
+
+    /**
+     * Equipa com todas as associações carregadas numa única query (a API
+     * serializa-as).
+     *
+     * @param id id da equipa
+     * @return Optional com a `Team`
+     */
+    @EntityGraph(Team.GRAPH_FULL)
+    Optional<Team> findFullById(Long id);
+
+    /**
+     * Equipa com SM, PO e developers carregados numa única query.
+     *
+     * @param id id da equipa
+     * @return Optional com a `Team`
+     */
+    @EntityGraph(Team.GRAPH_WITH_MEMBERS)
+    Optional<Team> findWithMembersById(Long id);
+
+    /**
+     * Verifica se um utilizador é Product Owner de alguma equipa do projeto.
+     *
+     * @param projectId id do projeto
+     * @param productOwnerId id do utilizador
+     * @return true se for PO de uma equipa do projeto
+     */
+    boolean existsByProjectIdAndProductOwnerId(Long projectId, Long productOwnerId);
+
     @Query("SELECT COUNT(t) FROM Team t WHERE t.course.id = :courseId")
     long countByCourseId(@Param("courseId") Long courseId);
 
-    @Query("SELECT t FROM Team t LEFT JOIN t.developers d WHERE d.id = :userId OR t.scrumMaster.id = :userId OR t.productOwner.id = :userId")
+    @EntityGraph(Team.GRAPH_SUMMARY)
+    @Query("SELECT t FROM Team t WHERE t.id IN "
+            + "(SELECT m.team.id FROM TeamMembership m WHERE m.user.id = :userId) ORDER BY t.id")
     /**
      * Encontra todas as equipas onde um utilizador participa (como SM, PO ou
-     * Dev).
+     * Dev), através da tabela `team_membership`.
      *
      * @param userId id do utilizador
      * @return lista de `Team` onde o utilizador participa
@@ -38,10 +85,8 @@ public interface TeamRepository extends JpaRepository<Team, Long> {
      */
     List<Team> findAvailableTeamsByCourse(@Param("courseId") Long courseId);
 
-    @Query("SELECT COUNT(t) FROM Team t "
-            + "LEFT JOIN t.developers d "
-            + "WHERE t.course.id = :courseId "
-            + "AND (d.id = :userId OR t.scrumMaster.id = :userId OR t.productOwner.id = :userId)")
+    @Query("SELECT COUNT(DISTINCT m.team.id) FROM TeamMembership m "
+            + "WHERE m.user.id = :userId AND m.course.id = :courseId")
     /**
      * Conta quantas equipas de um curso incluem um dado estudante.
      *
@@ -51,18 +96,50 @@ public interface TeamRepository extends JpaRepository<Team, Long> {
      */
     long countStudentTeamsInCourse(@Param("userId") Long userId, @Param("courseId") Long courseId);
 
+    @Query("SELECT DISTINCT m.user.id FROM TeamMembership m "
+            + "WHERE m.course.id = :courseId AND m.user.id IN :userIds")
+    /**
+     * De um conjunto de utilizadores, os que já pertencem a uma equipa do
+     * curso (uma única query, para validar vários membros de uma vez).
+     *
+     * @param courseId id do curso
+     * @param userIds ids dos utilizadores
+     * @return ids dos utilizadores já em equipa no curso
+     */
+    List<Long> findTeamedUserIdsInCourse(@Param("courseId") Long courseId, @Param("userIds") Collection<Long> userIds);
+
+    @Query("SELECT DISTINCT new pt.up.edscrum.dto.dashboard.CourseUserRowDTO(m.course.id, m.user.id) "
+            + "FROM TeamMembership m WHERE m.course IS NOT NULL AND m.user.role = 'STUDENT'")
+    /**
+     * Pares (curso, estudante) de todos os estudantes que pertencem a uma
+     * equipa, sem carregar equipas nem membros.
+     *
+     * @return lista de `CourseUserRowDTO`
+     */
+    List<CourseUserRowDTO> findTeamedStudentRows();
+
+    @Query("SELECT DISTINCT m.user.id FROM TeamMembership m "
+            + "WHERE m.course.id = :courseId AND m.user.role = 'STUDENT'")
+    /**
+     * Ids dos estudantes que pertencem a uma equipa de um curso.
+     *
+     * @param courseId id do curso
+     * @return ids dos estudantes
+     */
+    List<Long> findTeamedStudentIdsByCourseId(@Param("courseId") Long courseId);
+
     /**
-     * Encontra equipes por id de curso.
+     * Encontra equipes por id de curso, com todas as associações (membros
+     * para as vagas e a pertença, curso e projeto para a API).
      *
      * @param courseId id do curso
      * @return lista de equipas pertencentes ao curso
      */
+    @EntityGraph(Team.GRAPH_FULL)
     List<Team> findByCourseId(Long courseId);
 
-    @Query("SELECT t FROM Team t "
-            + "LEFT JOIN t.developers d "
-            + "WHERE t.course.id = :courseId "
-            + "AND (d.id = :userId OR t.scrumMaster.id = :userId OR t.productOwner.id = :userId)")
+    @Query("SELECT t FROM Team t WHERE t.id IN "
+            + "(SELECT m.team.id FROM TeamMembership m WHERE m.user.id = :userId AND m.course.id = :courseId)")
     /**
      * Encontra a equipa de um dado curso onde o utilizador participa (se
      * existir).
@@ -72,4 +149,122 @@ public interface TeamRepository extends JpaRepository<Team, Long> {
      * @return Optional contendo a `Team` se encontrada
      */
     Optional<Team> findTeamByCourseAndUser(@Param("courseId") Long courseId, @Param("userId") Long userId);
+
+    @Query("SELECT new pt.up.edscrum.dto.dashboard.StudentTeamRowDTO(t.id, t.name, c.id, p.id, sm.id, po.id) "
+            + "FROM Team t JOIN t.course c LEFT JOIN t.project p "
+            + "LEFT JOIN t.scrumMaster sm LEFT JOIN t.productOwner po "
+            + "WHERE t.id IN (SELECT m.team.id FROM TeamMembership m WHERE m.user.id = :userId) "
+            + "ORDER BY t.id")
+    /**
+     * Projeção das equipas onde um utilizador participa, sem carregar as
+     * entidades `Team` nem as suas associações.
+     *
+     * @param userId id do utilizador
+     * @return lista de `StudentTeamRowDTO` ordenada por id de equipa
+     */
+    List<StudentTeamRowDTO> findTeamRowsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT new pt.up.edscrum.dto.dashboard.ProjectMemberRowDTO(p.id, t.id, u.id, u.name, u.role, 'Product Owner') "
+            + "FROM Team t JOIN t.project p JOIN t.productOwner u "
+            + "WHERE p.id IN :projectIds")
+    /**
+     * Product Owners das equipas de um conjunto de projetos.
+     *
+     * @param projectIds ids dos projetos
+     * @return lista de `ProjectMemberRowDTO`
+     */
+    List<ProjectMemberRowDTO> findProductOwnerRowsByProjectIds(@Param("projectIds") Collection<Long> projectIds);
+
+    @Query("SELECT new pt.up.edscrum.dto.dashboard.ProjectMemberRowDTO(p.id, t.id, u.id, u.name, u.role, 'Scrum Master') "
+            + "FROM Team t JOIN t.project p JOIN t.scrumMaster u "
+            + "WHERE p.id IN :projectIds")
+    /**
+     * Scrum Masters das equipas de um conjunto de projetos.
+     *
+     * @param projectIds ids dos projetos
+     * @return lista de `ProjectMemberRowDTO`
+     */
+    List<ProjectMemberRowDTO> findScrumMasterRowsByProjectIds(@Param("projectIds") Collection<Long> projectIds);
+
+    @Query("SELECT new pt.up.edscrum.dto.dashboard.ProjectMemberRowDTO(p.id, t.id, u.id, u.name, u.role, 'Developer') "
+            + "FROM Team t JOIN t.project p JOIN t.developers u "
+            + "WHERE p.id IN :projectIds")
+    /**
+     * Developers das equipas de um conjunto de projetos.
+     *
+     * @param projectIds ids dos projetos
+     * @return lista de `ProjectMemberRowDTO`
+     */
+    List<ProjectMemberRowDTO> findDeveloperRowsByProjectIds(@Param("projectIds") Collection<Long> projectIds);
+
+    @Query("SELECT new pt.up.edscrum.dto.dashboard.IdNameRowDTO(m.user.id, t.name) "
+            + "FROM TeamMembership m JOIN m.team t "
+            + "WHERE t.course.teacher.id = :teacherId AND m.user.id IN :userIds "
+            + "GROUP BY m.user.id, t.id, t.name "
+            + "ORDER BY t.id")
+    /**
+     * Pares (utilizador, nome da equipa) das equipas dos cursos de um
+     * professor, para um conjunto de utilizadores.
+     *
+     * @param teacherId id do professor
+     * @param userIds ids dos utilizadores
+     * @return lista de `IdNameRowDTO` com id do utilizador e nome da equipa
+     */
+    List<IdNameRowDTO> findTeamNameRowsByTeacherId(@Param("teacherId") Long teacherId, @Param("userIds") Collection<Long> userIds);
+
+    @Query("SELECT new pt.up.edscrum.dto.dashboard.IdNameRowDTO(t.id, u.name) "
+            + "FROM Team t JOIN t.scrumMaster u WHERE t.id IN :teamIds")
+    /**
+     * Nomes dos Scrum Masters de um conjunto de equipas.
+     *
+     * @param teamIds ids das equipas
+     * @return lista de `IdNameRowDTO` com id da equipa e nome do membro
+     */
+    List<IdNameRowDTO> findScrumMasterNamesByTeamIds(@Param("teamIds") Collection<Long> teamIds);
+
+    @Query("SELECT new pt.up.edscrum.dto.dashboard.IdNameRowDTO(t.id, u.name) "
+            + "FROM Team t JOIN t.productOwner u WHERE t.id IN :teamIds")
+    /**
+     * Nomes dos Product Owners de um conjunto de equipas.
+     *
+     * @param teamIds ids das equipas
+     * @return lista de `IdNameRowDTO` com id da equipa e nome do membro
+     */
+    List<IdNameRowDTO> findProductOwnerNamesByTeamIds(@Param("teamIds") Collection<Long> teamIds);
+
+    @Query("SELECT new pt.up.edscrum.dto.dashboard.IdNameRowDTO(t.id, u.name) "
+            + "FROM Team t JOIN t.developers u WHERE t.id IN :teamIds")
+    /**
+     * Nomes dos Developers de um conjunto de equipas.
+     *
+     * @param teamIds ids das equipas
+     * @return lista de `IdNameRowDTO` com id da equipa e nome do membro
+     */
+    List<IdNameRowDTO> findDeveloperNamesByTeamIds(@Param("teamIds") Collection<Long> teamIds);
+
+    @Query("SELECT DISTINCT t FROM Team t "
+            + "LEFT JOIN FETCH t.scrumMaster LEFT JOIN FETCH t.productOwner "
+            + "LEFT JOIN FETCH t.project LEFT JOIN FETCH t.developers "
+            + "WHERE t.course.id IN :courseIds ORDER BY t.id")
+    /**
+     * Equipas de um conjunto de cursos com SM, PO, projeto e developers já
+     * carregados (uma única query).
+     *
+     * @param courseIds ids dos cursos
+     * @return equipas dos cursos, por id
+     */
+    List<Team> findByCourseIdsWithMembers(@Param("courseIds") Collection<Long> courseIds);
+
+    @Query("SELECT DISTINCT t FROM Team t "
+            + "LEFT JOIN FETCH t.scrumMaster LEFT JOIN FETCH t.productOwner "
+            + "LEFT JOIN FETCH t.developers "
+            + "WHERE t.id IN :teamIds ORDER BY t.id")
+    /**
+     * Equipas indicadas com SM, PO e developers já carregados (uma única
+     * query).
+     *
+     * @param teamIds ids das equipas
+     * @return equipas, por id
+     */
+    List<Team> findByIdsWithMembers(@Param("teamIds") Collection<Long> teamIds);
 }
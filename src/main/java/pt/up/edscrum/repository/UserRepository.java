@@ -1,11 +1,15 @@
 package pt.up.edscrum.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import pt.up.edscrum.dto.UserAwardCountersDTO;
+import pt.up.edscrum.dto.UserImageDTO;
 import pt.up.edscrum.model.User;
 
 @Repository
@@ -13,7 +17,7 @@ import pt.up.edscrum.model.User;
  * Repositório para consultas sobre `User` (procura por email, role, reset
  * code, etc.).
  */
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
 
     /**
      * Procura um utilizador por email.
@@ -23,6 +27,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     Optional<User> findByEmail(String email);
 
+    /**
+     * Procura os utilizadores com qualquer um dos emails indicados.
+     *
+     * @param emails emails a procurar
+     * @return utilizadores encontrados
+     */
+    List<User> findByEmailIn(Collection<String> emails);
+
     /**
      * Busca utilizadores por papel (ex.: "STUDENT" ou "TEACHER").
      *
@@ -39,4 +51,33 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return Optional contendo o User se o código existir
      */
     Optional<User> findByResetCode(String resetCode);
+
+    @Query("SELECT new pt.up.edscrum.dto.UserImageDTO(u.id, u.profileImage) FROM User u WHERE u.id IN :ids")
+    /**
+     * Obtém apenas id e imagem de perfil de um conjunto de utilizadores, sem
+     * carregar as entidades.
+     *
+     * @param ids ids dos utilizadores
+     * @return lista de `UserImageDTO` (utilizadores inexistentes são omitidos)
+     */
+    List<UserImageDTO> findProfileImagesByIds(Collection<Long> ids);
+
+    @Query("SELECT new pt.up.edscrum.dto.UserAwardCountersDTO(u.id, u.role, "
+            + "(SELECT COUNT(s) FROM Sprint s WHERE s.createdBy.id = u.id), "
+            + "(SELECT COUNT(e) FROM Enrollment e WHERE e.student.id = u.id), "
+            + "(SELECT COUNT(DISTINCT m.team.id) FROM TeamMembership m WHERE m.user.id = u.id), "
+            + "(SELECT COUNT(DISTINCT mp.team.project.id) FROM TeamMembership mp "
+            + "WHERE mp.user.id = u.id AND mp.team.project IS NOT NULL), "
+            + "(SELECT COUNT(po) FROM TeamMembership po WHERE po.user.id = u.id "
+            + "AND po.role = pt.up.edscrum.enums.TeamRole.PRODUCT_OWNER)) "
+            + "FROM User u WHERE u.id IN :ids")
+    /**
+     * Calcula numa única query os contadores de atividade (sprints criados,
+     * inscrições, equipas, projetos distintos) que as regras de prémios
+     * automáticos avaliam, para um conjunto de utilizadores.
+     *
+     * @param ids ids dos utilizadores
+     * @return lista de `UserAwardCountersDTO` (utilizadores inexistentes são omitidos)
+     */
+    List<UserAwardCountersDTO> findAwardCounters(Collection<Long> ids);
 }
@@ -0,0 +1,31 @@
+package pt.up.edscrum.repository;
+
+import java.util.List;
+
+import pt.up.edscrum.dto.UserDirectoryDTO;
+
+/**
+ * Operações de `UserRepository` implementadas à mão
+ * (`UserRepositoryImpl`).
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * Página do diretório de utilizadores, ordenada por nome e id (keyset).
+     * A query é montada só com os filtros indicados (sem `:x IS NULL OR`).
+     * Com `prefix`, cada coluna pesquisada é uma query própria em vez de um
+     * OR: o nome usa `idx_user_name` e o email o seu índice único; o id só é
+     * pesquisado quando a pesquisa parece uma tag. Os candidatos (no máximo
+     * `limit` por coluna) são depois ordenados numa última query por id.
+     *
+     * @param role papel (ou null)
+     * @param courseId curso em que o utilizador está inscrito (ou null)
+     * @param prefix padrão LIKE para nome/email, já escapado (ou null)
+     * @param idPrefix padrão LIKE para o id, quando a pesquisa parece uma tag (ou null)
+     * @param afterId último utilizador da página anterior (ou null)
+     * @param limit número máximo de linhas
+     * @return lista de `UserDirectoryDTO`
+     */
+    List<UserDirectoryDTO> findDirectoryPage(String role, Long courseId, String prefix, String idPrefix,
+            Long afterId, int limit);
+}
@@ -0,0 +1,97 @@
+package pt.up.edscrum.repository;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import pt.up.edscrum.dto.UserDirectoryDTO;
+
+/**
+ * Implementação das operações de `UserRepositoryCustom`.
+ */
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    private static final String SELECT_DIRECTORY
+            = "SELECT new pt.up.edscrum.dto.UserDirectoryDTO(u.id, u.name, u.email, u.role) FROM User u WHERE 1 = 1";
+
+    private static final String ORDER_BY = " ORDER BY u.name, u.id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<UserDirectoryDTO> findDirectoryPage(String role, Long courseId, String prefix, String idPrefix,
+            Long afterId, int limit) {
+        String afterName = null;
+        if (afterId != null) {
+            List<String> names = entityManager
+                    .createQuery("SELECT u.name FROM User u WHERE u.id = :afterId", String.class)
+                    .setParameter("afterId", afterId)
+                    .getResultList();
+            if (names.isEmpty()) {
+                return List.of();
+            }
+            afterName = names.get(0);
+        }
+
+        Map<String, Object> params = new LinkedHashMap<>();
+        StringBuilder filter = new StringBuilder();
+        if (role != null) {
+            filter.append(" AND u.role = :role");
+            params.put("role", role);
+        }
+        if (courseId != null) {
+            filter.append(" AND EXISTS (SELECT e.id FROM Enrollment e WHERE e.student.id = u.id AND e.course.id = :courseId)");
+            params.put("courseId", courseId);
+        }
+        if (afterId != null) {
+            if (afterName != null) {
+                filter.append(" AND (u.name > :afterName OR (u.name = :afterName AND u.id > :afterId))");
+                params.put("afterName", afterName);
+            } else {
+                // Nomes a null ficam no início da ordenação
+                filter.append(" AND (u.name IS NOT NULL OR u.id > :afterId)");
+            }
+            params.put("afterId", afterId);
+        }
+
+        if (prefix == null) {
+            return directoryQuery(filter.toString(), params, limit).getResultList();
+        }
+
+        // Uma query por coluna em vez de um OR, para cada uma usar o seu índice
+        Set<Long> candidates = new LinkedHashSet<>();
+        collectIds(candidates, filter + " AND u.name LIKE :prefix ESCAPE '!'", params, "prefix", prefix, limit);
+        collectIds(candidates, filter + " AND u.email LIKE :prefix ESCAPE '!'", params, "prefix", prefix, limit);
+        if (idPrefix != null) {
+            collectIds(candidates, filter + " AND CAST(u.id AS String) LIKE :idPrefix", params, "idPrefix", idPrefix,
+                    limit);
+        }
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+        return directoryQuery(" AND u.id IN :candidates", Map.of("candidates", candidates), limit).getResultList();
+    }
+
+    private void collectIds(Set<Long> ids, String filter, Map<String, Object> params, String matchParam,
+            String matchValue, int limit) {
+        Map<String, Object> matchParams = new LinkedHashMap<>(params);
+        matchParams.put(matchParam, matchValue);
+        for (UserDirectoryDTO row : directoryQuery(filter, matchParams, limit).getResultList()) {
+            ids.add(row.getId());
+        }
+    }
+
+    private TypedQuery<UserDirectoryDTO> directoryQuery(String filter, Map<String, Object> params, int limit) {
+        TypedQuery<UserDirectoryDTO> query = entityManager
+                .createQuery(SELECT_DIRECTORY + filter + ORDER_BY, UserDirectoryDTO.class)
+                .setMaxResults(limit);
+        params.forEach(query::setParameter);
+        return query;
+    }
+}
@@ -1,9 +1,15 @@
 package pt.up.edscrum.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import pt.up.edscrum.dto.dashboard.SprintProgressDTO;
+import pt.up.edscrum.enums.UserStoryStatus;
 import pt.up.edscrum.model.UserStory;
 
 /**
@@ -18,4 +24,99 @@ public interface UserStoryRepository extends JpaRepository<UserStory, Long> {
      * @return lista de `UserStory` pertencentes ao sprint
      */
     List<UserStory> findBySprintId(Long sprintId);
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM UserStory us WHERE us.sprint.id = :sprintId")
+    /**
+     * Apaga num único DELETE todas as user stories de um sprint.
+     *
+     * @param sprintId id do sprint
+     * @return número de linhas apagadas
+     */
+    int deleteBySprintId(Long sprintId);
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE UserStory us SET us.status = :to WHERE us.id = :id AND us.status = :from")
+    /**
+     * Muda o estado de uma user story só se o estado atual for `from`.
+     *
+     * @param id id da user story
+     * @param from estado esperado
+     * @param to novo estado
+     * @return 1 se a user story mudou de estado, 0 caso contrário
+     */
+    int updateStatusIfCurrent(Long id, UserStoryStatus from, UserStoryStatus to);
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE UserStory us SET us.status = :to WHERE us.id = :id AND us.status IS NULL")
+    /**
+     * Dá um estado a uma user story que ainda não tem nenhum.
+     *
+     * @param id id da user story
+     * @param to novo estado
+     * @return 1 se a user story mudou de estado, 0 caso contrário
+     */
+    int updateStatusIfUnset(Long id, UserStoryStatus to);
+
+    /**
+     * Muda o estado de uma user story e devolve o estado que ela tinha de
+     * facto na base de dados. Cada tentativa é um UPDATE condicional (que lê
+     * a linha confirmada mais recente e a bloqueia), pelo que duas mudanças
+     * concorrentes nunca contam o mesmo estado anterior. Começa pelo estado
+     * lido pelo chamador e, se outra transação o tiver mudado entretanto,
+     * tenta os restantes.
+     *
+     * @param id id da user story
+     * @param expected estado lido pelo chamador
+     * @param to novo estado
+     * @return estado anterior (null se não tinha estado), ou `to` se a user
+     * story já estava nesse estado
+     */
+    default UserStoryStatus changeStatus(Long id, UserStoryStatus expected, UserStoryStatus to) {
+        if (expected != null && expected != to && updateStatusIfCurrent(id, expected, to) == 1) {
+            return expected;
+        }
+        for (UserStoryStatus from : UserStoryStatus.values()) {
+            if (from != expected && from != to && updateStatusIfCurrent(id, from, to) == 1) {
+                return from;
+            }
+        }
+        if (updateStatusIfUnset(id, to) == 1) {
+            return null;
+        }
+        return to;
+    }
+
+    /**
+     * Projeção comum às queries de progresso por sprint.
+     */
+    String PROGRESS_SELECT = "SELECT new pt.up.edscrum.dto.dashboard.SprintProgressDTO(us.sprint.id, "
+            + "SUM(CASE WHEN us.status = pt.up.edscrum.enums.UserStoryStatus.TODO THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN us.status = pt.up.edscrum.enums.UserStoryStatus.IN_PROGRESS THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN us.status = pt.up.edscrum.enums.UserStoryStatus.TESTING THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN us.status = pt.up.edscrum.enums.UserStoryStatus.DONE THEN 1 ELSE 0 END)) "
+            + "FROM UserStory us ";
+
+    @Query(PROGRESS_SELECT + "WHERE us.sprint.id IN :sprintIds GROUP BY us.sprint.id")
+    /**
+     * Número de user stories por estado de um conjunto de sprints. Sprints
+     * sem user stories não aparecem.
+     *
+     * @param sprintIds ids dos sprints
+     * @return uma `SprintProgressDTO` por sprint com user stories
+     */
+    List<SprintProgressDTO> findProgressBySprintIds(Collection<Long> sprintIds);
+
+    @Query(PROGRESS_SELECT + "WHERE us.sprint.project.id IN :projectIds GROUP BY us.sprint.id")
+    /**
+     * Número de user stories por estado de todos os sprints de um conjunto
+     * de projetos.
+     *
+     * @param projectIds ids dos projetos
+     * @return uma `SprintProgressDTO` por sprint com user stories
+     */
+    List<SprintProgressDTO> findProgressByProjectIds(Collection<Long> projectIds);
 }
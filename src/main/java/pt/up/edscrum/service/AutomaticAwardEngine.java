@@ -0,0 +1,144 @@
+package pt.up.edscrum.service;
+
+import java.util.List;
+import java.util.function.BiPredicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import pt.up.edscrum.dto.UserAwardCountersDTO;
+import pt.up.edscrum.event.AwardEvent;
+import pt.up.edscrum.event.AwardEvent.Enrolled;
+import pt.up.edscrum.event.AwardEvent.ProjectCompleted;
+import pt.up.edscrum.event.AwardEvent.SprintCreated;
+import pt.up.edscrum.event.AwardEvent.TeamFormed;
+import pt.up.edscrum.event.AwardEvent.TeamLeadersAssigned;
+import pt.up.edscrum.repository.UserRepository;
+
+@Service
+/**
+ * Motor de regras dos prémios automáticos. Cada regra declara o evento que a
+ * dispara, o prémio (nome, descrição, pontos), se é por projeto e a condição
+ * sobre os contadores do utilizador. Por evento, os contadores de todos os
+ * utilizadores envolvidos são lidos numa única query
+ * (`UserRepository.findAwardCounters`) e as regras avaliadas em memória; a
+ * escrita do prémio é idempotente (ver `AwardService`).
+ *
+ * Cada atribuição é isolada: se um prémio falhar para uma equipa ou um
+ * estudante, o erro é registado e as restantes atribuições (e a operação que
+ * publicou o evento, ex.: concluir um projeto) continuam.
+ */
+public class AutomaticAwardEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(AutomaticAwardEngine.class);
+
+    /**
+     * Regra de prémio automático.
+     *
+     * @param trigger tipo de evento que dispara a regra
+     * @param name nome do prémio
+     * @param description descrição do prémio
+     * @param points pontos do prémio
+     * @param targetType "INDIVIDUAL" ou "TEAM"
+     * @param perProject se o prémio é atribuído no projeto do evento
+     * @param condition condição sobre o evento e os contadores do utilizador
+     * (ignorada nas regras de equipa)
+     */
+    record Rule(Class<? extends AwardEvent> trigger, String name, String description, int points,
+            String targetType, boolean perProject, BiPredicate<AwardEvent, UserAwardCountersDTO> condition) {
+
+        boolean isTeamRule() {
+            return "TEAM".equals(targetType);
+        }
+    }
+
+    static final List<Rule> RULES = List.of(
+            individual(SprintCreated.class, "Primeiro Salto", "Criaste o teu primeiro sprint! Continua assim.", 20, true,
+                    (e, c) -> c.getSprintsCreated() == 1),
+            individual(SprintCreated.class, "Sprint Artisan (5)", "Criaste 5 sprints.", 40, false,
+                    (e, c) -> c.getSprintsCreated() == 5),
+            individual(SprintCreated.class, "Sprint Veteran (10)", "Criaste 10 sprints.", 90, false,
+                    (e, c) -> c.getSprintsCreated() == 10),
+            team(TeamFormed.class, "Equipa Formada", "A tua equipa foi formada.", 30, false),
+            individual(TeamFormed.class, "Colaborador Estelar", "Participaste activamente em 3 projetos diferentes.", 70, false,
+                    (e, c) -> c.getProjects() >= 3),
+            individual(TeamLeadersAssigned.class, "Arquiteto de Equipas", "Formaste a tua primeira equipa.", 30, false,
+                    (e, c) -> c.getTeams() == 1),
+            individual(TeamLeadersAssigned.class, "Líder de Projeto (SM)", "Assumiste o papel de Scrum Master num projeto.", 80, true,
+                    (e, c) -> e.projectId() != null && c.getUserId().equals(e.scrumMasterId())),
+            individual(TeamLeadersAssigned.class, "Líder de Projeto (PO)", "Assumiste o papel de Product Owner num projeto.", 80, true,
+                    (e, c) -> e.projectId() != null && c.getUserId().equals(e.productOwnerId())),
+            individual(Enrolled.class, "Explorador de Cursos", "Inscreveste-te em 3 cursos diferentes.", 40, false,
+                    (e, c) -> c.getCoursesEnrolled() >= 3),
+            individual(ProjectCompleted.class, "Conquistador de Projetos", "Concluíste o teu primeiro projeto.", 100, true,
+                    (e, c) -> true),
+            team(ProjectCompleted.class, "Conquistadores de Projeto", "A equipa concluiu este projeto com sucesso.", 150, true)
+    );
+
+    private final AwardService awardService;
+    private final UserRepository userRepo;
+
+    public AutomaticAwardEngine(AwardService awardService, UserRepository userRepo) {
+        this.awardService = awardService;
+        this.userRepo = userRepo;
+    }
+
+    /**
+     * Avalia as regras disparadas por um evento e atribui os prémios
+     * correspondentes. Corre de forma síncrona, na transação de quem publicou
+     * o evento.
+     *
+     * @param event evento de domínio
+     */
+    @EventListener
+    public void onAwardEvent(AwardEvent event) {
+        List<Rule> rules = RULES.stream().filter(r -> r.trigger().isInstance(event)).toList();
+
+        for (Rule rule : rules) {
+            if (rule.isTeamRule()) {
+                for (Long teamId : event.teamIds()) {
+                    try {
+                        awardService.assignAutomaticAwardToTeamByName(rule.name(), rule.description(), rule.points(),
+                                teamId, rule.perProject() ? event.projectId() : null);
+                    } catch (RuntimeException e) {
+                        log.warn("Prémio automático '{}' não atribuído à equipa {}", rule.name(), teamId, e);
+                    }
+                }
+            }
+        }
+
+        if (event.userIds().isEmpty() || rules.stream().allMatch(Rule::isTeamRule)) {
+            return;
+        }
+        // Contadores lidos antes de qualquer atribuição: os prémios não os alteram
+        for (UserAwardCountersDTO counters : userRepo.findAwardCounters(event.userIds())) {
+            if (counters.isTeacherProductOwner()) {
+                continue;
+            }
+            for (Rule rule : rules) {
+                if (!rule.isTeamRule() && rule.condition().test(event, counters)) {
+                    try {
+                        awardService.assignAutomaticAwardToStudentByName(rule.name(), rule.description(), rule.points(),
+                                counters.getUserId(), rule.perProject() ? event.projectId() : null);
+                    } catch (RuntimeException e) {
+                        log.warn("Prémio automático '{}' não atribuído ao estudante {}", rule.name(),
+                                counters.getUserId(), e);
+                    }
+                }
+            }
+        }
+    }
+
+    private static <E extends AwardEvent> Rule individual(Class<E> trigger, String name, String description, int points,
+            boolean perProject, BiPredicate<E, UserAwardCountersDTO> condition) {
+        return new Rule(trigger, name, description, points, "INDIVIDUAL", perProject,
+                (e, c) -> condition.test(trigger.cast(e), c));
+    }
+
+    private static Rule team(Class<? extends AwardEvent> trigger, String name, String description, int points,
+            boolean perProject) {
+        return new Rule(trigger, name, description, points, "TEAM", perProject, (e, c) -> true);
+    }
+}
@@ -1,10 +1,30 @@
 package pt.up.edscrum.service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.EntityManagerFactory;
+import pt.up.edscrum.dto.BulkAwardRequest;
+import pt.up.edscrum.dto.BulkAwardResultDTO;
+import pt.up.edscrum.dto.UserAwardCountersDTO;
 import pt.up.edscrum.enums.NotificationType;
+import pt.up.edscrum.event.AwardEvent;
+import pt.up.edscrum.event.RankingChangedEvent;
 import pt.up.edscrum.model.Award;
 import pt.up.edscrum.model.Project;
 import pt.up.edscrum.model.Score;
@@ -13,9 +33,9 @@ import pt.up.edscrum.model.Team;
 import pt.up.edscrum.model.TeamAward;
 import pt.up.edscrum.model.User;
 import pt.up.edscrum.repository.AwardRepository;
+import pt.up.edscrum.repository.EnrollmentRepository;
 import pt.up.edscrum.repository.ProjectRepository;
 import pt.up.edscrum.repository.ScoreRepository;
-import pt.up.edscrum.repository.SprintRepository;
 import pt.up.edscrum.repository.StudentAwardRepository;
 import pt.up.edscrum.repository.TeamAwardRepository;
 import pt.up.edscrum.repository.TeamRepository;
@@ -26,11 +46,23 @@ import pt.up.edscrum.repository.UserRepository;
  * Serviço que gere prémios (Awards) automáticos e manuais, bem como os registos
  * de prémios atribuídos a estudantes e equipas. Contém lógica para
  * criação/consulta/atualização/eliminar prémios, atribuições automáticas
- * baseadas em eventos (por exemplo criação de sprints) e atualizações dos
- * scores de utilizadores e equipas.
+ * (decididas pelo `AutomaticAwardEngine` a partir de eventos de domínio) e
+ * atualizações dos scores de utilizadores e equipas.
  */
 public class AwardService {
 
+    private static final Logger log = LoggerFactory.getLogger(AwardService.class);
+
+    /**
+     * Maior posição do ranking global que dá direito a prémio automático.
+     */
+    private static final int TOP_RANK_MILESTONE = 5;
+
+    /**
+     * Maior posição do ranking global que dá direito ao prémio do pódio.
+     */
+    private static final int PODIUM_RANK_MILESTONE = 3;
+
     private final AwardRepository awardRepo;
     private final StudentAwardRepository studentAwardRepo;
     private final TeamAwardRepository teamAwardRepo;
@@ -38,14 +70,17 @@ public class AwardService {
     private final ScoreRepository scoreRepo;
     private final TeamRepository teamRepo;
     private final ProjectRepository projectRepo;
-    private final SprintRepository sprintRepo;
+    private final EnrollmentRepository enrollmentRepo;
 
     private final NotificationService notificationService;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
 
     public AwardService(AwardRepository awardRepo, StudentAwardRepository studentAwardRepo,
             TeamAwardRepository teamAwardRepo, UserRepository userRepo,
             ScoreRepository scoreRepo, TeamRepository teamRepo, ProjectRepository projectRepo,
-            SprintRepository sprintRepo, NotificationService notificationService) {
+            EnrollmentRepository enrollmentRepo, NotificationService notificationService, EntityManagerFactory entityManagerFactory,
+            ApplicationEventPublisher eventPublisher) {
         this.awardRepo = awardRepo;
         this.studentAwardRepo = studentAwardRepo;
         this.teamAwardRepo = teamAwardRepo;
@@ -53,8 +88,10 @@ public class AwardService {
         this.scoreRepo = scoreRepo;
         this.teamRepo = teamRepo;
         this.projectRepo = projectRepo;
-        this.sprintRepo = sprintRepo;
+        this.enrollmentRepo = enrollmentRepo;
         this.notificationService = notificationService;
+        this.entityManagerFactory = entityManagerFactory;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -75,14 +112,29 @@ public class AwardService {
             a.setPoints(points);
             a.setType("AUTOMATIC");
             a.setTargetType(targetType);
-            return awardRepo.save(a);
+            Award saved = awardRepo.save(a);
+            evictAwardCaches();
+            return saved;
         });
     }
 
+    /**
+     * Descarta da cache de segundo nível os prémios e as queries sobre
+     * prémios (`findAll`/`findByName`). Chamado em todas as escritas de
+     * prémios deste serviço.
+     */
+    private void evictAwardCaches() {
+        entityManagerFactory.getCache().evict(Award.class);
+        entityManagerFactory.unwrap(SessionFactory.class).getCache()
+                .evictQueryRegion(AwardRepository.QUERY_CACHE_REGION);
+    }
+
     /**
      * Atribui um prémio automático a um estudante identificado por `studentId`.
-     * O prémio é criado automaticamente se não existir e evita duplicados para
-     * o mesmo estudante (e projeto, se fornecido).
+     * O prémio é criado automaticamente se não existir. A escrita é
+     * idempotente (`StudentAwardRepository.insertIfAbsent`): se o estudante já
+     * tiver o prémio no mesmo projeto (ou sem projeto), nada é alterado e não
+     * há pontos nem notificação.
      *
      * @param name nome do prémio automático
      * @param description descrição do prémio
@@ -105,24 +157,12 @@ public class AwardService {
         }
         
         Award award = ensureAutomaticAward(name, description, points, "INDIVIDUAL");
-        
-        boolean exists = (projectId != null) ? studentAwardRepo.existsByStudentIdAndAwardIdAndProjectId(studentId, award.getId(), projectId)
-                : studentAwardRepo.findAllByStudentId(studentId).stream().anyMatch(sa -> sa.getAward().getId().equals(award.getId()));
 
-        if (exists) {
+        if (!studentAwardRepo.insertIfAbsent(studentId, award.getId(), projectId, award.getPoints())) {
             return;
         }
 
-        StudentAward sa = new StudentAward();
-        sa.setAward(award);
-        sa.setStudent(student);
-        if (projectId != null) {
-            sa.setProject(projectRepo.findById(projectId).orElse(null));
-        }
-        sa.setPointsEarned(award.getPoints());
-        studentAwardRepo.save(sa);
-
-        updateUserScore(sa.getStudent());
+        updateUserScore(student, award.getPoints());
 
         notificationService.createNotification(
                 student,
@@ -147,13 +187,13 @@ public class AwardService {
         Award award = ensureAutomaticAward(name, description, points, "TEAM");
 
         boolean exists = (projectId != null) ? teamAwardRepo.existsByTeamIdAndAwardIdAndProjectId(teamId, award.getId(), projectId)
-                : teamAwardRepo.findByTeamId(teamId).stream().anyMatch(ta -> ta.getAward().getId().equals(award.getId()));
+                : teamAwardRepo.existsByTeamIdAndAwardIdAndProjectIsNull(teamId, award.getId());
 
         if (exists) {
             return;
         }
 
-        Team team = teamRepo.findById(teamId).orElseThrow();
+        Team team = teamRepo.findWithMembersById(teamId).orElseThrow();
         TeamAward ta = new TeamAward();
         ta.setAward(award);
         ta.setTeam(team);
@@ -163,7 +203,7 @@ public class AwardService {
         ta.setPointsEarned(award.getPoints());
         teamAwardRepo.save(ta);
 
-        updateTeamScore(ta.getTeam());
+        updateTeamScore(ta.getTeam(), ta.getPointsEarned());
 
         notifyAndUpdateTeamMembers(team, award, true);
     }
@@ -173,26 +213,26 @@ public class AwardService {
         String title = isAutomatic ? "Prémio de Equipa Automático!" : "Novo Prémio de Equipa!";
         String msg = "A tua equipa '" + team.getName() + "' ganhou o prémio '" + award.getName() + "' (+" + award.getPoints() + " XP).";
 
+        List<User> recipients = new ArrayList<>();
         if (team.getScrumMaster() != null) {
-            updateUserScore(team.getScrumMaster());
-            notificationService.createNotification(team.getScrumMaster(), NotificationType.AWARD, title, msg);
+            recipients.add(team.getScrumMaster());
         }
         if (team.getProductOwner() != null) {
             if (!"TEACHER".equals(team.getProductOwner().getRole())) {
-                updateUserScore(team.getProductOwner());
-                notificationService.createNotification(team.getProductOwner(), NotificationType.AWARD, title, msg);
+                recipients.add(team.getProductOwner());
             }
         }
-        for (User dev : team.getDevelopers()) {
-            updateUserScore(dev);
-            notificationService.createNotification(dev, NotificationType.AWARD, title, msg);
-        }
+        recipients.addAll(team.getDevelopers());
+        // Membros já carregados pelo grafo da equipa: scores atualizados em conjunto
+        updateUserScores(recipients, award.getPoints());
+        notificationService.createNotifications(recipients, NotificationType.AWARD, title, msg);
     }
 
     /**
-     * Lógica invocada quando um estudante cria um sprint. Pode atribuir prémios
-     * automáticos consoante milestones (ex: primeiro sprint, 5º sprint, 10º
-     * sprint). Evita execução se `studentId` for null.
+     * Lógica invocada quando um estudante cria um sprint. Publica o evento
+     * `SprintCreated`, cujas regras (primeiro sprint, 5º sprint, 10º sprint)
+     * são avaliadas pelo `AutomaticAwardEngine`. Evita execução se
+     * `studentId` for null.
      *
      * @param studentId id do estudante que criou o sprint
      * @param projectId id do projeto associado (pode ser null)
@@ -201,21 +241,23 @@ public class AwardService {
         if (studentId == null) {
             return;
         }
+        eventPublisher.publishEvent(new AwardEvent.SprintCreated(studentId, projectId));
+    }
 
-        List<pt.up.edscrum.model.Sprint> created = sprintRepo.findByCreatedById(studentId);
-        int totalCreated = created != null ? created.size() : 0;
-        
-        if (totalCreated == 1) {
-            assignAutomaticAwardToStudentByName("Primeiro Salto", "Criaste o teu primeiro sprint! Continua assim.", 20, studentId, projectId);
-        }
-
-        
-        if (totalCreated == 5) {
-            assignAutomaticAwardToStudentByName("Sprint Artisan (5)", "Criaste 5 sprints.", 40, studentId, null);
-        }
-        if (totalCreated == 10) {
-            assignAutomaticAwardToStudentByName("Sprint Veteran (10)", "Criaste 10 sprints.", 90, studentId, null);
+    /**
+     * Lógica invocada depois de criar uma equipa na interface web. Publica o
+     * evento `TeamLeadersAssigned`, que pode dar ao Scrum Master e ao Product
+     * Owner os prémios da primeira equipa e de liderança no projeto.
+     *
+     * @param scrumMasterId id do Scrum Master (pode ser null)
+     * @param productOwnerId id do Product Owner (pode ser null)
+     * @param projectId id do projeto da equipa (pode ser null)
+     */
+    public void handleTeamLeadersAssigned(Long scrumMasterId, Long productOwnerId, Long projectId) {
+        if (scrumMasterId == null && productOwnerId == null) {
+            return;
         }
+        eventPublisher.publishEvent(new AwardEvent.TeamLeadersAssigned(projectId, scrumMasterId, productOwnerId));
     }
 
     /**
@@ -239,7 +281,9 @@ public class AwardService {
      * @return o prémio guardado
      */
     public Award createAward(Award award) {
-        return awardRepo.save(award);
+        Award saved = awardRepo.save(award);
+        evictAwardCaches();
+        return saved;
     }
 
     /**
@@ -255,7 +299,9 @@ public class AwardService {
         award.setDescription(awardDetails.getDescription());
         award.setPoints(awardDetails.getPoints());
         award.setType(awardDetails.getType());
-        return awardRepo.save(award);
+        Award saved = awardRepo.save(award);
+        evictAwardCaches();
+        return saved;
     }
 
     /**
@@ -265,6 +311,7 @@ public class AwardService {
      */
     public void deleteAward(Long id) {
         awardRepo.deleteById(id);
+        evictAwardCaches();
     }
 
     /**
@@ -346,7 +393,7 @@ public class AwardService {
         sa.setPointsEarned(award.getPoints());
         studentAwardRepo.save(sa);
 
-        updateUserScore(student);
+        updateUserScore(student, sa.getPointsEarned());
 
         notificationService.createNotification(
                 student,
@@ -380,13 +427,17 @@ public class AwardService {
 
         Award award = getAwardById(awardId);
 
+        if (studentAwardRepo.existsByStudentIdAndAwardIdAndProjectIsNull(studentId, awardId)) {
+            throw new RuntimeException("Este prémio já foi atribuído a este aluno.");
+        }
+
         StudentAward sa = new StudentAward();
         sa.setAward(award);
         sa.setStudent(student);
         sa.setPointsEarned(award.getPoints());
         studentAwardRepo.save(sa);
 
-        updateUserScore(student);
+        updateUserScore(student, sa.getPointsEarned());
 
         notificationService.createNotification(
                 student,
@@ -396,6 +447,163 @@ public class AwardService {
         );
     }
 
+    /**
+     * Atribui um prémio individual a vários estudantes numa única transação
+     * (ex.: avaliação de fim de sprint de um curso inteiro). Os alvos são
+     * resolvidos a partir do pedido (ids, equipas, curso, CSV); os que já têm
+     * o prémio no projeto são detetados com uma query, os restantes são
+     * inseridos num batch, os scores atualizados com um UPDATE em massa e as
+     * notificações enviadas em conjunto.
+     *
+     * @param request prémio, projeto (opcional) e alvos
+     * @return estudantes premiados, que já tinham o prémio, não elegíveis e
+     * entradas CSV por resolver
+     */
+    @Transactional
+    public BulkAwardResultDTO assignAwardInBulk(BulkAwardRequest request) {
+        Award award = getAwardById(request.getAwardId());
+        if ("TEAM".equals(award.getTargetType())) {
+            throw new RuntimeException("Prémios de equipa não podem ser atribuídos a estudantes.");
+        }
+        Project project = request.getProjectId() != null
+                ? projectRepo.findById(request.getProjectId()).orElseThrow(() -> new RuntimeException("Project not found"))
+                : null;
+
+        BulkAwardResultDTO result = new BulkAwardResultDTO();
+        Set<Long> targetIds = resolveBulkTargets(request, result);
+        if (targetIds.isEmpty()) {
+            return result;
+        }
+
+        Map<Long, User> students = new HashMap<>();
+        for (User u : userRepo.findAllById(targetIds)) {
+            students.put(u.getId(), u);
+        }
+        Set<Long> blockedTeachers = findProductOwnerTeachers(students.values(), project);
+
+        List<Long> candidates = new ArrayList<>();
+        for (Long id : targetIds) {
+            if (!students.containsKey(id) || blockedTeachers.contains(id)) {
+                result.getIneligible().add(id);
+            } else {
+                candidates.add(id);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return result;
+        }
+
+        Set<Long> existing = new HashSet<>(studentAwardRepo.findStudentIdsWithAward(
+                award.getId(), project != null ? project.getId() : 0L, candidates));
+        List<Long> toAssign = new ArrayList<>();
+        for (Long id : candidates) {
+            if (existing.contains(id)) {
+                result.getAlreadyAssigned().add(id);
+            } else {
+                toAssign.add(id);
+            }
+        }
+        if (toAssign.isEmpty()) {
+            return result;
+        }
+
+        studentAwardRepo.insertAll(award.getId(), project != null ? project.getId() : null, award.getPoints(), toAssign);
+        result.getAssigned().addAll(toAssign);
+
+        List<User> recipients = toAssign.stream().map(students::get).toList();
+        updateUserScores(recipients, award.getPoints());
+
+        String message = "Recebeste o prémio '" + award.getName() + "' (+" + award.getPoints() + " XP)"
+                + (project != null ? " no projeto " + project.getName() : ".");
+        notificationService.createNotifications(recipients, NotificationType.AWARD, "Novo Prémio Conquistado!", message);
+        return result;
+    }
+
+    /**
+     * Junta, sem repetições, os estudantes indicados num pedido em massa. As
+     * entradas CSV são ids ou emails; emails desconhecidos ficam em
+     * `unresolved`.
+     */
+    private Set<Long> resolveBulkTargets(BulkAwardRequest request, BulkAwardResultDTO result) {
+        Set<Long> ids = new LinkedHashSet<>();
+        if (request.getStudentIds() != null) {
+            request.getStudentIds().stream().filter(id -> id != null).forEach(ids::add);
+        }
+        if (request.getTeamIds() != null && !request.getTeamIds().isEmpty()) {
+            for (Team t : teamRepo.findByIdsWithMembers(request.getTeamIds())) {
+                if (t.getScrumMaster() != null) {
+                    ids.add(t.getScrumMaster().getId());
+                }
+                if (t.getProductOwner() != null) {
+                    ids.add(t.getProductOwner().getId());
+                }
+                if (t.getDevelopers() != null) {
+                    t.getDevelopers().forEach(d -> ids.add(d.getId()));
+                }
+            }
+        }
+        if (request.getCourseId() != null) {
+            ids.addAll(enrollmentRepo.findStudentIdsByCourseId(request.getCourseId()));
+        }
+        if (request.getCsv() != null && !request.getCsv().isBlank()) {
+            List<String> emails = new ArrayList<>();
+            for (String token : request.getCsv().trim().split("[,;\\s]+")) {
+                if (token.contains("@")) {
+                    emails.add(token);
+                } else {
+                    try {
+                        ids.add(Long.valueOf(token));
+                    } catch (NumberFormatException e) {
+                        result.getUnresolved().add(token);
+                    }
+                }
+            }
+            if (!emails.isEmpty()) {
+                Map<String, Long> byEmail = new HashMap<>();
+                for (User u : userRepo.findByEmailIn(emails)) {
+                    byEmail.put(u.getEmail(), u.getId());
+                }
+                for (String email : emails) {
+                    Long id = byEmail.get(email);
+                    if (id != null) {
+                        ids.add(id);
+                    } else {
+                        result.getUnresolved().add(email);
+                    }
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Professores que não podem receber prémios individuais: Product Owner
+     * de uma equipa do projeto ou, sem projeto, de qualquer equipa.
+     */
+    private Set<Long> findProductOwnerTeachers(Collection<User> users, Project project) {
+        List<Long> teacherIds = users.stream().filter(u -> "TEACHER".equals(u.getRole())).map(User::getId).toList();
+        Set<Long> blocked = new HashSet<>();
+        if (teacherIds.isEmpty()) {
+            return blocked;
+        }
+        if (project != null) {
+            if (project.getTeams() != null) {
+                for (Team team : project.getTeams()) {
+                    if (team.getProductOwner() != null && teacherIds.contains(team.getProductOwner().getId())) {
+                        blocked.add(team.getProductOwner().getId());
+                    }
+                }
+            }
+        } else {
+            for (UserAwardCountersDTO counters : userRepo.findAwardCounters(teacherIds)) {
+                if (counters.isTeacherProductOwner()) {
+                    blocked.add(counters.getUserId());
+                }
+            }
+        }
+        return blocked;
+    }
+
     /**
      * Atribui um prémio existente a uma equipa num projeto. Verifica duplicados
      * e atualiza os scores da equipa e dos seus membros.
@@ -406,7 +614,7 @@ public class AwardService {
      */
     public void assignAwardToTeam(Long awardId, Long teamId, Long projectId) {
         Award award = getAwardById(awardId);
-        Team team = teamRepo.findById(teamId).orElseThrow();
+        Team team = teamRepo.findWithMembersById(teamId).orElseThrow();
         Project project = projectRepo.findById(projectId).orElseThrow();
 
         if (teamAwardRepo.existsByTeamIdAndAwardIdAndProjectId(teamId, awardId, projectId)) {
@@ -420,14 +628,14 @@ public class AwardService {
         ta.setPointsEarned(award.getPoints());
         teamAwardRepo.save(ta);
 
-        updateTeamScore(team);
+        updateTeamScore(team, ta.getPointsEarned());
 
         notifyAndUpdateTeamMembers(team, award, false);
     }
 
     public void assignAwardToTeam(Long awardId, Long teamId) {
         Award award = getAwardById(awardId);
-        Team team = teamRepo.findById(teamId).orElseThrow();
+        Team team = teamRepo.findWithMembersById(teamId).orElseThrow();
 
         TeamAward ta = new TeamAward();
         ta.setAward(award);
@@ -435,7 +643,7 @@ public class AwardService {
         ta.setPointsEarned(award.getPoints());
         teamAwardRepo.save(ta);
 
-        updateTeamScore(team);
+        updateTeamScore(team, ta.getPointsEarned());
 
         notifyAndUpdateTeamMembers(team, award, false);
     }
@@ -465,65 +673,119 @@ public class AwardService {
     }
 
     /**
-     * Atualiza o `Score` global de um utilizador com base nos pontos
-     * calculados. Depois de guardar o `Score`, verifica o ranking global para
-     * atribuir prémios automáticos baseados na posição (ex: Top5, Top3).
+     * Aplica um incremento de pontos ao `Score` global de um utilizador
+     * através de um UPDATE atómico. Se o utilizador ainda não tiver `Score`,
+     * este é criado com o total calculado (que já inclui o prémio acabado de
+     * guardar). Depois verifica os prémios automáticos de posição (Top5, Top3)
+     * contra o topo limitado do ranking global.
      *
      * @param user o utilizador cujo score será atualizado
+     * @param delta pontos ganhos
      */
-    private void updateUserScore(User user) {
-        int total = calculateTotalPoints(user.getId());
+    private void updateUserScore(User user, int delta) {
+        if (scoreRepo.addPointsToUser(user.getId(), delta) > 0) {
+            // UPDATE em massa não passa pelos listeners JPA
+            eventPublisher.publishEvent(new RankingChangedEvent.UsersChanged(List.of(user.getId())));
+        } else {
+            createUserScore(user);
+        }
 
-        Score score = scoreRepo.findByUser(user);
-        if (score == null) {
-            score = new Score();
-            score.setUser(user);
+        try {
+            List<Long> top = scoreRepo.findTopUserIds(PageRequest.of(0, TOP_RANK_MILESTONE));
+            assignRankAwards(top, user.getId());
+        } catch (RuntimeException e) {
+            log.warn("Prémios de posição não atribuídos ao utilizador {}", user.getId(), e);
+        }
+    }
 
-            List<Team> teams = teamRepo.findTeamByUserId(user.getId());
-            if (teams != null && !teams.isEmpty()) {
-                score.setTeam(teams.get(0));
+    /**
+     * Versão em massa de `updateUserScore`: um único UPDATE para os
+     * utilizadores que já têm `Score` e uma única leitura do topo do ranking
+     * para os prémios de posição.
+     *
+     * @param users utilizadores premiados
+     * @param delta pontos ganhos por cada um
+     */
+    private void updateUserScores(List<User> users, int delta) {
+        // Um membro pode aparecer duas vezes (ex.: SM também developer)
+        Map<Long, User> distinct = new LinkedHashMap<>();
+        users.forEach(u -> distinct.putIfAbsent(u.getId(), u));
+        if (distinct.isEmpty()) {
+            return;
+        }
+        Set<Long> withScore = new HashSet<>(scoreRepo.findUserIdsWithScore(distinct.keySet()));
+        if (!withScore.isEmpty()) {
+            scoreRepo.addPointsToUsers(withScore, delta);
+            eventPublisher.publishEvent(new RankingChangedEvent.UsersChanged(withScore));
+        }
+        for (User user : distinct.values()) {
+            if (!withScore.contains(user.getId())) {
+                createUserScore(user);
             }
         }
-        score.setTotalPoints(total);
-        scoreRepo.save(score);
 
         try {
-            List<pt.up.edscrum.model.Score> allScores = scoreRepo.findAllByUserIsNotNullOrderByTotalPointsDesc();
-            int rank = 0;
-            for (int i = 0; i < allScores.size(); i++) {
-                if (allScores.get(i).getUser() != null && allScores.get(i).getUser().getId().equals(user.getId())) {
-                    rank = i + 1;
-                    break;
-                }
+            List<Long> top = scoreRepo.findTopUserIds(PageRequest.of(0, TOP_RANK_MILESTONE));
+            for (Long id : distinct.keySet()) {
+                assignRankAwards(top, id);
             }
+        } catch (RuntimeException e) {
+            log.warn("Prémios de posição não atribuídos aos utilizadores {}", distinct.keySet(), e);
+        }
+    }
 
-            if (rank > 0 && rank <= 5) {
-                assignAutomaticAwardToStudentByName("Estrela da Turma (Top 5)", "Entraste no Top 5 do ranking global.", 50, user.getId(), null);
-                
-            }
-            if (rank > 0 && rank <= 3) {
-                assignAutomaticAwardToStudentByName("Mestre do Podium (Top 3)", "Chegaste ao Top 3 do ranking global.", 120, user.getId(), null);
-            }
+    /**
+     * Cria o `Score` de um utilizador que ainda não o tem, com o total
+     * calculado (que já inclui o prémio acabado de guardar).
+     */
+    private void createUserScore(User user) {
+        Score score = new Score();
+        score.setUser(user);
+
+        List<Team> teams = teamRepo.findTeamByUserId(user.getId());
+        if (teams != null && !teams.isEmpty()) {
+            score.setTeam(teams.get(0));
+        }
+        score.setTotalPoints(calculateTotalPoints(user.getId()));
+        scoreRepo.save(score);
+    }
+
+    /**
+     * Atribui os prémios automáticos de posição (Top5, Top3) consoante a
+     * posição do utilizador no topo do ranking global.
+     *
+     * @param top ids do topo do ranking, por ordem
+     * @param userId id do utilizador
+     */
+    private void assignRankAwards(List<Long> top, Long userId) {
+        int rank = top.indexOf(userId) + 1;
 
-        } catch (Exception e) {
+        if (rank > 0 && rank <= TOP_RANK_MILESTONE) {
+            assignAutomaticAwardToStudentByName("Estrela da Turma (Top 5)", "Entraste no Top 5 do ranking global.", 50, userId, null);
+        }
+        if (rank > 0 && rank <= PODIUM_RANK_MILESTONE) {
+            assignAutomaticAwardToStudentByName("Mestre do Podium (Top 3)", "Chegaste ao Top 3 do ranking global.", 120, userId, null);
         }
     }
 
     /**
-     * Atualiza o `Score` de uma equipa com a soma dos `TeamAwards` atribuídos.
+     * Aplica um incremento de pontos ao `Score` de uma equipa através de um
+     * UPDATE atómico, criando-o com a soma dos `TeamAwards` se ainda não
+     * existir.
      *
      * @param team equipa a atualizar
+     * @param delta pontos ganhos
      */
-    private void updateTeamScore(Team team) {
+    private void updateTeamScore(Team team, int delta) {
+        if (scoreRepo.addPointsToTeam(team.getId(), delta) > 0) {
+            return;
+        }
         int total = teamAwardRepo.findByTeamId(team.getId()).stream()
                 .mapToInt(TeamAward::getPointsEarned).sum();
 
-        Score score = scoreRepo.findByTeamAndUserIsNull(team);
-        if (score == null) {
-            score = new Score();
-            score.setTeam(team);
-            score.setUser(null);
-        }
+        Score score = new Score();
+        score.setTeam(team);
+        score.setUser(null);
         score.setTotalPoints(total);
         scoreRepo.save(score);
     }
@@ -3,6 +3,7 @@ package pt.up.edscrum.service;
 import java.util.List;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import pt.up.edscrum.model.Course;
 import pt.up.edscrum.model.Enrollment;
@@ -43,6 +44,7 @@ public class CourseService {
      *
      * @return lista de `Course`
      */
+    @Transactional(readOnly = true)
     public List<Course> getAllCourses() {
         return courseRepository.findAll();
     }
@@ -65,6 +67,7 @@ public class CourseService {
      * @param teacherId id do professor
      * @return lista de `Course`
      */
+    @Transactional(readOnly = true)
     public List<Course> getCoursesByTeacher(Long teacherId) {
         List<Course> courses = courseRepository.findByTeacherIdWithProjects(teacherId);
         courses.forEach(course -> {
@@ -141,6 +144,7 @@ public class CourseService {
      * @param courseId id do curso
      * @return lista de `User` com role STUDENT
      */
+    @Transactional(readOnly = true)
     public List<User> getEnrolledStudentsByCourse(Long courseId) {
         List<Enrollment> enrollments = enrollmentRepository.findByCourseId(courseId);
         return enrollments.stream()
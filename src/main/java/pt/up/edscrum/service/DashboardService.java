@@ -1,20 +1,22 @@
 package pt.up.edscrum.service;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.Map;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import pt.up.edscrum.dto.dashboard.MemberAwardStatsDTO;
 import pt.up.edscrum.dto.dashboard.ProjectDetailsDTO;
-import pt.up.edscrum.dto.dashboard.ProjectProgressDTO;
 import pt.up.edscrum.dto.dashboard.RankingDTO;
+import pt.up.edscrum.dto.dashboard.SprintProgressDTO;
 import pt.up.edscrum.dto.dashboard.StudentDashboardDTO;
 import pt.up.edscrum.dto.dashboard.TeacherDashboardDTO;
 import pt.up.edscrum.enums.SprintStatus;
-import pt.up.edscrum.model.Award;
+import pt.up.edscrum.event.AwardEvent;
 import pt.up.edscrum.model.Course;
 import pt.up.edscrum.model.Enrollment;
 import pt.up.edscrum.model.Project;
@@ -48,14 +50,15 @@ public class DashboardService {
     private final UserRepository userRepo;
     private final ScoreRepository scoreRepo;
     private final EnrollmentRepository enrollmentRepo;
-    private final AwardService awardService;
-    private final SprintService sprintService;
+    private final ApplicationEventPublisher eventPublisher;
     private final UserStoryRepository userStoryRepo;
+    private final StudentDashboardReadModel studentDashboardReadModel;
+    private final RankingService rankingService;
 
     /**
      * Construtor do serviço de dashboard.
      */
-    public DashboardService(CourseRepository courseRepo, ProjectRepository projectRepo, TeamRepository teamRepo, TeamAwardRepository teamAwardRepo, StudentAwardRepository studentAwardRepo, UserRepository userRepo, ScoreRepository scoreRepo, EnrollmentRepository enrollmentRepo, AwardService awardService, SprintService sprintService, UserStoryRepository userStoryRepo) {
+    public DashboardService(CourseRepository courseRepo, ProjectRepository projectRepo, TeamRepository teamRepo, TeamAwardRepository teamAwardRepo, StudentAwardRepository studentAwardRepo, UserRepository userRepo, ScoreRepository scoreRepo, EnrollmentRepository enrollmentRepo, ApplicationEventPublisher eventPublisher, UserStoryRepository userStoryRepo, StudentDashboardReadModel studentDashboardReadModel, RankingService rankingService) {
         this.courseRepo = courseRepo;
         this.projectRepo = projectRepo;
         this.teamRepo = teamRepo;
@@ -64,9 +67,10 @@ public class DashboardService {
         this.userRepo = userRepo;
         this.scoreRepo = scoreRepo;
         this.enrollmentRepo = enrollmentRepo;
-        this.awardService = awardService;
-        this.sprintService = sprintService;
+        this.eventPublisher = eventPublisher;
         this.userStoryRepo = userStoryRepo;
+        this.studentDashboardReadModel = studentDashboardReadModel;
+        this.rankingService = rankingService;
     }
 
     
@@ -84,29 +88,12 @@ public class DashboardService {
         dto.setCourseId(course.getId());
         dto.setCourseName(course.getName());
 
-        
-        dto.setTotalStudents(course.getEnrollments() != null ? course.getEnrollments().size() : 0);
+        // Contagens e progresso calculados na base de dados: nem inscrições nem
+        // sprints são carregados, seja qual for o número de projetos do curso
+        dto.setTotalStudents(enrollmentRepo.countByCourseId(courseId));
         dto.setTotalTeams((int) teamRepo.countByCourseId(courseId));
         dto.setTotalProjects((int) projectRepo.countByCourseId(courseId));
-
-        
-        dto.setProjects(projectRepo.findByCourseId(courseId).stream().map(p -> {
-            ProjectProgressDTO pp = new ProjectProgressDTO();
-            pp.setProjectId(p.getId());
-            pp.setProjectName(p.getName());
-
-            
-            if (p.getSprints() == null || p.getSprints().isEmpty()) {
-                pp.setCompletionPercentage(0);
-            } else {
-                long total = p.getSprints().size();
-                long done = p.getSprints().stream()
-                        .filter(s -> s.getStatus() != null && s.getStatus() == SprintStatus.CONCLUIDO)
-                        .count();
-                pp.setCompletionPercentage(total == 0 ? 0 : (done * 100.0 / total));
-            }
-            return pp;
-        }).collect(Collectors.toList()));
+        dto.setProjects(projectRepo.findProgressByCourseId(courseId, SprintStatus.CONCLUIDO));
 
         
         try {
@@ -129,97 +116,7 @@ public class DashboardService {
      */
     @Transactional(readOnly = true)
     public StudentDashboardDTO getStudentDashboard(Long studentId) {
-
-        User user = userRepo.findById(studentId)
-                .orElseThrow(() -> new RuntimeException("User não encontrado"));
-
-        StudentDashboardDTO dto = new StudentDashboardDTO();
-        dto.setId(user.getId());
-        dto.setName(user.getName());
-        dto.setEmail(user.getEmail());
-        dto.setProfileImage(user.getProfileImage());
-        dto.setStudentTag(user.getStudentTag());
-
-        dto.setNotificationAwards(user.isNotificationAwards());
-        dto.setNotificationRankings(user.isNotificationRankings());
-
-        
-        int myScore = calculateTotalPointsForStudent(studentId);
-        dto.setTotalPoints(myScore);
-
-        dto.setEarnedAwards(studentAwardRepo.findFullAwardsForStudent(studentId));
-
-        List<StudentDashboardDTO.AwardDisplayDTO> earnedAwards = dto.getEarnedAwards();
-        Set<String> earnedAwardNames = earnedAwards.stream().map(a -> a.name).collect(Collectors.toSet());
-        List<Award> allAwards = awardService.getAllAwards();
-        List<StudentDashboardDTO.AwardDisplayDTO> unearnedAwards = allAwards.stream()
-                .filter(award -> !earnedAwardNames.contains(award.getName()))
-                .map(award -> new StudentDashboardDTO.AwardDisplayDTO(award.getName(), award.getPoints(), award.getDescription(), award.getType()))
-                .collect(Collectors.toList());
-        dto.setUnearnedAwards(unearnedAwards);
-
-        dto.setPointHistory(scoreRepo.getPointHistory(studentId));
-
-        
-        List<Course> allCourses = courseRepo.findAll();
-        List<Enrollment> enrollments = enrollmentRepo.findAllByStudent(user);
-        Set<Long> enrolledIds = enrollments.stream().map(e -> e.getCourse().getId()).collect(Collectors.toSet());
-
-        List<Course> enrolledList = new ArrayList<>();
-        List<Course> availableList = new ArrayList<>();
-        for (Course c : allCourses) {
-            if (enrolledIds.contains(c.getId())) {
-                enrolledList.add(c);
-            } else {
-                availableList.add(c);
-            }
-        }
-        dto.setEnrolledCourses(enrolledList);
-        dto.setAvailableCourses(availableList);
-
-        
-        List<Project> allStudentProjects = new ArrayList<>();
-
-        if (!enrollments.isEmpty()) {
-            
-            Course mainCourse = enrollments.get(0).getCourse();
-            dto.setCourseId(mainCourse.getId());
-            dto.setCourseName(mainCourse.getName());
-
-            
-            fillCourseStatistics(dto, mainCourse.getId(), studentId);
-        } else {
-            clearCourseStatistics(dto);
-        }
-
-        
-        for (Enrollment enrollment : enrollments) {
-            Long currentCourseId = enrollment.getCourse().getId();
-
-            
-            teamRepo.findTeamByCourseAndUser(currentCourseId, studentId).ifPresent(team -> {
-
-                
-                if (dto.getCourseId() != null && dto.getCourseId().equals(currentCourseId)) {
-                    dto.setTeamName(team.getName());
-                    dto.setRoleInTeam(getRoleInTeam(team, studentId));
-                }
-
-                
-                if (team.getProject() != null) {
-                    allStudentProjects.add(team.getProject());
-                }
-            });
-        }
-
-        
-        List<pt.up.edscrum.dto.dashboard.ProjectWithProgressDTO> projectsWithProgress = new ArrayList<>();
-        for (Project project : allStudentProjects) {
-            projectsWithProgress.add(convertProjectToDTO(project));
-        }
-        dto.setProjects(projectsWithProgress);
-
-        return dto;
+        return studentDashboardReadModel.build(studentId);
     }
 
     
@@ -260,14 +157,7 @@ public class DashboardService {
         enrollment.setStudent(student);
         enrollmentRepo.save(enrollment);
 
-        
-        try {
-            int enrollCount = enrollmentRepo.findAllByStudent(student).size();
-            if (enrollCount >= 3) {
-                awardService.assignAutomaticAwardToStudentByName("Explorador de Cursos", "Inscreveste-te em 3 cursos diferentes.", 40, studentId, null);
-            }
-        } catch (Exception e) {
-        }
+        eventPublisher.publishEvent(new AwardEvent.Enrolled(studentId, courseId));
     }
 
     /**
@@ -329,37 +219,33 @@ public class DashboardService {
             dto.setTeamTotalXP(teamScore);
 
             List<ProjectDetailsDTO.TeamMemberDTO> members = new ArrayList<>();
-            
-            
-            List<TeamAward> projectTeamAwards = teamAwardRepo.findByTeamIdAndProjectId(team.getId(), projectId);
-            int teamProjectXp = projectTeamAwards.stream().mapToInt(TeamAward::getPointsEarned).sum();
-            int teamAwardsCount = projectTeamAwards.size();
+
+            // Prémios individuais de todos os membros do projeto numa única query
+            Map<Long, MemberAwardStatsDTO> memberStats = new HashMap<>();
+            for (MemberAwardStatsDTO row : studentAwardRepo.summarizeByProjectId(projectId)) {
+                memberStats.put(row.getStudentId(), row);
+            }
 
             
             if (team.getScrumMaster() != null) {
                 User u = team.getScrumMaster();
-                members.add(createMemberDTO(u, "Scrum Master", projectId, teamProjectXp, teamAwardsCount));
+                members.add(createMemberDTO(u, "Scrum Master", memberStats));
             }
             if (team.getProductOwner() != null) {
                 User u = team.getProductOwner();
-                members.add(createMemberDTO(u, "Product Owner", projectId, teamProjectXp, teamAwardsCount));
+                members.add(createMemberDTO(u, "Product Owner", memberStats));
             }
             for (User dev : team.getDevelopers()) {
-                members.add(createMemberDTO(dev, "Developer", projectId, teamProjectXp, teamAwardsCount));
+                members.add(createMemberDTO(dev, "Developer", memberStats));
             }
             dto.setMembers(members);
         }
 
         int totalStories = 0;
         int completedStories = 0;
-        if (project.getSprints() != null) {
-            for (Sprint sprint : project.getSprints()) {
-                List<pt.up.edscrum.model.UserStory> stories = userStoryRepo.findBySprintId(sprint.getId());
-                totalStories += stories.size();
-                completedStories += (int) stories.stream()
-                        .filter(us -> "DONE".equals(us.getStatus().name()))
-                        .count();
-            }
+        for (SprintProgressDTO row : userStoryRepo.findProgressByProjectIds(List.of(projectId))) {
+            totalStories += (int) row.getStoryCount();
+            completedStories += (int) row.getDoneCount();
         }
         dto.setTotalStories(totalStories);
         dto.setCompletedStories(completedStories);
@@ -368,7 +254,7 @@ public class DashboardService {
         return dto;
     }
 
-    private ProjectDetailsDTO.TeamMemberDTO createMemberDTO(User u, String role, Long projectId, int teamProjectXp, int teamAwardsCount) {
+    private ProjectDetailsDTO.TeamMemberDTO createMemberDTO(User u, String role, Map<Long, MemberAwardStatsDTO> memberStats) {
         if (u == null) {
             return null;
         }
@@ -378,11 +264,11 @@ public class DashboardService {
 
         
         if (!"TEACHER".equals(u.getRole())) {
-            
-            Integer points = studentAwardRepo.sumPointsByStudentAndProjectId(u.getId(), projectId);
-            individualXP = (points != null) ? points : 0;
-            
-            awardsCount = (int) studentAwardRepo.countByStudentIdAndProjectId(u.getId(), projectId);
+            MemberAwardStatsDTO stats = memberStats.get(u.getId());
+            if (stats != null) {
+                individualXP = (int) stats.getTotalPoints();
+                awardsCount = (int) stats.getAwardsCount();
+            }
         }
 
         return new ProjectDetailsDTO.TeamMemberDTO(u.getId(), u.getName(), role, u.getRole(), individualXP, awardsCount);
@@ -395,26 +281,7 @@ public class DashboardService {
      * @return lista de `RankingDTO` ordenada por pontos decrescentes
      */
     public List<RankingDTO> getStudentRanking(Long courseId) {
-        List<RankingDTO> classRanking = new ArrayList<>();
-        List<Enrollment> courseEnrollments = enrollmentRepo.findByCourseId(courseId);
-
-        for (Enrollment e : courseEnrollments) {
-            User u = e.getStudent();
-            pt.up.edscrum.model.Score s = scoreRepo.findByUser(u);
-            int totalP = (s != null) ? s.getTotalPoints() : 0;
-            classRanking.add(new RankingDTO(u.getId(), u.getName(), (long) totalP));
-        }
-        classRanking.sort((r1, r2) -> Long.compare(r2.getTotalPoints(), r1.getTotalPoints()));
-        return classRanking;
-    }
-
-    private int calculateTotalPointsForStudent(Long studentId) {
-        User u = userRepo.findById(studentId).orElse(null);
-        if (u == null) {
-            return 0;
-        }
-        pt.up.edscrum.model.Score s = scoreRepo.findByUser(u);
-        return (s != null) ? s.getTotalPoints() : 0;
+        return new ArrayList<>(rankingService.getCourseRanking(courseId).getAll());
     }
 
     /**
@@ -426,161 +293,4 @@ public class DashboardService {
     public List<RankingDTO> getTeamRanking(Long courseId) {
         return scoreRepo.getTeamRanking(courseId);
     }
-
-    private String getRoleInTeam(Team team, Long studentId) {
-        if (team.getScrumMaster() != null && team.getScrumMaster().getId().equals(studentId)) {
-            return "Scrum Master";
-        }
-        if (team.getProductOwner() != null && team.getProductOwner().getId().equals(studentId)) {
-            return "Product Owner";
-        }
-        return "Developer";
-    }
-
-    private void fillCourseStatistics(StudentDashboardDTO dto, Long courseId, Long studentId) {
-        List<RankingDTO> allRankings = getStudentRanking(courseId);
-        dto.setTotalClassStudents(allRankings.size());
-        dto.setTotalClassTeams((int) teamRepo.countByCourseId(courseId));
-
-        if (!allRankings.isEmpty()) {
-            RankingDTO top = allRankings.get(0);
-            dto.setTopPerformerName(top.getName());
-            dto.setTopPerformerScore(top.getTotalPoints().intValue());
-
-            RankingDTO bottom = allRankings.get(allRankings.size() - 1);
-            dto.setScoreVariation((int) (top.getTotalPoints() - bottom.getTotalPoints()));
-
-            double avg = allRankings.stream().mapToLong(RankingDTO::getTotalPoints).average().orElse(0.0);
-            dto.setClassAverage(avg);
-
-            int myRank = 0;
-            for (int i = 0; i < allRankings.size(); i++) {
-                if (allRankings.get(i).getId().equals(studentId)) {
-                    myRank = i + 1;
-                    break;
-                }
-            }
-            dto.setCurrentRank(myRank > 0 ? myRank : allRankings.size());
-            dto.setTopStudents(allRankings.stream().limit(5).collect(Collectors.toList()));
-        }
-    }
-
-    private void clearCourseStatistics(StudentDashboardDTO dto) {
-        dto.setTotalClassStudents(0);
-        dto.setTopPerformerName("-");
-        dto.setScoreVariation(0);
-        dto.setClassAverage(0);
-        dto.setCurrentRank(0);
-        dto.setTopStudents(new ArrayList<>());
-    }
-
-    
-    private pt.up.edscrum.dto.dashboard.ProjectWithProgressDTO convertProjectToDTO(Project project) {
-        pt.up.edscrum.dto.dashboard.ProjectWithProgressDTO dto = new pt.up.edscrum.dto.dashboard.ProjectWithProgressDTO();
-        dto.setId(project.getId());
-        dto.setName(project.getName());
-        dto.setSprintGoals(project.getSprintGoals());
-        dto.setStartDate(project.getStartDate());
-        dto.setEndDate(project.getEndDate());
-        dto.setStatus(project.getStatus());
-
-        
-        if (project.getCourse() != null) {
-            dto.setCourseId(project.getCourse().getId());
-            dto.setCourseName(project.getCourse().getName());
-        } else {
-            dto.setCourseId(null);
-            dto.setCourseName(null);
-        }
-
-        
-        List<pt.up.edscrum.dto.dashboard.SprintWithProgressDTO> sprintsWithProgress = new ArrayList<>();
-        int totalSprintProgress = 0;
-        int sprintCount = 0;
-
-        if (project.getSprints() != null && !project.getSprints().isEmpty()) {
-            for (Sprint sprint : project.getSprints()) {
-                pt.up.edscrum.dto.dashboard.SprintWithProgressDTO sprintDTO = convertSprintToDTO(sprint);
-                sprintsWithProgress.add(sprintDTO);
-                totalSprintProgress += sprintDTO.getProgress();
-                sprintCount++;
-            }
-            
-            dto.setProgress(sprintCount > 0 ? totalSprintProgress / sprintCount : 0);
-        } else {
-            dto.setProgress(0);
-        }
-
-        dto.setSprints(sprintsWithProgress);
-
-        
-        List<pt.up.edscrum.dto.dashboard.MemberWithRoleDTO> projectMembers = new ArrayList<>();
-        if (project.getTeams() != null) {
-            for (Team team : project.getTeams()) {
-                
-                if (team.getProductOwner() != null) {
-                    User po = team.getProductOwner();
-                                                pt.up.edscrum.dto.dashboard.MemberWithRoleDTO poMember = new pt.up.edscrum.dto.dashboard.MemberWithRoleDTO(
-                                                        po.getId(),
-                                                        po.getName(),
-                                                        "Product Owner",
-                                                        po.getRole(),
-                                                        (int) studentAwardRepo.countByStudentIdAndProjectId(po.getId(), project.getId()),
-                                                        studentAwardRepo.sumPointsByStudentAndProjectId(po.getId(), project.getId())
-                                                );                    if (projectMembers.stream().noneMatch(m -> m.getId().equals(poMember.getId()))) {
-                        projectMembers.add(poMember);
-                    }
-                }
-                
-                if (team.getScrumMaster() != null) {
-                    User sm = team.getScrumMaster();
-                                                pt.up.edscrum.dto.dashboard.MemberWithRoleDTO smMember = new pt.up.edscrum.dto.dashboard.MemberWithRoleDTO(
-                                                        sm.getId(),
-                                                        sm.getName(),
-                                                        "Scrum Master",
-                                                        sm.getRole(),
-                                                        (int) studentAwardRepo.countByStudentIdAndProjectId(sm.getId(), project.getId()),
-                                                        studentAwardRepo.sumPointsByStudentAndProjectId(sm.getId(), project.getId())
-                                                );                    if (projectMembers.stream().noneMatch(m -> m.getId().equals(smMember.getId()))) {
-                        projectMembers.add(smMember);
-                    }
-                }
-                
-                if (team.getDevelopers() != null) {
-                    for (User developer : team.getDevelopers()) {
-                        pt.up.edscrum.dto.dashboard.MemberWithRoleDTO devMember = new pt.up.edscrum.dto.dashboard.MemberWithRoleDTO(
-                                developer.getId(),
-                                developer.getName(),
-                                "Developer",
-                                developer.getRole(),
-                                (int) studentAwardRepo.countByStudentIdAndProjectId(developer.getId(), project.getId()),
-                                studentAwardRepo.sumPointsByStudentAndProjectId(developer.getId(), project.getId())
-                        );
-                        if (projectMembers.stream().noneMatch(m -> m.getId().equals(devMember.getId()))) {
-                            projectMembers.add(devMember);
-                        }
-                    }
-                }
-            }
-        }
-        dto.setMembers(projectMembers);
-
-        return dto;
-    }
-
-    
-    private pt.up.edscrum.dto.dashboard.SprintWithProgressDTO convertSprintToDTO(Sprint sprint) {
-        pt.up.edscrum.dto.dashboard.SprintWithProgressDTO dto = new pt.up.edscrum.dto.dashboard.SprintWithProgressDTO();
-        dto.setId(sprint.getId());
-        dto.setName(sprint.getName());
-        dto.setDescription(sprint.getDescription());
-        dto.setStartDate(sprint.getStartDate());
-        dto.setEndDate(sprint.getEndDate());
-        dto.setStatus(sprint.getStatus());
-
-        
-        dto.setProgress(sprintService.calculateSprintProgress(sprint.getId()));
-
-        return dto;
-    }
 }
@@ -0,0 +1,263 @@
+package pt.up.edscrum.service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import pt.up.edscrum.model.Notification;
+import pt.up.edscrum.repository.NotificationRepository;
+
+@Service
+/**
+ * Persiste notificações fora da thread do pedido.
+ *
+ * As notificações são colocadas numa fila limitada e gravadas por uma única
+ * thread em lotes (`JdbcTemplate.batchUpdate`). Dentro de uma transação só
+ * entram na fila depois do commit (se a transação for desfeita, não há
+ * notificação). Se a fila estiver cheia, o excedente é gravado de imediato na
+ * thread que o enviou. Um lote que falhe é repetido e, se voltar a falhar,
+ * gravado uma notificação de cada vez, para que uma linha inválida não faça
+ * perder as restantes.
+ *
+ * A thread é iniciada e parada pelo ciclo de vida do Spring (depois de o
+ * servidor web parar, a fila é esvaziada). Notificações que cheguem à fila
+ * depois de a thread parar (ex.: um commit concluído durante o `stop()`) são
+ * gravadas na thread que as enviou, e o que ficar na fila quando o `stop()`
+ * termina a espera é gravado por ele. Com
+ * `edscrum.notifications.async=false` a gravação é síncrona, via
+ * `NotificationRepository`, na transação de quem criou a notificação.
+ */
+public class NotificationDispatcher implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    /**
+     * Número máximo de notificações gravadas por lote.
+     */
+    static final int BATCH_SIZE = 100;
+
+    /**
+     * Tentativas de gravar um lote inteiro antes de gravar uma a uma.
+     */
+    static final int BATCH_ATTEMPTS = 2;
+
+    private static final String INSERT_SQL = "INSERT INTO notifications "
+            + "(user_id, type, title, message, created_at, is_read) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate newTransaction;
+    private final NotificationRepository notificationRepository;
+    private final boolean async;
+    private final BlockingQueue<Notification> queue;
+    private volatile Thread worker;
+    private volatile boolean running;
+
+    public NotificationDispatcher(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            NotificationRepository notificationRepository,
+            @Value("${edscrum.notifications.async:true}") boolean async,
+            @Value("${edscrum.notifications.queue-capacity:10000}") int queueCapacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.notificationRepository = notificationRepository;
+        this.async = async;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    /**
+     * Envia notificações para gravação. Notificações repetidas na mesma
+     * chamada (mesmo destinatário, tipo, título e mensagem) são gravadas uma
+     * só vez; chamadas diferentes nunca se anulam.
+     *
+     * @param notifications notificações a gravar (já filtradas pelas
+     * preferências dos utilizadores)
+     */
+    public void dispatch(Collection<Notification> notifications) {
+        List<Notification> unique = withoutDuplicates(notifications);
+        if (unique.isEmpty()) {
+            return;
+        }
+        if (!async || !running) {
+            notificationRepository.saveAll(unique);
+            return;
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(unique);
+                }
+            });
+            return;
+        }
+        enqueue(unique);
+    }
+
+    /**
+     * Número de notificações à espera de serem gravadas.
+     */
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    @Override
+    public void start() {
+        if (!async || running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::drainLoop, "notification-dispatcher");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread current = worker;
+        if (current != null) {
+            try {
+                current.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            worker = null;
+        }
+        drainRemaining();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Arranca antes e pára depois do servidor web, para que os pedidos em
+     * curso ainda consigam enviar notificações para a fila.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void enqueue(List<Notification> notifications) {
+        if (!running) {
+            persist(notifications);
+            return;
+        }
+        List<Notification> overflow = new ArrayList<>();
+        for (Notification n : notifications) {
+            if (!queue.offer(n)) {
+                overflow.add(n);
+            }
+        }
+        if (!overflow.isEmpty()) {
+            persist(overflow);
+        }
+        // O stop() pode ter esvaziado a fila entre a verificação e o offer
+        if (!running) {
+            drainRemaining();
+        }
+    }
+
+    /**
+     * Grava na thread atual o que estiver na fila. Pode correr ao mesmo
+     * tempo que a thread de gravação: cada notificação só sai da fila uma vez.
+     */
+    private void drainRemaining() {
+        List<Notification> batch = new ArrayList<>(BATCH_SIZE);
+        while (queue.drainTo(batch, BATCH_SIZE) > 0) {
+            persist(batch);
+            batch.clear();
+        }
+    }
+
+    private void drainLoop() {
+        List<Notification> batch = new ArrayList<>(BATCH_SIZE);
+        while (running || !queue.isEmpty()) {
+            try {
+                Notification first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                persist(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Grava um lote na sua própria transação. Se falhar `BATCH_ATTEMPTS`
+     * vezes, grava as notificações uma a uma e regista as que não foi
+     * possível gravar (ex.: destinatário entretanto removido).
+     */
+    private void persist(List<Notification> batch) {
+        for (int attempt = 1; attempt <= BATCH_ATTEMPTS; attempt++) {
+            try {
+                insertBatch(batch);
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Falha ao gravar lote de {} notificações (tentativa {} de {})",
+                        batch.size(), attempt, BATCH_ATTEMPTS, e);
+            }
+        }
+        for (Notification n : batch) {
+            try {
+                insertBatch(List.of(n));
+            } catch (RuntimeException e) {
+                log.error("Notificação '{}' para o utilizador {} não foi gravada",
+                        n.getTitle(), n.getUser().getId(), e);
+            }
+        }
+    }
+
+    private void insertBatch(List<Notification> notifications) {
+        newTransaction.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT_SQL, notifications, BATCH_SIZE, (ps, n) -> {
+                    ps.setLong(1, n.getUser().getId());
+                    ps.setString(2, n.getType().name());
+                    ps.setString(3, n.getTitle());
+                    ps.setString(4, n.getMessage());
+                    ps.setTimestamp(5, Timestamp.valueOf(n.getCreatedAt()));
+                    ps.setBoolean(6, n.isRead());
+                }));
+    }
+
+    /**
+     * Remove as notificações repetidas de uma mesma chamada (mesmo
+     * destinatário, tipo, título e mensagem), mantendo a primeira de cada.
+     */
+    private static List<Notification> withoutDuplicates(Collection<Notification> notifications) {
+        Map<String, Notification> unique = new LinkedHashMap<>();
+        for (Notification n : notifications) {
+            String key = n.getUser().getId() + "|" + n.getType() + "|" + n.getTitle() + "|" + n.getMessage();
+            unique.putIfAbsent(key, n);
+        }
+        return new ArrayList<>(unique.values());
+    }
+}
@@ -1,11 +1,15 @@
 package pt.up.edscrum.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import pt.up.edscrum.dto.NotificationDTO;
 import pt.up.edscrum.enums.NotificationType;
 import pt.up.edscrum.model.Notification;
 import pt.up.edscrum.model.User;
 import pt.up.edscrum.repository.NotificationRepository;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 @Service
@@ -15,9 +19,17 @@ import java.util.List;
  */
 public class NotificationService {
 
+    /**
+     * Tamanho máximo de uma página do histórico de notificações.
+     */
+    public static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private NotificationRepository notificationRepository;
 
+    @Autowired
+    private NotificationDispatcher notificationDispatcher;
+
     /**
      * Cria uma notificação automática verificando as preferências do utilizador.
      */
@@ -29,8 +41,23 @@ public class NotificationService {
 
         if (shouldNotify) {
             Notification notification = new Notification(user, type, title, message);
-            notificationRepository.save(notification);
+            notificationDispatcher.dispatch(List.of(notification));
+        }
+    }
+
+    /**
+     * Cria a mesma notificação para vários utilizadores (ex.: membros de uma
+     * equipa), respeitando as preferências de cada um. As notificações são
+     * enviadas em conjunto e um utilizador repetido recebe apenas uma.
+     */
+    public void createNotifications(Collection<User> users, NotificationType type, String title, String message) {
+        List<Notification> notifications = new ArrayList<>();
+        for (User user : users) {
+            if (user != null && checkUserPreference(user, type)) {
+                notifications.add(new Notification(user, type, title, message));
+            }
         }
+        notificationDispatcher.dispatch(notifications);
     }
 
     private boolean checkUserPreference(User user, NotificationType type) {
@@ -52,6 +79,32 @@ public class NotificationService {
         return notificationRepository.findByUserIdOrderByCreatedAtDesc(userId);
     }
 
+    /**
+     * Obtém uma página do histórico de notificações (mais recentes primeiro).
+     * A página seguinte é pedida passando o id da última notificação
+     * recebida em `beforeId`.
+     *
+     * @param userId id do utilizador
+     * @param beforeId id da última notificação da página anterior (null para
+     * a primeira página)
+     * @param limit tamanho da página (entre 1 e `MAX_PAGE_SIZE`)
+     * @return notificações da página
+     */
+    public List<NotificationDTO> getNotificationPage(Long userId, Long beforeId, int limit) {
+        PageRequest page = PageRequest.of(0, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+        if (beforeId == null) {
+            return notificationRepository.findFirstPageByUserId(userId, page);
+        }
+        return notificationRepository.findPageByUserIdBefore(userId, beforeId, page);
+    }
+
+    /**
+     * Número de notificações por ler de um utilizador.
+     */
+    public long getUnreadCount(Long userId) {
+        return notificationRepository.countByUserIdAndReadFalse(userId);
+    }
+
     public java.util.Optional<Notification> getNotificationById(Long id) {
         return notificationRepository.findById(id);
     }
@@ -64,8 +117,6 @@ public class NotificationService {
     }
     
     public void markAllAsRead(Long userId) {
-        List<Notification> unread = notificationRepository.findByUserIdAndReadFalseOrderByCreatedAtDesc(userId);
-        unread.forEach(n -> n.setRead(true));
-        notificationRepository.saveAll(unread);
+        notificationRepository.markAllAsReadByUserId(userId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,151 @@
+package pt.up.edscrum.service;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Service;
+
+import pt.up.edscrum.dto.UserImageDTO;
+import pt.up.edscrum.repository.UserRepository;
+
+@Service
+/**
+ * Cache id → imagem de perfil dos utilizadores. As imagens são carregadas
+ * apenas para os ids pedidos (com uma query por lote) e mantidas em memória
+ * até serem invalidadas por `evict` (alteração de perfil ou remoção do
+ * utilizador).
+ */
+public class ProfileImageCache {
+
+    private final UserRepository userRepository;
+
+    /**
+     * Optional vazio = utilizador existe mas não tem imagem.
+     */
+    private final Map<Long, Optional<String>> images = new ConcurrentHashMap<>();
+
+    public ProfileImageCache(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Obtém a imagem de perfil de um utilizador.
+     *
+     * @param userId id do utilizador
+     * @return nome do ficheiro da imagem ou null se não tiver
+     */
+    public String getImage(Long userId) {
+        if (userId == null) {
+            return null;
+        }
+        Optional<String> cached = images.get(userId);
+        if (cached == null) {
+            return getImages(List.of(userId)).get(userId);
+        }
+        return cached.orElse(null);
+    }
+
+    /**
+     * Obtém as imagens de perfil de um conjunto de utilizadores, carregando
+     * numa única query as que ainda não estão em cache.
+     *
+     * @param userIds ids dos utilizadores
+     * @return mapa id → imagem (apenas utilizadores com imagem)
+     */
+    public Map<Long, String> getImages(Collection<Long> userIds) {
+        List<Long> missing = new ArrayList<>();
+        for (Long id : userIds) {
+            if (id != null && !images.containsKey(id)) {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (UserImageDTO row : userRepository.findProfileImagesByIds(missing)) {
+                images.put(row.getId(), Optional.ofNullable(row.getProfileImage()));
+            }
+        }
+
+        Map<Long, String> result = new HashMap<>();
+        for (Long id : userIds) {
+            Optional<String> cached = id != null ? images.get(id) : null;
+            if (cached != null && cached.isPresent()) {
+                result.put(id, cached.get());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Remove um utilizador da cache (a próxima leitura volta à base de dados).
+     *
+     * @param userId id do utilizador
+     */
+    public void evict(Long userId) {
+        if (userId != null) {
+            images.remove(userId);
+        }
+    }
+
+    /**
+     * Cria uma vista `Map` que resolve as imagens apenas quando um id é
+     * consultado (ex.: `userProfileImageMap[id]` nas views). Não faz nenhuma
+     * query enquanto nenhum id for pedido.
+     *
+     * @return mapa preguiçoso id → imagem
+     */
+    public Map<Long, String> lazyView() {
+        return new LazyImageMap(this);
+    }
+
+    /**
+     * Mapa resolvido a pedido. Memoriza os ids já consultados durante o pedido
+     * atual; `entrySet` expõe apenas esses.
+     */
+    private static final class LazyImageMap extends AbstractMap<Long, String> {
+
+        private final ProfileImageCache cache;
+        private final Map<Long, String> resolved = new HashMap<>();
+
+        LazyImageMap(ProfileImageCache cache) {
+            this.cache = cache;
+        }
+
+        @Override
+        public String get(Object key) {
+            if (!(key instanceof Number)) {
+                return null;
+            }
+            Long id = ((Number) key).longValue();
+            if (resolved.containsKey(id)) {
+                return resolved.get(id);
+            }
+            String image = cache.getImage(id);
+            resolved.put(id, image);
+            return image;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public Set<Entry<Long, String>> entrySet() {
+            Map<Long, String> present = new HashMap<>();
+            resolved.forEach((id, image) -> {
+                if (image != null) {
+                    present.put(id, image);
+                }
+            });
+            return Collections.unmodifiableMap(present).entrySet();
+        }
+    }
+}
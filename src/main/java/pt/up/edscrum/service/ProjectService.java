@@ -1,8 +1,15 @@
 package pt.up.edscrum.service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import pt.up.edscrum.event.AwardEvent;
 
 import pt.up.edscrum.model.Project;
 import pt.up.edscrum.model.Team;
@@ -19,12 +26,12 @@ public class ProjectService {
 
     private final ProjectRepository projectRepository;
     private final TeamRepository teamRepository;
-    private final pt.up.edscrum.service.AwardService awardService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public ProjectService(ProjectRepository projectRepository, TeamRepository teamRepository, pt.up.edscrum.service.AwardService awardService) {
+    public ProjectService(ProjectRepository projectRepository, TeamRepository teamRepository, ApplicationEventPublisher eventPublisher) {
         this.projectRepository = projectRepository;
         this.teamRepository = teamRepository;
-        this.awardService = awardService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -32,6 +39,7 @@ public class ProjectService {
      *
      * @return Lista de Project
      */
+    @Transactional(readOnly = true)
     public List<Project> getAllProjects() {
         return projectRepository.findAll();
     }
@@ -94,7 +102,8 @@ public class ProjectService {
 
     /**
      * Marca um projeto como concluído, validando que todos os sprints
-     * associados estão concluídos, e atribui prémios automáticos.
+     * associados estão concluídos, e publica `ProjectCompleted` (prémios
+     * automáticos dos membros e das equipas).
      *
      * @param projectId ID do projeto a concluir
      */
@@ -114,24 +123,23 @@ public class ProjectService {
         projectRepository.save(project);
 
         if (project.getTeams() != null) {
+            Set<Long> memberIds = new LinkedHashSet<>();
+            List<Long> teamIds = new ArrayList<>();
             for (Team team : project.getTeams()) {
+                teamIds.add(team.getId());
                 if (team.getScrumMaster() != null) {
-                    awardService.assignAutomaticAwardToStudentByName("Conquistador de Projetos", "Concluíste o teu primeiro projeto.", 100, team.getScrumMaster().getId(), projectId);
+                    memberIds.add(team.getScrumMaster().getId());
                 }
                 if (team.getProductOwner() != null) {
-                    awardService.assignAutomaticAwardToStudentByName("Conquistador de Projetos", "Concluíste o teu primeiro projeto.", 100, team.getProductOwner().getId(), projectId);
+                    memberIds.add(team.getProductOwner().getId());
                 }
                 if (team.getDevelopers() != null) {
                     for (pt.up.edscrum.model.User dev : team.getDevelopers()) {
-                        awardService.assignAutomaticAwardToStudentByName("Conquistador de Projetos", "Concluíste o teu primeiro projeto.", 100, dev.getId(), projectId);
+                        memberIds.add(dev.getId());
                     }
                 }
-
-                try {
-                    awardService.assignAutomaticAwardToTeamByName("Conquistadores de Projeto", "A equipa concluiu este projeto com sucesso.", 150, team.getId(), projectId);
-                } catch (Exception e) {
-                }
             }
+            eventPublisher.publishEvent(new AwardEvent.ProjectCompleted(projectId, memberIds, teamIds));
         }
     }
 
@@ -146,19 +154,11 @@ public class ProjectService {
         projectRepository.save(project);
     }
 
+    @Transactional(readOnly = true)
     public boolean isUserProductOwner(Long userId, Long projectId) {
-        Project project = getProjectById(projectId);
-        if (project.getTeams() == null) {
-            return false;
-        }
-
-        for (Team team : project.getTeams()) {
-            if (team.getProductOwner() != null && team.getProductOwner().getId() != null && team.getProductOwner().getId().equals(userId)) {
-                return true;
-            }
-        }
-
-        return false;
+        // Só um EXISTS: não carrega o projeto, que a seguir é alterado por
+        // completeProject/reopenProject no mesmo pedido
+        return teamRepository.existsByProjectIdAndProductOwnerId(projectId, userId);
     }
 
     /**
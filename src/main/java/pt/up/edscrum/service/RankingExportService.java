@@ -0,0 +1,223 @@
+package pt.up.edscrum.service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import pt.up.edscrum.dto.dashboard.IdNameRowDTO;
+import pt.up.edscrum.dto.dashboard.RankingExportRowDTO;
+import pt.up.edscrum.dto.dashboard.TeamExportRowDTO;
+import pt.up.edscrum.model.Course;
+import pt.up.edscrum.repository.CourseRepository;
+import pt.up.edscrum.repository.EnrollmentRepository;
+import pt.up.edscrum.repository.ScoreRepository;
+import pt.up.edscrum.repository.TeamRepository;
+
+@Service
+/**
+ * Gera o relatório CSV de rankings de um professor escrevendo diretamente
+ * para um `Writer`. Os estudantes são lidos por páginas de linhas já
+ * agregadas (utilizador, pontos, cursos e equipa), pelo que a memória usada
+ * não depende do número de estudantes. Os estudantes com `Score` seguem por
+ * keyset em (pontos, id do `Score`), a ordem do índice `idx_score_points`;
+ * depois vêm os estudantes sem `Score` (0 pontos), por keyset no id.
+ *
+ * Cada página (e cada secção de equipas) é lida numa transação curta só de
+ * leitura e escrita depois de a transação terminar, para que uma exportação
+ * lenta não prenda uma ligação do pool durante todo o download.
+ */
+public class RankingExportService {
+
+    /**
+     * Número de estudantes lidos por query.
+     */
+    static final int PAGE_SIZE = 500;
+
+    private static final String SEP = ";";
+    private static final String EOL = "\r\n";
+
+    private final CourseRepository courseRepo;
+    private final EnrollmentRepository enrollmentRepo;
+    private final ScoreRepository scoreRepo;
+    private final TeamRepository teamRepo;
+    private final TransactionTemplate readTransaction;
+
+    public RankingExportService(CourseRepository courseRepo, EnrollmentRepository enrollmentRepo,
+            ScoreRepository scoreRepo, TeamRepository teamRepo, PlatformTransactionManager transactionManager) {
+        this.courseRepo = courseRepo;
+        this.enrollmentRepo = enrollmentRepo;
+        this.scoreRepo = scoreRepo;
+        this.teamRepo = teamRepo;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Escreve o relatório de rankings (estudantes e equipas por curso) dos
+     * cursos de um professor.
+     *
+     * @param teacherId id do professor
+     * @param teacherName nome do professor (cabeçalho)
+     * @param out destino do CSV
+     * @throws IOException se a escrita falhar
+     */
+    public void writeTeacherRankingsCsv(Long teacherId, String teacherName, Writer out) throws IOException {
+        out.write('\uFEFF');
+
+        LocalDateTime now = LocalDateTime.now();
+        out.write("Report Generated" + SEP
+                + quote(now.toLocalDate().format(DateTimeFormatter.ISO_DATE)) + SEP
+                + quote(now.toLocalTime().format(DateTimeFormatter.ofPattern("HH:mm:ss"))) + EOL);
+        out.write("Teacher" + SEP + quote(teacherName) + EOL);
+        out.write("Total Students" + SEP + enrollmentRepo.countDistinctStudentsByTeacherId(teacherId) + EOL + EOL);
+
+        writeStudentSection(teacherId, out);
+        out.write(EOL);
+
+        for (Course c : courseRepo.findByTeacherId(teacherId)) {
+            writeTeamSection(c, readTransaction.execute(status -> readTeamSection(c)), out);
+        }
+        out.flush();
+    }
+
+    private void writeStudentSection(Long teacherId, Writer out) throws IOException {
+        out.write("Position" + SEP + "UPT_ID" + SEP + "StudentTag" + SEP + "Name" + SEP + "Email" + SEP
+                + "Courses" + SEP + "Team" + SEP + "TotalPoints" + EOL);
+
+        int position = 0;
+        RankingExportRowDTO last = null;
+        while (true) {
+            RankingExportRowDTO after = last;
+            StudentPage page = readTransaction.execute(status -> readScoredPage(teacherId, after));
+            position = writeStudentRows(page, position, out);
+            if (page.rows().size() < PAGE_SIZE) {
+                break;
+            }
+            last = page.rows().get(page.rows().size() - 1);
+        }
+
+        long afterId = 0L;
+        while (true) {
+            long after = afterId;
+            StudentPage page = readTransaction.execute(status -> readStudentPage(teacherId,
+                    scoreRepo.findUnscoredRankingExportPage(teacherId, after, PageRequest.of(0, PAGE_SIZE))));
+            position = writeStudentRows(page, position, out);
+            if (page.rows().size() < PAGE_SIZE) {
+                break;
+            }
+            afterId = page.rows().get(page.rows().size() - 1).getId();
+        }
+    }
+
+    private StudentPage readScoredPage(Long teacherId, RankingExportRowDTO last) {
+        return readStudentPage(teacherId, last == null
+                ? scoreRepo.findRankingExportFirstPage(teacherId, PageRequest.of(0, PAGE_SIZE))
+                : scoreRepo.findRankingExportPageAfter(teacherId, last.getTotalPoints(), last.getScoreId(), PageRequest.of(0, PAGE_SIZE)));
+    }
+
+    private StudentPage readStudentPage(Long teacherId, List<RankingExportRowDTO> rows) {
+        Map<Long, List<String>> coursesByStudent = new HashMap<>();
+        Map<Long, String> teamByStudent = new HashMap<>();
+        if (rows.isEmpty()) {
+            return new StudentPage(rows, coursesByStudent, teamByStudent);
+        }
+
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (RankingExportRowDTO r : rows) {
+            ids.add(r.getId());
+        }
+        for (IdNameRowDTO row : enrollmentRepo.findCourseNameRowsByTeacherId(teacherId, ids)) {
+            coursesByStudent.computeIfAbsent(row.getId(), k -> new ArrayList<>()).add(row.getName());
+        }
+        for (IdNameRowDTO row : teamRepo.findTeamNameRowsByTeacherId(teacherId, ids)) {
+            teamByStudent.putIfAbsent(row.getId(), row.getName());
+        }
+        return new StudentPage(rows, coursesByStudent, teamByStudent);
+    }
+
+    private int writeStudentRows(StudentPage page, int position, Writer out) throws IOException {
+        for (RankingExportRowDTO r : page.rows()) {
+            position++;
+            out.write(position + SEP
+                    + quote("UPT-" + r.getId()) + SEP
+                    + quote(r.getStudentTag()) + SEP
+                    + quote(r.getName()) + SEP
+                    + quote(r.getEmail()) + SEP
+                    + quote(String.join(", ", page.coursesByStudent().getOrDefault(r.getId(), List.of()))) + SEP
+                    + quote(page.teamByStudent().get(r.getId())) + SEP
+                    + r.getTotalPoints() + EOL);
+        }
+        out.flush();
+        return position;
+    }
+
+    private TeamSection readTeamSection(Course c) {
+        List<TeamExportRowDTO> teams = scoreRepo.findTeamExportRows(c.getId());
+        Map<Long, List<String>> membersByTeam = new HashMap<>();
+        if (teams.isEmpty()) {
+            return new TeamSection(teams, membersByTeam);
+        }
+
+        List<Long> teamIds = new ArrayList<>(teams.size());
+        for (TeamExportRowDTO t : teams) {
+            teamIds.add(t.getTeamId());
+        }
+        // Mesma ordem de TeamService.getTeamMembers: SM, PO e Developers
+        List<IdNameRowDTO> memberRows = new ArrayList<>(teamRepo.findScrumMasterNamesByTeamIds(teamIds));
+        memberRows.addAll(teamRepo.findProductOwnerNamesByTeamIds(teamIds));
+        memberRows.addAll(teamRepo.findDeveloperNamesByTeamIds(teamIds));
+        for (IdNameRowDTO row : memberRows) {
+            membersByTeam.computeIfAbsent(row.getId(), k -> new ArrayList<>()).add(row.getName() != null ? row.getName() : "");
+        }
+        return new TeamSection(teams, membersByTeam);
+    }
+
+    private void writeTeamSection(Course c, TeamSection section, Writer out) throws IOException {
+        out.write("Team Rankings for Course" + SEP + quote(c.getName()) + EOL);
+        out.write("Position" + SEP + "TeamID" + SEP + "TeamName" + SEP + "Members" + SEP + "ProjectName" + SEP + "TotalPoints" + EOL);
+
+        if (section.teams().isEmpty()) {
+            out.write("(no teams)" + EOL + EOL);
+            return;
+        }
+
+        int position = 0;
+        for (TeamExportRowDTO t : section.teams()) {
+            position++;
+            out.write(position + SEP
+                    + (t.getTeamId() != null ? t.getTeamId() : 0) + SEP
+                    + quote(t.getTeamName()) + SEP
+                    + quote(String.join(", ", section.membersByTeam().getOrDefault(t.getTeamId(), List.of()))) + SEP
+                    + quote(t.getProjectName()) + SEP
+                    + t.getTotalPoints() + EOL);
+        }
+        out.write(EOL);
+    }
+
+    private static String quote(String value) {
+        return '"' + (value != null ? value.replace("\"", "\"\"") : "") + '"';
+    }
+
+    /**
+     * Página de estudantes já lida, com os cursos e a equipa de cada um.
+     */
+    private record StudentPage(List<RankingExportRowDTO> rows, Map<Long, List<String>> coursesByStudent,
+            Map<Long, String> teamByStudent) {
+    }
+
+    /**
+     * Equipas de um curso já lidas, com os nomes dos membros.
+     */
+    private record TeamSection(List<TeamExportRowDTO> teams, Map<Long, List<String>> membersByTeam) {
+    }
+}
@@ -0,0 +1,437 @@
+package pt.up.edscrum.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import pt.up.edscrum.dto.dashboard.RankingDTO;
+import pt.up.edscrum.dto.dashboard.RankingRowDTO;
+import pt.up.edscrum.event.RankingChangedEvent;
+import pt.up.edscrum.repository.ScoreRepository;
+
+@Service
+/**
+ * Índice em memória dos rankings de estudantes (por curso e global).
+ *
+ * Cada ranking é guardado como um `Snapshot` imutável: a lista ordenada por
+ * pontos, um mapa id → posição e as estatísticas (média, mínimo, máximo)
+ * pré-calculadas, pelo que posição, top-K e estatísticas são O(1). Um
+ * snapshot só é lido por inteiro da base de dados na primeira consulta; depois
+ * do commit de uma transação que alterou pontos, os snapshots em cache são
+ * atualizados em memória com as linhas dos utilizadores alterados (uma query
+ * pelos ids). Uma inscrição descarta só o ranking do seu curso e uma
+ * alteração sem âmbito conhecido descarta todos.
+ *
+ * Cada âmbito (global e cada curso) tem a sua versão, pelo que uma escrita só
+ * impede que entre em cache uma reconstrução do âmbito que afeta. Dentro de
+ * uma transação com alterações por confirmar, os rankings afetados são lidos
+ * num snapshot local à transação, que nunca chega à cache partilhada. Ficam
+ * em cache no máximo `MAX_COURSE_SNAPSHOTS` cursos (os usados há menos
+ * tempo).
+ */
+public class RankingService {
+
+    static final int MAX_COURSE_SNAPSHOTS = 256;
+
+    private final ScoreRepository scoreRepo;
+
+    /**
+     * Transação nova (e não só de leitura, para ir ao primário) usada para
+     * ler as linhas alteradas depois do commit.
+     */
+    private final TransactionTemplate newTransaction;
+
+    private final Object lock = new Object();
+    private final Map<Long, Snapshot> courseSnapshots = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Snapshot> eldest) {
+            return size() > MAX_COURSE_SNAPSHOTS;
+        }
+    };
+    private Snapshot globalSnapshot;
+
+    /**
+     * Contador de versões (protegido por `lock`). Cada alteração confirmada
+     * recebe um valor novo, guardado no âmbito que afeta; uma reconstrução
+     * iniciada com o contador em `n` só entra em cache se o seu âmbito não
+     * tiver versão superior a `n`.
+     */
+    private long clock;
+    private long allVersion;
+    private long globalVersion;
+    private final Map<Long, Long> courseVersions = new HashMap<>();
+
+    public RankingService(ScoreRepository scoreRepo, PlatformTransactionManager transactionManager) {
+        this.scoreRepo = scoreRepo;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Regista uma alteração. Numa transação, é aplicada à cache só depois do
+     * commit (e descartada num rollback); até lá, as leituras dessa transação
+     * usam snapshots locais. Sem transação, é aplicada de imediato.
+     *
+     * @param event âmbito da alteração
+     */
+    @EventListener
+    public void onRankingChanged(RankingChangedEvent event) {
+        PendingChanges pending = currentPendingChanges(true);
+        if (pending == null) {
+            apply(List.of(event));
+            return;
+        }
+        pending.add(event);
+    }
+
+    /**
+     * Ranking dos estudantes inscritos num curso.
+     *
+     * @param courseId id do curso
+     * @return `Snapshot` atualizado do ranking do curso
+     */
+    public Snapshot getCourseRanking(Long courseId) {
+        PendingChanges pending = currentPendingChanges(false);
+        if (pending != null) {
+            Snapshot local = pending.courseSnapshots.get(courseId);
+            if (local != null) {
+                return local;
+            }
+        }
+
+        long seen;
+        synchronized (lock) {
+            Snapshot current = courseSnapshots.get(courseId);
+            if (current != null && (pending == null || !pending.affectsCourse(courseId, current))) {
+                return current;
+            }
+            seen = clock;
+        }
+        Snapshot rebuilt = new Snapshot(scoreRepo.getStudentRankingForCourse(courseId));
+        if (pending != null && pending.affectsCourse(courseId, rebuilt)) {
+            pending.courseSnapshots.put(courseId, rebuilt);
+            return rebuilt;
+        }
+        synchronized (lock) {
+            if (courseVersion(courseId) <= seen) {
+                courseSnapshots.put(courseId, rebuilt);
+            }
+        }
+        return rebuilt;
+    }
+
+    /**
+     * Ranking global de todos os utilizadores com `Score`.
+     *
+     * @return `Snapshot` atualizado do ranking global
+     */
+    public Snapshot getGlobalRanking() {
+        PendingChanges pending = currentPendingChanges(false);
+        if (pending != null && pending.affectsGlobal()) {
+            if (pending.globalSnapshot == null) {
+                pending.globalSnapshot = new Snapshot(scoreRepo.getGlobalStudentRanking());
+            }
+            return pending.globalSnapshot;
+        }
+
+        long seen;
+        synchronized (lock) {
+            if (globalSnapshot != null) {
+                return globalSnapshot;
+            }
+            seen = clock;
+        }
+        Snapshot rebuilt = new Snapshot(scoreRepo.getGlobalStudentRanking());
+        synchronized (lock) {
+            if (Math.max(allVersion, globalVersion) <= seen) {
+                globalSnapshot = rebuilt;
+            }
+        }
+        return rebuilt;
+    }
+
+    private long courseVersion(Long courseId) {
+        return Math.max(allVersion, courseVersions.getOrDefault(courseId, 0L));
+    }
+
+    /**
+     * Aplica alterações confirmadas à cache partilhada.
+     */
+    private void apply(Collection<RankingChangedEvent> events) {
+        Set<Long> userIds = new LinkedHashSet<>();
+        Set<Long> courseIds = new LinkedHashSet<>();
+        for (RankingChangedEvent event : events) {
+            switch (event) {
+                case RankingChangedEvent.UsersChanged users -> userIds.addAll(users.userIds());
+                case RankingChangedEvent.CourseChanged course -> courseIds.add(course.courseId());
+                case RankingChangedEvent.AllChanged all -> {
+                    synchronized (lock) {
+                        allVersion = ++clock;
+                        courseVersions.clear();
+                        globalSnapshot = null;
+                        courseSnapshots.clear();
+                    }
+                    return;
+                }
+            }
+        }
+
+        if (!courseIds.isEmpty()) {
+            synchronized (lock) {
+                long version = ++clock;
+                for (Long courseId : courseIds) {
+                    courseVersions.put(courseId, version);
+                    courseSnapshots.remove(courseId);
+                }
+            }
+        }
+        if (!userIds.isEmpty()) {
+            patchUsers(userIds);
+        }
+    }
+
+    /**
+     * Relê as linhas dos utilizadores alterados e atualiza os snapshots em
+     * cache que os contêm. Um snapshot cujo âmbito mudou durante a leitura é
+     * descartado, porque as linhas lidas podem já estar desatualizadas.
+     */
+    private void patchUsers(Set<Long> userIds) {
+        long seen;
+        synchronized (lock) {
+            seen = clock;
+        }
+        List<RankingRowDTO> globalRows = new ArrayList<>();
+        Map<Long, List<RankingRowDTO>> courseRows = new HashMap<>();
+        newTransaction.executeWithoutResult(status -> {
+            globalRows.addAll(scoreRepo.findGlobalRankingRowsForUsers(userIds));
+            for (RankingRowDTO row : scoreRepo.findCourseRankingRowsForUsers(userIds)) {
+                courseRows.computeIfAbsent(row.getCourseId(), id -> new ArrayList<>()).add(row);
+            }
+        });
+
+        synchronized (lock) {
+            long version = ++clock;
+
+            if (globalSnapshot != null) {
+                globalSnapshot = Math.max(allVersion, globalVersion) <= seen
+                        ? globalSnapshot.patched(userIds, globalRows)
+                        : null;
+            }
+            globalVersion = version;
+
+            for (Map.Entry<Long, Snapshot> entry : courseSnapshots.entrySet()) {
+                Long courseId = entry.getKey();
+                Snapshot snapshot = entry.getValue();
+                List<RankingRowDTO> rows = courseRows.getOrDefault(courseId, List.of());
+                if (rows.isEmpty() && userIds.stream().noneMatch(id -> snapshot.rankOf(id) > 0)) {
+                    continue;
+                }
+                entry.setValue(courseVersion(courseId) <= seen ? snapshot.patched(userIds, rows) : null);
+            }
+            courseSnapshots.values().removeIf(s -> s == null);
+            for (Long courseId : courseRows.keySet()) {
+                courseVersions.put(courseId, version);
+            }
+        }
+    }
+
+    private PendingChanges currentPendingChanges(boolean create) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        return TransactionSynchronizationManager.getSynchronizations().stream()
+                .filter(PendingChanges.class::isInstance)
+                .map(PendingChanges.class::cast)
+                .findFirst()
+                .orElseGet(() -> {
+                    if (!create) {
+                        return null;
+                    }
+                    PendingChanges created = new PendingChanges();
+                    TransactionSynchronizationManager.registerSynchronization(created);
+                    return created;
+                });
+    }
+
+    /**
+     * Alterações feitas numa transação e os snapshots locais que elas
+     * afetam. As alterações são aplicadas à cache partilhada depois do
+     * commit.
+     */
+    private final class PendingChanges implements TransactionSynchronization {
+
+        private final Set<RankingChangedEvent> events = new LinkedHashSet<>();
+        private final Map<Long, Snapshot> courseSnapshots = new HashMap<>();
+        private Snapshot globalSnapshot;
+
+        void add(RankingChangedEvent event) {
+            events.add(event);
+            if (!(event instanceof RankingChangedEvent.CourseChanged)) {
+                globalSnapshot = null;
+            }
+            courseSnapshots.entrySet().removeIf(e -> affectsCourse(event, e.getKey(), e.getValue()));
+        }
+
+        boolean affectsGlobal() {
+            return events.stream().anyMatch(e -> !(e instanceof RankingChangedEvent.CourseChanged));
+        }
+
+        boolean affectsCourse(Long courseId, Snapshot snapshot) {
+            return events.stream().anyMatch(e -> affectsCourse(e, courseId, snapshot));
+        }
+
+        private static boolean affectsCourse(RankingChangedEvent event, Long courseId, Snapshot snapshot) {
+            return switch (event) {
+                case RankingChangedEvent.UsersChanged users ->
+                    users.userIds().stream().anyMatch(id -> snapshot.rankOf(id) > 0);
+                case RankingChangedEvent.CourseChanged course -> course.courseId().equals(courseId);
+                case RankingChangedEvent.AllChanged all -> true;
+            };
+        }
+
+        @Override
+        public void afterCommit() {
+            apply(events);
+        }
+    }
+
+    /**
+     * Vista imutável de um ranking ordenado por pontos decrescentes (e, em
+     * caso de empate, pelo critério de desempate da query que o gerou).
+     */
+    public static final class Snapshot {
+
+        private final List<RankingDTO> ordered;
+        private final long[] tieKeys;
+        private final Map<Long, Integer> positionById;
+        private final double average;
+        private final long min;
+        private final long max;
+
+        Snapshot(List<RankingRowDTO> rows) {
+            this(rows.stream().map(RankingRowDTO::toRankingDTO).toList(),
+                    rows.stream().mapToLong(RankingRowDTO::getTieKey).toArray());
+        }
+
+        private Snapshot(List<RankingDTO> ordered, long[] tieKeys) {
+            this.ordered = Collections.unmodifiableList(ordered);
+            this.tieKeys = tieKeys;
+            this.positionById = new HashMap<>(ordered.size() * 2);
+
+            long sum = 0;
+            for (int i = 0; i < ordered.size(); i++) {
+                RankingDTO r = ordered.get(i);
+                positionById.putIfAbsent(r.getId(), i + 1);
+                sum += r.getTotalPoints();
+            }
+            this.average = ordered.isEmpty() ? 0.0 : (double) sum / ordered.size();
+            this.max = ordered.isEmpty() ? 0 : ordered.get(0).getTotalPoints();
+            this.min = ordered.isEmpty() ? 0 : ordered.get(ordered.size() - 1).getTotalPoints();
+        }
+
+        /**
+         * Cópia deste snapshot com as entradas dos utilizadores indicados
+         * substituídas pelas linhas novas, inseridas na posição ordenada.
+         *
+         * @param userIds utilizadores a substituir
+         * @param rows linhas atuais desses utilizadores neste ranking
+         * @return novo `Snapshot`
+         */
+        Snapshot patched(Set<Long> userIds, List<RankingRowDTO> rows) {
+            List<RankingDTO> entries = new ArrayList<>(ordered.size() + rows.size());
+            List<Long> keys = new ArrayList<>(ordered.size() + rows.size());
+            for (int i = 0; i < ordered.size(); i++) {
+                if (!userIds.contains(ordered.get(i).getId())) {
+                    entries.add(ordered.get(i));
+                    keys.add(tieKeys[i]);
+                }
+            }
+            for (RankingRowDTO row : rows) {
+                int at = insertionPoint(entries, keys, row.getTotalPoints(), row.getTieKey());
+                entries.add(at, row.toRankingDTO());
+                keys.add(at, row.getTieKey());
+            }
+            return new Snapshot(entries, keys.stream().mapToLong(Long::longValue).toArray());
+        }
+
+        private static int insertionPoint(List<RankingDTO> entries, List<Long> keys, long points, long tieKey) {
+            int low = 0;
+            int high = entries.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                long midPoints = entries.get(mid).getTotalPoints();
+                boolean before = midPoints > points || (midPoints == points && keys.get(mid) < tieKey);
+                if (before) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * @return lista completa ordenada por pontos decrescentes
+         */
+        public List<RankingDTO> getAll() {
+            return ordered;
+        }
+
+        public int size() {
+            return ordered.size();
+        }
+
+        public boolean isEmpty() {
+            return ordered.isEmpty();
+        }
+
+        /**
+         * @param userId id do utilizador
+         * @return posição (1-based) do utilizador, ou 0 se não estiver no ranking
+         */
+        public int rankOf(Long userId) {
+            return positionById.getOrDefault(userId, 0);
+        }
+
+        /**
+         * @param k número máximo de entradas
+         * @return os primeiros `k` do ranking
+         */
+        public List<RankingDTO> top(int k) {
+            return ordered.subList(0, Math.min(k, ordered.size()));
+        }
+
+        /**
+         * @return primeiro classificado, ou null se o ranking estiver vazio
+         */
+        public RankingDTO first() {
+            return ordered.isEmpty() ? null : ordered.get(0);
+        }
+
+        public double getAverage() {
+            return average;
+        }
+
+        public long getMin() {
+            return min;
+        }
+
+        public long getMax() {
+            return max;
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package pt.up.edscrum.service;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import pt.up.edscrum.dto.dashboard.SprintProgressDTO;
 import pt.up.edscrum.enums.NotificationType;
 import pt.up.edscrum.enums.ProjectStatus;
 import pt.up.edscrum.enums.UserStoryStatus;
@@ -43,6 +46,7 @@ public class SprintService {
      * @param projectId id do projeto
      * @return lista de `Sprint`
      */
+    @Transactional(readOnly = true)
     public List<Sprint> getSprintsByProject(Long projectId) {
         return sprintRepository.findByProjectId(projectId);
     }
@@ -103,47 +107,42 @@ public class SprintService {
      * @param storyId id da user story
      * @param newStatus novo estado (nome do enum `UserStoryStatus`)
      */
+    @Transactional
     public void updateUserStoryStatus(Long storyId, String newStatus) {
         UserStory story = userStoryRepository.findById(storyId).orElseThrow();
-        story.setStatus(UserStoryStatus.valueOf(newStatus));
+        UserStoryStatus status = UserStoryStatus.valueOf(newStatus);
+        UserStoryStatus previous = userStoryRepository.changeStatus(storyId, story.getStatus(), status);
+        if (story.getSprint() != null) {
+            sprintRepository.moveStoryStatus(story.getSprint().getId(), previous, status);
+        }
+        story.setStatus(status);
         userStoryRepository.save(story);
     }
 
     /**
      * Calcula a percentagem de progresso de um sprint com base no estado das
-     * suas user stories (TODO=0%, IN_PROGRESS=25%, TESTING=75%, DONE=100%).
+     * suas user stories (pesos de `UserStoryStatus`), numa única query
+     * agregada e sem carregar as user stories.
      *
      * @param sprintId id do sprint
      * @return percentagem de progresso (0-100)
      */
+    @Transactional(readOnly = true)
     public int calculateSprintProgress(Long sprintId) {
-        Sprint sprint = getSprintById(sprintId);
-        if (sprint.getUserStories() == null || sprint.getUserStories().isEmpty()) {
+        List<SprintProgressDTO> rows = userStoryRepository.findProgressBySprintIds(List.of(sprintId));
+        if (rows.isEmpty()) {
+            if (!sprintRepository.existsById(sprintId)) {
+                throw new RuntimeException("Sprint não encontrada");
+            }
             return 0;
         }
-
-        double totalProgress = sprint.getUserStories().stream()
-                .mapToDouble(us -> {
-                    return switch (us.getStatus()) {
-                        case TODO ->
-                            0.0;
-                        case IN_PROGRESS ->
-                            25.0;
-                        case TESTING ->
-                            75.0;
-                        case DONE ->
-                            100.0;
-                    };
-                })
-                .sum();
-
-        int totalStories = sprint.getUserStories().size();
-        return (int) (totalProgress / totalStories);
+        return rows.get(0).getProgress();
     }
 
     /**
      * Marca um sprint como concluído se todas as suas user stories estiverem
-     * com estado `DONE`. Caso contrário lança uma exceção.
+     * com estado `DONE` (verificado pelos contadores do sprint, sem carregar
+     * as user stories). Caso contrário lança uma exceção.
      *
      * @param sprintId id do sprint
      * @return sprint marcado como concluído
@@ -152,10 +151,7 @@ public class SprintService {
         Sprint sprint = sprintRepository.findById(sprintId)
                 .orElseThrow(() -> new RuntimeException("Sprint não encontrada"));
 
-        boolean allDone = sprint.getUserStories().stream()
-                .allMatch(us -> us.getStatus() == UserStoryStatus.DONE);
-
-        if (!allDone) {
+        if (sprint.getDoneCount() != sprint.getStoryCount()) {
             throw new RuntimeException("Não é possível marcar o sprint como concluído. Todas as User Stories devem estar concluídas (DONE).");
         }
 
@@ -173,19 +169,19 @@ public class SprintService {
             String title = "Sprint Concluída";
             String msg = "A sprint '" + sprint.getName() + "' do projeto '" + project.getName() + "' foi concluída com sucesso!";
 
+            List<User> members = new ArrayList<>();
             for (Team team : project.getTeams()) {
                 if (team.getScrumMaster() != null) {
-                    notificationService.createNotification(team.getScrumMaster(), NotificationType.SPRINT, title, msg);
+                    members.add(team.getScrumMaster());
                 }
                 if (team.getProductOwner() != null) {
-                    notificationService.createNotification(team.getProductOwner(), NotificationType.SPRINT, title, msg);
+                    members.add(team.getProductOwner());
                 }
                 if (team.getDevelopers() != null) {
-                    for (User dev : team.getDevelopers()) {
-                        notificationService.createNotification(dev, NotificationType.SPRINT, title, msg);
-                    }
+                    members.addAll(team.getDevelopers());
                 }
             }
+            notificationService.createNotifications(members, NotificationType.SPRINT, title, msg);
         }
     }
 
@@ -220,9 +216,8 @@ public class SprintService {
         Sprint sprint = sprintRepository.findById(sprintId)
                 .orElseThrow(() -> new RuntimeException("Sprint não encontrada"));
 
-        if (sprint.getUserStories() != null && !sprint.getUserStories().isEmpty()) {
-            userStoryRepository.deleteAll(sprint.getUserStories());
-        }
+        // Um único DELETE para as user stories (a cascata encontra a coleção vazia)
+        userStoryRepository.deleteBySprintId(sprintId);
 
         sprintRepository.delete(sprint);
     }
@@ -0,0 +1,299 @@
+package pt.up.edscrum.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import pt.up.edscrum.dto.dashboard.MemberAwardStatsDTO;
+import pt.up.edscrum.dto.dashboard.MemberWithRoleDTO;
+import pt.up.edscrum.dto.dashboard.ProjectMemberRowDTO;
+import pt.up.edscrum.dto.dashboard.ProjectWithProgressDTO;
+import pt.up.edscrum.dto.dashboard.RankingDTO;
+import pt.up.edscrum.dto.dashboard.SprintProgressDTO;
+import pt.up.edscrum.dto.dashboard.SprintWithProgressDTO;
+import pt.up.edscrum.dto.dashboard.StudentDashboardDTO;
+import pt.up.edscrum.dto.dashboard.StudentTeamRowDTO;
+import pt.up.edscrum.model.Award;
+import pt.up.edscrum.model.Course;
+import pt.up.edscrum.model.User;
+import pt.up.edscrum.repository.AwardRepository;
+import pt.up.edscrum.repository.CourseRepository;
+import pt.up.edscrum.repository.EnrollmentRepository;
+import pt.up.edscrum.repository.ProjectRepository;
+import pt.up.edscrum.repository.ScoreRepository;
+import pt.up.edscrum.repository.SprintRepository;
+import pt.up.edscrum.repository.StudentAwardRepository;
+import pt.up.edscrum.repository.TeamRepository;
+import pt.up.edscrum.repository.UserRepository;
+import pt.up.edscrum.repository.UserStoryRepository;
+
+/**
+ * Read model do dashboard do estudante. Monta o `StudentDashboardDTO` a partir
+ * de um número fixo de projeções (JPQL) agregadas por conjunto, em vez de
+ * navegar entidades por curso, projeto, sprint e membro. O número de queries
+ * não depende do número de cursos, projetos, sprints ou membros do estudante.
+ */
+@Service
+public class StudentDashboardReadModel {
+
+    private final UserRepository userRepo;
+    private final ScoreRepository scoreRepo;
+    private final StudentAwardRepository studentAwardRepo;
+    private final AwardRepository awardRepo;
+    private final CourseRepository courseRepo;
+    private final EnrollmentRepository enrollmentRepo;
+    private final TeamRepository teamRepo;
+    private final ProjectRepository projectRepo;
+    private final SprintRepository sprintRepo;
+    private final UserStoryRepository userStoryRepo;
+    private final RankingService rankingService;
+
+    public StudentDashboardReadModel(UserRepository userRepo, ScoreRepository scoreRepo,
+            StudentAwardRepository studentAwardRepo, AwardRepository awardRepo,
+            CourseRepository courseRepo, EnrollmentRepository enrollmentRepo,
+            TeamRepository teamRepo, ProjectRepository projectRepo,
+            SprintRepository sprintRepo, UserStoryRepository userStoryRepo,
+            RankingService rankingService) {
+        this.userRepo = userRepo;
+        this.scoreRepo = scoreRepo;
+        this.studentAwardRepo = studentAwardRepo;
+        this.awardRepo = awardRepo;
+        this.courseRepo = courseRepo;
+        this.enrollmentRepo = enrollmentRepo;
+        this.teamRepo = teamRepo;
+        this.projectRepo = projectRepo;
+        this.sprintRepo = sprintRepo;
+        this.userStoryRepo = userStoryRepo;
+        this.rankingService = rankingService;
+    }
+
+    /**
+     * Constrói o dashboard completo de um estudante.
+     *
+     * @param studentId id do estudante
+     * @return `StudentDashboardDTO` preenchido
+     */
+    @Transactional(readOnly = true)
+    public StudentDashboardDTO build(Long studentId) {
+        User user = userRepo.findById(studentId)
+                .orElseThrow(() -> new RuntimeException("User não encontrado"));
+
+        StudentDashboardDTO dto = new StudentDashboardDTO();
+        dto.setId(user.getId());
+        dto.setName(user.getName());
+        dto.setEmail(user.getEmail());
+        dto.setProfileImage(user.getProfileImage());
+        dto.setStudentTag(user.getStudentTag());
+        dto.setNotificationAwards(user.isNotificationAwards());
+        dto.setNotificationRankings(user.isNotificationRankings());
+
+        dto.setTotalPoints(scoreRepo.sumPointsByStudent(studentId));
+
+        fillAwards(dto, studentId);
+        dto.setPointHistory(scoreRepo.getPointHistory(studentId));
+
+        List<Long> enrolledIds = enrollmentRepo.findCourseIdsByStudentId(studentId);
+        fillCourses(dto, enrolledIds);
+
+        if (!enrolledIds.isEmpty()) {
+            fillCourseStatistics(dto, enrolledIds.get(0), studentId);
+        } else {
+            clearCourseStatistics(dto);
+        }
+
+        List<Long> projectIds = fillTeamAndCollectProjects(dto, enrolledIds, studentId);
+        dto.setProjects(loadProjects(projectIds));
+
+        return dto;
+    }
+
+    private void fillAwards(StudentDashboardDTO dto, Long studentId) {
+        List<StudentDashboardDTO.AwardDisplayDTO> earnedAwards = studentAwardRepo.findFullAwardsForStudent(studentId);
+        dto.setEarnedAwards(earnedAwards);
+
+        Set<String> earnedAwardNames = earnedAwards.stream().map(a -> a.name).collect(Collectors.toSet());
+        List<Award> allAwards = awardRepo.findAll();
+        dto.setUnearnedAwards(allAwards.stream()
+                .filter(award -> !earnedAwardNames.contains(award.getName()))
+                .map(award -> new StudentDashboardDTO.AwardDisplayDTO(award.getName(), award.getPoints(), award.getDescription(), award.getType()))
+                .collect(Collectors.toList()));
+    }
+
+    private void fillCourses(StudentDashboardDTO dto, List<Long> enrolledIds) {
+        Set<Long> enrolled = new LinkedHashSet<>(enrolledIds);
+        List<Course> enrolledList = new ArrayList<>();
+        List<Course> availableList = new ArrayList<>();
+        for (Course c : courseRepo.findAllWithTeacher()) {
+            if (enrolled.contains(c.getId())) {
+                enrolledList.add(c);
+            } else {
+                availableList.add(c);
+            }
+            if (!enrolledIds.isEmpty() && c.getId().equals(enrolledIds.get(0))) {
+                dto.setCourseId(c.getId());
+                dto.setCourseName(c.getName());
+            }
+        }
+        dto.setEnrolledCourses(enrolledList);
+        dto.setAvailableCourses(availableList);
+    }
+
+    private void fillCourseStatistics(StudentDashboardDTO dto, Long courseId, Long studentId) {
+        RankingService.Snapshot ranking = rankingService.getCourseRanking(courseId);
+        dto.setTotalClassStudents(ranking.size());
+        dto.setTotalClassTeams((int) teamRepo.countByCourseId(courseId));
+
+        if (!ranking.isEmpty()) {
+            RankingDTO top = ranking.first();
+            dto.setTopPerformerName(top.getName());
+            dto.setTopPerformerScore(top.getTotalPoints().intValue());
+            dto.setScoreVariation((int) (ranking.getMax() - ranking.getMin()));
+            dto.setClassAverage(ranking.getAverage());
+
+            int myRank = ranking.rankOf(studentId);
+            dto.setCurrentRank(myRank > 0 ? myRank : ranking.size());
+            dto.setTopStudents(new ArrayList<>(ranking.top(5)));
+        }
+    }
+
+    private void clearCourseStatistics(StudentDashboardDTO dto) {
+        dto.setTotalClassStudents(0);
+        dto.setTopPerformerName("-");
+        dto.setScoreVariation(0);
+        dto.setClassAverage(0);
+        dto.setCurrentRank(0);
+        dto.setTopStudents(new ArrayList<>());
+    }
+
+    /**
+     * Preenche equipa/papel do curso principal e devolve os ids dos projetos
+     * das equipas do estudante, pela ordem de inscrição nos cursos.
+     */
+    private List<Long> fillTeamAndCollectProjects(StudentDashboardDTO dto, List<Long> enrolledIds, Long studentId) {
+        if (enrolledIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, StudentTeamRowDTO> teamByCourse = new HashMap<>();
+        for (StudentTeamRowDTO row : teamRepo.findTeamRowsByUserId(studentId)) {
+            teamByCourse.putIfAbsent(row.getCourseId(), row);
+        }
+
+        List<Long> projectIds = new ArrayList<>();
+        for (Long courseId : enrolledIds) {
+            StudentTeamRowDTO team = teamByCourse.get(courseId);
+            if (team == null) {
+                continue;
+            }
+            if (dto.getCourseId() != null && dto.getCourseId().equals(courseId)) {
+                dto.setTeamName(team.getTeamName());
+                dto.setRoleInTeam(team.getRoleOf(studentId));
+            }
+            if (team.getProjectId() != null) {
+                projectIds.add(team.getProjectId());
+            }
+        }
+        return projectIds;
+    }
+
+    private List<ProjectWithProgressDTO> loadProjects(List<Long> projectIds) {
+        List<ProjectWithProgressDTO> result = new ArrayList<>();
+        if (projectIds.isEmpty()) {
+            return result;
+        }
+        Set<Long> distinctIds = new LinkedHashSet<>(projectIds);
+
+        Map<Long, ProjectWithProgressDTO> projectsById = new HashMap<>();
+        for (ProjectWithProgressDTO p : projectRepo.findProgressViewsByIds(distinctIds)) {
+            projectsById.put(p.getId(), p);
+        }
+
+        Map<Long, Integer> progressBySprint = new HashMap<>();
+        for (SprintProgressDTO row : userStoryRepo.findProgressByProjectIds(distinctIds)) {
+            progressBySprint.put(row.getSprintId(), row.getProgress());
+        }
+
+        Map<Long, List<SprintWithProgressDTO>> sprintsByProject = new HashMap<>();
+        for (SprintWithProgressDTO s : sprintRepo.findProgressViewsByProjectIds(distinctIds)) {
+            s.setProgress(progressBySprint.getOrDefault(s.getId(), 0));
+            sprintsByProject.computeIfAbsent(s.getProjectId(), k -> new ArrayList<>()).add(s);
+        }
+
+        Map<Long, List<MemberWithRoleDTO>> membersByProject = loadMembers(distinctIds);
+
+        for (Long projectId : projectIds) {
+            ProjectWithProgressDTO base = projectsById.get(projectId);
+            if (base == null) {
+                continue;
+            }
+            ProjectWithProgressDTO dto = copyOf(base);
+
+            List<SprintWithProgressDTO> sprints = sprintsByProject.getOrDefault(projectId, new ArrayList<>());
+            dto.setSprints(sprints);
+            int totalSprintProgress = sprints.stream().mapToInt(SprintWithProgressDTO::getProgress).sum();
+            dto.setProgress(sprints.isEmpty() ? 0 : totalSprintProgress / sprints.size());
+
+            dto.setMembers(membersByProject.getOrDefault(projectId, new ArrayList<>()));
+            result.add(dto);
+        }
+        return result;
+    }
+
+    /**
+     * Membros (PO, SM e Developers de cada equipa, sem repetições) de cada
+     * projeto, com as estatísticas individuais de prémios no projeto.
+     */
+    private Map<Long, List<MemberWithRoleDTO>> loadMembers(Set<Long> projectIds) {
+        Map<Long, Map<Long, List<ProjectMemberRowDTO>>> rowsByProjectAndTeam = new HashMap<>();
+        List<ProjectMemberRowDTO> rows = new ArrayList<>();
+        rows.addAll(teamRepo.findProductOwnerRowsByProjectIds(projectIds));
+        rows.addAll(teamRepo.findScrumMasterRowsByProjectIds(projectIds));
+        rows.addAll(teamRepo.findDeveloperRowsByProjectIds(projectIds));
+        for (ProjectMemberRowDTO row : rows) {
+            rowsByProjectAndTeam
+                    .computeIfAbsent(row.getProjectId(), k -> new TreeMap<>())
+                    .computeIfAbsent(row.getTeamId(), k -> new ArrayList<>())
+                    .add(row);
+        }
+
+        Map<Long, Map<Long, MemberAwardStatsDTO>> statsByProject = new HashMap<>();
+        for (MemberAwardStatsDTO s : studentAwardRepo.summarizeByProjectIds(projectIds)) {
+            statsByProject.computeIfAbsent(s.getProjectId(), k -> new HashMap<>()).put(s.getStudentId(), s);
+        }
+
+        Map<Long, List<MemberWithRoleDTO>> result = new HashMap<>();
+        for (Map.Entry<Long, Map<Long, List<ProjectMemberRowDTO>>> entry : rowsByProjectAndTeam.entrySet()) {
+            Map<Long, MemberAwardStatsDTO> stats = statsByProject.getOrDefault(entry.getKey(), new HashMap<>());
+            Map<Long, MemberWithRoleDTO> members = new LinkedHashMap<>();
+            for (List<ProjectMemberRowDTO> teamRows : entry.getValue().values()) {
+                for (ProjectMemberRowDTO row : teamRows) {
+                    MemberAwardStatsDTO s = stats.get(row.getUserId());
+                    members.putIfAbsent(row.getUserId(), new MemberWithRoleDTO(
+                            row.getUserId(),
+                            row.getName(),
+                            row.getRoleInTeam(),
+                            row.getUserRole(),
+                            s != null ? (int) s.getAwardsCount() : 0,
+                            s != null ? (int) s.getTotalPoints() : 0
+                    ));
+                }
+            }
+            result.put(entry.getKey(), new ArrayList<>(members.values()));
+        }
+        return result;
+    }
+
+    private ProjectWithProgressDTO copyOf(ProjectWithProgressDTO p) {
+        return new ProjectWithProgressDTO(p.getId(), p.getName(), p.getSprintGoals(), p.getStartDate(),
+                p.getEndDate(), p.getStatus(), p.getCourseId(), p.getCourseName());
+    }
+}
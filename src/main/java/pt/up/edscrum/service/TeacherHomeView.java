@@ -0,0 +1,189 @@
+package pt.up.edscrum.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import pt.up.edscrum.dto.dashboard.RankingDTO;
+import pt.up.edscrum.dto.dashboard.TeacherHomeDTO;
+import pt.up.edscrum.model.Course;
+import pt.up.edscrum.model.Enrollment;
+import pt.up.edscrum.model.Team;
+import pt.up.edscrum.model.User;
+import pt.up.edscrum.repository.AwardRepository;
+import pt.up.edscrum.repository.CourseRepository;
+import pt.up.edscrum.repository.EnrollmentRepository;
+import pt.up.edscrum.repository.ScoreRepository;
+import pt.up.edscrum.repository.TeamRepository;
+import pt.up.edscrum.repository.UserRepository;
+
+@Service
+/**
+ * Monta a página inicial do professor (`TeacherHomeDTO`) apenas com os dados
+ * dos seus cursos: equipas com membros, inscrições com estudantes e pontos
+ * dos inscritos são lidos com uma query cada para todos os cursos, e o resto
+ * (equipas por curso, equipas disponíveis, alunos ocupados, estatísticas do
+ * ranking) é calculado em memória a partir desses resultados.
+ */
+public class TeacherHomeView {
+
+    private final UserRepository userRepo;
+    private final CourseRepository courseRepo;
+    private final TeamRepository teamRepo;
+    private final EnrollmentRepository enrollmentRepo;
+    private final ScoreRepository scoreRepo;
+    private final AwardRepository awardRepo;
+    private final ProfileImageCache profileImageCache;
+
+    public TeacherHomeView(UserRepository userRepo, CourseRepository courseRepo, TeamRepository teamRepo,
+            EnrollmentRepository enrollmentRepo, ScoreRepository scoreRepo, AwardRepository awardRepo,
+            ProfileImageCache profileImageCache) {
+        this.userRepo = userRepo;
+        this.courseRepo = courseRepo;
+        this.teamRepo = teamRepo;
+        this.enrollmentRepo = enrollmentRepo;
+        this.scoreRepo = scoreRepo;
+        this.awardRepo = awardRepo;
+        this.profileImageCache = profileImageCache;
+    }
+
+    /**
+     * Constrói o modelo da página inicial de um professor.
+     *
+     * @param teacherId id do professor
+     * @return modelo da página
+     */
+    @Transactional(readOnly = true)
+    public TeacherHomeDTO build(Long teacherId) {
+        TeacherHomeDTO view = new TeacherHomeDTO();
+        view.setTeacher(userRepo.findById(teacherId)
+                .orElseThrow(() -> new RuntimeException("User não encontrado")));
+
+        List<Course> courses = courseRepo.findByTeacherId(teacherId);
+        List<Long> courseIds = courses.stream().map(Course::getId).toList();
+        view.setCourses(courses);
+        view.setAwards(awardRepo.findAll());
+
+        List<Team> teams = courseIds.isEmpty() ? List.of() : teamRepo.findByCourseIdsWithMembers(courseIds);
+        List<Enrollment> enrollments = courseIds.isEmpty() ? List.of() : enrollmentRepo.findWithStudentByCourseIds(courseIds);
+
+        fillTeams(view, courses, teams);
+        fillRanking(view, courseIds);
+        fillStudents(view, courses, enrollments);
+
+        // O script da página serializa o mapa de imagens: resolve de uma vez
+        // apenas os utilizadores que a página mostra (equipas, inscritos, ranking)
+        Set<Long> shownUserIds = new HashSet<>();
+        for (Team t : teams) {
+            for (User member : members(t)) {
+                shownUserIds.add(member.getId());
+            }
+        }
+        view.getEnrolledStudentsMap().values().forEach(list -> list.forEach(u -> shownUserIds.add(u.getId())));
+        view.getStudentRankings().forEach(r -> shownUserIds.add(r.getId()));
+        view.setUserProfileImageMap(profileImageCache.getImages(shownUserIds));
+
+        return view;
+    }
+
+    private void fillTeams(TeacherHomeDTO view, List<Course> courses, List<Team> teams) {
+        Map<Long, List<Team>> teamsByCourse = new LinkedHashMap<>();
+        Map<Long, Set<Long>> takenMap = new HashMap<>();
+        for (Team t : teams) {
+            Long courseId = t.getCourse().getId();
+            teamsByCourse.computeIfAbsent(courseId, k -> new ArrayList<>()).add(t);
+
+            Set<Long> taken = takenMap.computeIfAbsent(courseId, k -> new HashSet<>());
+            for (User member : members(t)) {
+                if ("STUDENT".equals(member.getRole())) {
+                    taken.add(member.getId());
+                }
+            }
+        }
+
+        // Mesma ordem de antes: por curso, equipas sem projeto
+        List<Team> availableTeams = new ArrayList<>();
+        for (Course c : courses) {
+            for (Team t : teamsByCourse.getOrDefault(c.getId(), List.of())) {
+                if (t.getProject() == null) {
+                    availableTeams.add(t);
+                }
+            }
+        }
+
+        view.setTeams(teams);
+        view.setTeamsByCourse(teamsByCourse);
+        view.setTakenMap(takenMap);
+        view.setAvailableTeams(availableTeams);
+        view.setActiveTeamsCount(teams.size());
+    }
+
+    private void fillRanking(TeacherHomeDTO view, List<Long> courseIds) {
+        // Um estudante inscrito em vários cursos aparece uma vez, com o maior total
+        Map<Long, RankingDTO> byStudent = new HashMap<>();
+        if (!courseIds.isEmpty()) {
+            for (RankingDTO r : scoreRepo.getStudentRankingRowsForCourses(courseIds)) {
+                RankingDTO existing = byStudent.get(r.getId());
+                if (existing == null || r.getTotalPoints() > existing.getTotalPoints()) {
+                    byStudent.put(r.getId(), r);
+                }
+            }
+        }
+        List<RankingDTO> rankings = new ArrayList<>(byStudent.values());
+        rankings.sort((r1, r2) -> Long.compare(r2.getTotalPoints(), r1.getTotalPoints()));
+        view.setStudentRankings(rankings);
+
+        if (rankings.isEmpty()) {
+            // Sem estudantes os indicadores ficam a zero (incluindo equipas ativas)
+            view.setActiveTeamsCount(0);
+            return;
+        }
+        view.setTotalStudents(rankings.size());
+        view.setAverageScore((int) rankings.stream().mapToLong(RankingDTO::getTotalPoints).average().orElse(0.0));
+
+        RankingDTO top = rankings.get(0);
+        view.setTopPerformerName(top.getName());
+        view.setTopPerformerScore(top.getTotalPoints());
+        view.setScoreVariation(top.getTotalPoints() - rankings.get(rankings.size() - 1).getTotalPoints());
+    }
+
+    private void fillStudents(TeacherHomeDTO view, List<Course> courses, List<Enrollment> enrollments) {
+        Map<Long, List<User>> enrolledStudentsMap = new HashMap<>();
+        for (Course c : courses) {
+            enrolledStudentsMap.put(c.getId(), new ArrayList<>());
+        }
+        // Os seletores de membros carregam os candidatos do diretório
+        // (/users/directory) por curso; aqui ficam apenas os inscritos
+        for (Enrollment e : enrollments) {
+            User student = e.getStudent();
+            if ("STUDENT".equals(student.getRole())) {
+                enrolledStudentsMap.get(e.getCourse().getId()).add(student);
+            }
+        }
+
+        Map<Long, String> studentCoursesMap = new HashMap<>();
+        for (Course c : courses) {
+            for (User student : enrolledStudentsMap.get(c.getId())) {
+                studentCoursesMap.merge(student.getId(), c.getId().toString(), (a, b) -> a + "," + b);
+            }
+        }
+
+        view.setEnrolledStudentsMap(enrolledStudentsMap);
+        view.setStudentCoursesMap(studentCoursesMap);
+    }
+
+    private static List<User> members(Team t) {
+        List<User> members = new ArrayList<>();
+        if (t.getProductOwner() != null) members.add(t.getProductOwner());
+        if (t.getScrumMaster() != null) members.add(t.getScrumMaster());
+        if (t.getDevelopers() != null) members.addAll(t.getDevelopers());
+        return members;
+    }
+}
@@ -1,15 +1,19 @@
 package pt.up.edscrum.service;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import pt.up.edscrum.dto.dashboard.CourseUserRowDTO;
 import pt.up.edscrum.enums.NotificationType;
-import pt.up.edscrum.model.Score;
+import pt.up.edscrum.event.AwardEvent;
+import pt.up.edscrum.event.RankingChangedEvent;
 import pt.up.edscrum.model.Team;
-import pt.up.edscrum.model.TeamAward;
 import pt.up.edscrum.model.User;
 import pt.up.edscrum.repository.ScoreRepository;
 import pt.up.edscrum.repository.TeamAwardRepository;
@@ -19,8 +23,9 @@ import pt.up.edscrum.repository.TeamRepository;
 /**
  * Serviço que gere operações relacionadas com `Team` (equipas): CRUD,
  * validações de duplicações, obtenção de membros e listas de equipas
- * disponíveis por curso. Também integra atribuição de prémios automáticos via
- * `AwardService` durante eventos de criação de equipa.
+ * disponíveis por curso. Publica o evento `TeamFormed` para os prémios
+ * automáticos de criação de equipa. As pesquisas de pertença a equipas usam
+ * a tabela `team_membership`, mantida pelo `TeamMembershipSync`.
  */
 public class TeamService {
 
@@ -28,7 +33,7 @@ public class TeamService {
     private final TeamAwardRepository teamAwardRepository;
     private final ScoreRepository scoreRepository;
     private final pt.up.edscrum.repository.EnrollmentRepository enrollmentRepository;
-    private final pt.up.edscrum.service.AwardService awardService;
+    private final ApplicationEventPublisher eventPublisher;
 
     private final NotificationService notificationService;
 
@@ -36,13 +41,13 @@ public class TeamService {
             TeamAwardRepository teamAwardRepository,
             ScoreRepository scoreRepository,
             pt.up.edscrum.repository.EnrollmentRepository enrollmentRepository,
-            pt.up.edscrum.service.AwardService awardService,
+            ApplicationEventPublisher eventPublisher,
             NotificationService notificationService) {
         this.teamRepository = teamRepository;
         this.teamAwardRepository = teamAwardRepository;
         this.scoreRepository = scoreRepository;
         this.enrollmentRepository = enrollmentRepository;
-        this.awardService = awardService;
+        this.eventPublisher = eventPublisher;
         this.notificationService = notificationService;
     }
 
@@ -51,6 +56,7 @@ public class TeamService {
      *
      * @return lista de `Team`
      */
+    @Transactional(readOnly = true)
     public List<Team> getAllTeams() {
         return teamRepository.findAll();
     }
@@ -66,6 +72,19 @@ public class TeamService {
                 .orElseThrow(() -> new RuntimeException("Team not found"));
     }
 
+    /**
+     * Obtém uma equipa com curso, projeto, SM, PO e developers carregados
+     * numa única query, para ser serializada pela API.
+     *
+     * @param id id da equipa
+     * @return `Team` correspondente
+     */
+    @Transactional(readOnly = true)
+    public Team getFullTeamById(Long id) {
+        return teamRepository.findFullById(id)
+                .orElseThrow(() -> new RuntimeException("Team not found"));
+    }
+
     /**
      * Retorna o conjunto de IDs de estudantes que já estão ocupados por uma
      * equipa dentro de um dado curso (usado para evitar duplicações na UI).
@@ -73,44 +92,39 @@ public class TeamService {
      * @param courseId id do curso
      * @return conjunto de ids de estudantes ocupados
      */
+    @Transactional(readOnly = true)
     public Set<Long> getTakenStudentIdsByCourse(Long courseId) {
-        List<Team> teams = teamRepository.findByCourseId(courseId);
-        Set<Long> takenIds = new HashSet<>();
-
-        for (Team t : teams) {
-            if (t.getScrumMaster() != null && "STUDENT".equals(t.getScrumMaster().getRole())) {
-                takenIds.add(t.getScrumMaster().getId());
-            }
-            if (t.getProductOwner() != null && "STUDENT".equals(t.getProductOwner().getRole())) {
-                takenIds.add(t.getProductOwner().getId());
-            }
-            if (t.getDevelopers() != null) {
-                for (User dev : t.getDevelopers()) {
-                    if ("STUDENT".equals(dev.getRole())) {
-                        takenIds.add(dev.getId());
-                    }
-                }
-            }
-        }
-        return takenIds;
+        return new HashSet<>(teamRepository.findTeamedStudentIdsByCourseId(courseId));
     }
 
     /**
-     * Valida se um estudante está inscrito no curso e não pertence já a outra
-     * equipa do mesmo curso. Lança `RuntimeException` em caso de violação.
+     * Valida se os estudantes estão inscritos no curso e não pertencem já a
+     * outra equipa do mesmo curso, com uma query para as inscrições e outra
+     * para as equipas, qualquer que seja o número de membros. Utilizadores
+     * que não são estudantes (ou null) são ignorados. Lança
+     * `RuntimeException` para o primeiro membro em violação, pela ordem dada.
      *
-     * @param student objeto `User` do estudante (pode ser null)
+     * @param candidates membros a validar
      * @param courseId id do curso
      */
-    private void validateStudentAvailability(User student, Long courseId) {
-        if (student != null && "STUDENT".equals(student.getRole())) {
-            boolean isEnrolled = enrollmentRepository.existsByStudentIdAndCourseId(student.getId(), courseId);
-            if (!isEnrolled) {
+    private void validateStudentsAvailability(List<User> candidates, Long courseId) {
+        List<User> students = candidates.stream()
+                .filter(u -> u != null && "STUDENT".equals(u.getRole()))
+                .toList();
+        if (students.isEmpty()) {
+            return;
+        }
+        Set<Long> ids = new HashSet<>();
+        students.forEach(u -> ids.add(u.getId()));
+
+        Set<Long> enrolled = new HashSet<>(enrollmentRepository.findEnrolledStudentIds(courseId, ids));
+        Set<Long> teamed = new HashSet<>(teamRepository.findTeamedUserIdsInCourse(courseId, ids));
+
+        for (User student : students) {
+            if (!enrolled.contains(student.getId())) {
                 throw new RuntimeException("O aluno " + student.getName() + " (" + student.getId() + "-UPT) não está inscrito neste curso!");
             }
-
-            long count = teamRepository.countStudentTeamsInCourse(student.getId(), courseId);
-            if (count > 0) {
+            if (teamed.contains(student.getId())) {
                 throw new RuntimeException("O aluno " + student.getName() + " (" + student.getId() + "-UPT) já pertence a uma equipa neste curso!");
             }
         }
@@ -118,8 +132,8 @@ public class TeamService {
 
     /**
      * Cria uma nova equipa após validar a disponibilidade dos estudantes.
-     * Atribui um prémio automático por formação de equipa e, opcionalmente,
-     * outros prémios de participação.
+     * Publica `TeamFormed`, que dá o prémio automático por formação de equipa
+     * e, opcionalmente, outros prémios de participação.
      *
      * @param team o objeto `Team` a criar
      * @return a equipa criada e persistida
@@ -127,14 +141,8 @@ public class TeamService {
     public Team createTeam(Team team) {
         Long courseId = team.getCourse().getId();
 
-        validateStudentAvailability(team.getScrumMaster(), courseId);
-        validateStudentAvailability(team.getProductOwner(), courseId);
-
-        if (team.getDevelopers() != null) {
-            for (User dev : team.getDevelopers()) {
-                validateStudentAvailability(dev, courseId);
-            }
-        }
+        List<User> members = members(team);
+        validateStudentsAvailability(members, courseId);
 
         int memberCount = team.getCurrentMemberCount();
 
@@ -146,42 +154,32 @@ public class TeamService {
 
         notifyTeamMembers(saved, "Bem-vindo à equipa!", "Foste adicionado à equipa '" + saved.getName() + "' no curso " + saved.getCourse().getName() + ".");
 
-        
-        
-        try {
-            awardService.assignAutomaticAwardToTeamByName("Equipa Formada", "A tua equipa foi formada.", 30, saved.getId(), null);
-        } catch (Exception e) {
-        }
-
-        
-        try {
-            List<pt.up.edscrum.model.User> members = getTeamMembers(saved.getId());
-            for (pt.up.edscrum.model.User u : members) {
-                List<Team> userTeams = teamRepository.findTeamByUserId(u.getId());
-                long projectCount = userTeams.stream().filter(t -> t.getProject() != null).map(t -> t.getProject().getId()).distinct().count();
-                if (projectCount >= 3) {
-                    awardService.assignAutomaticAwardToStudentByName("Colaborador Estelar", "Participaste activamente em 3 projetos diferentes.", 70, u.getId(), null);
-                }
-            }
-        } catch (Exception e) {
-        }
+        List<Long> memberIds = members.stream().map(User::getId).distinct().toList();
+        Long projectId = saved.getProject() != null ? saved.getProject().getId() : null;
+        eventPublisher.publishEvent(new AwardEvent.TeamFormed(saved.getId(), projectId, memberIds));
 
         return saved;
     }
 
-    
     private void notifyTeamMembers(Team team, String title, String message) {
+        notificationService.createNotifications(members(team), NotificationType.TEAM, title, message);
+    }
+
+    /**
+     * Membros de uma equipa pela ordem SM, PO e Developers.
+     */
+    private static List<User> members(Team team) {
+        List<User> members = new ArrayList<>();
         if (team.getScrumMaster() != null) {
-            notificationService.createNotification(team.getScrumMaster(), NotificationType.TEAM, title, message);
+            members.add(team.getScrumMaster());
         }
         if (team.getProductOwner() != null) {
-            notificationService.createNotification(team.getProductOwner(), NotificationType.TEAM, title, message);
+            members.add(team.getProductOwner());
         }
         if (team.getDevelopers() != null) {
-            for (User dev : team.getDevelopers()) {
-                notificationService.createNotification(dev, NotificationType.TEAM, title, message);
-            }
+            members.addAll(team.getDevelopers());
         }
+        return members;
     }
 
     /**
@@ -208,140 +206,16 @@ public class TeamService {
      */
     public void deleteTeam(Long id) {
         try {
-            Team team = getTeamById(id);
+            Team team = teamRepository.findWithMembersById(id)
+                    .orElseThrow(() -> new RuntimeException("Team not found"));
             notifyTeamMembers(team, "Equipa Eliminada", "A equipa '" + team.getName() + "' foi removida.");
         } catch(Exception e) {}
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        
-        List<Score> scores = scoreRepository.findByTeamId(id);
-        if (scores != null && !scores.isEmpty()) {
-            scoreRepository.deleteAll(scores);
-        }
-        
-        List<TeamAward> teamAwards = teamAwardRepository.findByTeamId(id);
-        if (teamAwards != null && !teamAwards.isEmpty()) {
-            teamAwardRepository.deleteAll(teamAwards);
+
+        if (scoreRepository.deleteByTeamId(id) > 0) {
+            eventPublisher.publishEvent(new RankingChangedEvent.AllChanged());
         }
-        
+        teamAwardRepository.deleteByTeamId(id);
+
         teamRepository.deleteById(id);
     }
 
@@ -351,6 +225,7 @@ public class TeamService {
      * @param courseId id do curso
      * @return lista de equipas disponíveis
      */
+    @Transactional(readOnly = true)
     public List<Team> getAvailableTeamsByCourse(Long courseId) {
         return teamRepository.findAvailableTeamsByCourse(courseId);
     }
@@ -361,6 +236,7 @@ public class TeamService {
      * @param userId id do utilizador
      * @return lista de equipas do utilizador
      */
+    @Transactional(readOnly = true)
     public List<Team> findTeamsByUserId(Long userId) {
         return teamRepository.findTeamByUserId(userId);
     }
@@ -372,8 +248,10 @@ public class TeamService {
      * @param teamId id da equipa
      * @return lista de `User` membros da equipa
      */
+    @Transactional(readOnly = true)
     public List<User> getTeamMembers(Long teamId) {
-        Team team = getTeamById(teamId);
+        Team team = teamRepository.findWithMembersById(teamId)
+                .orElseThrow(() -> new RuntimeException("Team not found"));
         java.util.List<User> members = new java.util.ArrayList<>();
 
         if (team.getScrumMaster() != null) {
@@ -391,34 +269,16 @@ public class TeamService {
 
     /**
      * Constrói um mapa de curso -> conjunto de ids de estudantes ocupados por
-     * equipas nesse curso.
+     * equipas nesse curso, com uma única query de pares (curso, estudante).
+     * Cursos sem estudantes em equipas não aparecem no mapa.
      *
      * @return mapa com chave cursoId e valor conjunto de studentIds
      */
+    @Transactional(readOnly = true)
     public java.util.Map<Long, java.util.Set<Long>> getTakenStudentsMap() {
         java.util.Map<Long, java.util.Set<Long>> map = new java.util.HashMap<>();
-        List<Team> allTeams = teamRepository.findAll();
-
-        for (Team t : allTeams) {
-            if (t.getCourse() == null) {
-                continue;
-            }
-            Long cId = t.getCourse().getId();
-            map.putIfAbsent(cId, new java.util.HashSet<>());
-
-            if (t.getScrumMaster() != null && "STUDENT".equals(t.getScrumMaster().getRole())) {
-                map.get(cId).add(t.getScrumMaster().getId());
-            }
-            if (t.getProductOwner() != null && "STUDENT".equals(t.getProductOwner().getRole())) {
-                map.get(cId).add(t.getProductOwner().getId());
-            }
-            if (t.getDevelopers() != null) {
-                for (User dev : t.getDevelopers()) {
-                    if ("STUDENT".equals(dev.getRole())) {
-                        map.get(cId).add(dev.getId());
-                    }
-                }
-            }
+        for (CourseUserRowDTO row : teamRepository.findTeamedStudentRows()) {
+            map.computeIfAbsent(row.getCourseId(), k -> new java.util.HashSet<>()).add(row.getUserId());
         }
         return map;
     }
@@ -426,6 +286,7 @@ public class TeamService {
     /**
      * Obtém as equipas disponíveis para um curso (não fechadas e com vagas).
      */
+    @Transactional(readOnly = true)
     public List<Team> getAvailableTeamsForStudentByCourse(Long courseId) {
         List<Team> teams = teamRepository.findByCourseId(courseId);
         return teams.stream()
@@ -445,6 +306,7 @@ public class TeamService {
     /**
      * Obtém a equipa a que um estudante pertence num curso específico.
      */
+    @Transactional(readOnly = true)
     public Team getStudentTeamInCourse(Long studentId, Long courseId) {
         List<Team> teams = teamRepository.findByCourseId(courseId);
         for (Team team : teams) {
@@ -487,7 +349,7 @@ public class TeamService {
      */
     public Team addStudentToTeamWithRole(Long teamId, Long studentId, User student, String role) {
         Team team = getTeamById(teamId);
-        validateStudentAvailability(student, team.getCourse().getId());
+        validateStudentsAvailability(student != null ? List.of(student) : List.of(), team.getCourse().getId());
 
         if (!team.canAcceptMembers()) {
             throw new RuntimeException("A equipa está fechada ou completa");
@@ -1,10 +1,18 @@
 package pt.up.edscrum.service;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import pt.up.edscrum.dto.UserDirectoryDTO;
+import pt.up.edscrum.dto.UserDirectoryPageDTO;
 import pt.up.edscrum.model.User;
 import pt.up.edscrum.repository.UserRepository;
 
@@ -14,10 +22,17 @@ import pt.up.edscrum.repository.UserRepository;
 @Service
 public class UserService {
 
+    static final int MAX_DIRECTORY_PAGE_SIZE = 100;
+
+    /** Tag de estudante ("{id}-UPT"), completa ou parcial (ex.: "12", "12-u"). */
+    private static final Pattern TAG_PATTERN = Pattern.compile("^(\\d+)(-(U(P(T)?)?)?)?$", Pattern.CASE_INSENSITIVE);
+
     private final UserRepository userRepository;
+    private final ProfileImageCache profileImageCache;
 
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, ProfileImageCache profileImageCache) {
         this.userRepository = userRepository;
+        this.profileImageCache = profileImageCache;
     }
 
     /**
@@ -25,6 +40,7 @@ public class UserService {
      *
      * @return Lista de User
      */
+    @Transactional(readOnly = true)
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
@@ -34,10 +50,50 @@ public class UserService {
      *
      * @return Lista de User com role STUDENT
      */
+    @Transactional(readOnly = true)
     public List<User> getAllStudents() {
         return userRepository.findByRole("STUDENT");
     }
 
+    /**
+     * Pesquisa paginada (keyset) no diretório de utilizadores, ordenada por
+     * nome. A pesquisa `query` é um prefixo de nome, email ou tag de
+     * estudante; os restantes filtros são opcionais.
+     *
+     * @param query prefixo a pesquisar (ou null/vazio)
+     * @param role papel dos utilizadores (ou null)
+     * @param courseId curso em que estão inscritos (ou null)
+     * @param afterId cursor devolvido pela página anterior (ou null)
+     * @param limit tamanho da página (limitado a `MAX_DIRECTORY_PAGE_SIZE`)
+     * @return página com os utilizadores e o cursor da seguinte
+     */
+    @Transactional(readOnly = true)
+    public UserDirectoryPageDTO searchDirectory(String query, String role, Long courseId, Long afterId, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_DIRECTORY_PAGE_SIZE));
+        String q = query != null ? query.trim() : "";
+        String prefix = q.isEmpty() ? null : escapeLike(q) + "%";
+        String idPrefix = null;
+        Matcher tag = TAG_PATTERN.matcher(q);
+        if (tag.matches()) {
+            // Com o sufixo "-..." o id está completo; só com dígitos é um prefixo
+            idPrefix = tag.group(2) != null ? tag.group(1) : tag.group(1) + "%";
+        }
+        String roleFilter = role == null || role.isBlank() ? null : role;
+
+        // Pede mais um para saber se existe página seguinte
+        List<UserDirectoryDTO> rows = userRepository.findDirectoryPage(roleFilter, courseId, prefix, idPrefix,
+                afterId, size + 1);
+        if (rows.size() <= size) {
+            return new UserDirectoryPageDTO(rows, null);
+        }
+        List<UserDirectoryDTO> items = rows.subList(0, size);
+        return new UserDirectoryPageDTO(List.copyOf(items), items.get(size - 1).getId());
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
     /**
      * Obtém um utilizador pelo ID.
      *
@@ -49,6 +105,25 @@ public class UserService {
                 .orElseThrow(() -> new RuntimeException("User não encontrado"));
     }
 
+    /**
+     * Obtém vários utilizadores numa única query.
+     *
+     * @param ids ids dos utilizadores
+     * @return mapa id -> User
+     * @throws RuntimeException se algum dos ids não existir
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, User> getUsersByIds(Collection<Long> ids) {
+        Map<Long, User> users = new HashMap<>();
+        for (User u : userRepository.findAllById(ids)) {
+            users.put(u.getId(), u);
+        }
+        if (!users.keySet().containsAll(ids)) {
+            throw new RuntimeException("User não encontrado");
+        }
+        return users;
+    }
+
     /**
      * Procura um utilizador por email.
      *
@@ -95,7 +170,9 @@ public class UserService {
             user.setProfileImage(userDetails.getProfileImage());
         }
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        profileImageCache.evict(id);
+        return saved;
     }
 
     /**
@@ -105,5 +182,6 @@ public class UserService {
      */
     public void deleteUser(Long id) {
         userRepository.deleteById(id);
+        profileImageCache.evict(id);
     }
 }
@@ -83,7 +83,9 @@ public class UserStoryService {
             userStory.setStatus(UserStoryStatus.TODO);
         }
 
-        return userStoryRepository.save(userStory);
+        UserStory saved = userStoryRepository.save(userStory);
+        sprintRepository.moveStoryStatus(sprintIdOf(saved), null, saved.getStatus());
+        return saved;
     }
 
     /**
@@ -97,6 +99,8 @@ public class UserStoryService {
         UserStory story = userStoryRepository.findById(storyId)
                 .orElseThrow(() -> new RuntimeException("User Story não encontrada"));
 
+        UserStoryStatus previous = userStoryRepository.changeStatus(storyId, story.getStatus(), newStatus);
+        sprintRepository.moveStoryStatus(sprintIdOf(story), previous, newStatus);
         story.setStatus(newStatus);
         return userStoryRepository.save(story);
     }
@@ -147,6 +151,13 @@ public class UserStoryService {
      * @param storyId id da user story a eliminar
      */
     public void deleteUserStory(Long storyId) {
-        userStoryRepository.deleteById(storyId);
+        userStoryRepository.findById(storyId).ifPresent(story -> {
+            userStoryRepository.delete(story);
+            sprintRepository.moveStoryStatus(sprintIdOf(story), story.getStatus(), null);
+        });
+    }
+
+    private static Long sprintIdOf(UserStory story) {
+        return story.getSprint() != null ? story.getSprint().getId() : null;
     }
 }
@@ -2,6 +2,7 @@ package pt.up.edscrum.edscrum.Controller;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.ByteArrayOutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
@@ -13,6 +14,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.mock.web.MockHttpSession;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.persistence.EntityManager;
 import pt.up.edscrum.controller.ExportController;
@@ -287,4 +289,30 @@ class ExportControllerTest {
         assertTrue(csv.contains("Team CSV") || csv.contains("Team C2"), 
                    "CSV devia conter Team CSV ou Team C2. Recebido: " + csv);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testStreamCsv_WritesStudentAndTeamRows() throws Exception {
+        session.setAttribute("currentUserId", teacher.getId());
+        session.setAttribute("currentUserRole", "TEACHER");
+
+        ResponseEntity<StreamingResponseBody> response = exportController.streamRankingsCsv(teacher.getId(), session);
+        assertEquals(200, response.getStatusCode().value());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        String csv = out.toString(StandardCharsets.UTF_8);
+
+        assertTrue(csv.startsWith("\uFEFF"));
+        assertTrue(csv.contains("Total Students;1"));
+        assertTrue(csv.contains("\"Aluno Export\""));
+        assertTrue(csv.contains("\"Course CSV\""));
+        assertTrue(csv.contains("\"Team CSV\""));
+        assertTrue(csv.contains(";150"));
+    }
+
+    @Test
+    void testStreamCsv_NoSession() {
+        ResponseEntity<StreamingResponseBody> response = exportController.streamRankingsCsv(teacher.getId(), session);
+        assertEquals(401, response.getStatusCode().value());
+    }
+}
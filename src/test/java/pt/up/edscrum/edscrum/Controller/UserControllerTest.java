@@ -14,6 +14,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.persistence.EntityManager;
 import pt.up.edscrum.controller.UserController;
+import pt.up.edscrum.dto.UserDirectoryPageDTO;
 import pt.up.edscrum.model.User;
 import pt.up.edscrum.repository.*;
 
@@ -297,6 +298,39 @@ class UserControllerTest {
         assertTrue(userRepo.existsById(teacher.getId()));
     }
 
+    // ==========================================
+    // DIRECTORY (GET)
+    // ==========================================
+
+    /**
+     * Testa o controlo de acesso do diretório (401 sem sessão, 403 aluno).
+     */
+    @Test
+    void testGetDirectory_AccessControl() {
+        assertEquals(401, userController.getDirectory(null, null, null, null, 50, session).getStatusCode().value());
+        setSession(student);
+        assertEquals(403, userController.getDirectory(null, null, null, null, 50, session).getStatusCode().value());
+    }
+
+    /**
+     * Testa a pesquisa no diretório por um professor, filtrada por papel.
+     */
+    @Test
+    void testGetDirectory_Success_Teacher() {
+        setSession(teacher);
+        ResponseEntity<UserDirectoryPageDTO> resp = userController.getDirectory(null, "STUDENT", null, null, 1, session);
+
+        assertEquals(200, resp.getStatusCode().value());
+        assertEquals(1, resp.getBody().getItems().size());
+        assertEquals("Aluno Test", resp.getBody().getItems().get(0).getName()); // Ordenado por nome
+        assertEquals(student.getId(), resp.getBody().getNextCursor());
+
+        ResponseEntity<UserDirectoryPageDTO> next = userController.getDirectory(null, "STUDENT", null,
+                resp.getBody().getNextCursor(), 1, session);
+        assertEquals("Outro Aluno", next.getBody().getItems().get(0).getName());
+        assertNull(next.getBody().getNextCursor());
+    }
+
     // --- Helpers ---
 
     private User createUser(String name, String email, String role) {
@@ -239,6 +239,57 @@ class WebControllerTest {
         assertTrue(model.containsAttribute("courses"));
     }
 
+    @Test
+    void testTeacherHome_OnlyTeacherCourses() {
+        User otherTeacher = new User();
+        otherTeacher.setName("Outro Prof");
+        otherTeacher.setEmail("outro@upt.pt");
+        otherTeacher.setPassword("123");
+        otherTeacher.setRole("TEACHER");
+        otherTeacher = userRepo.save(otherTeacher);
+
+        Course otherCourse = new Course();
+        otherCourse.setName("Outro Curso");
+        otherCourse.setTeacher(otherTeacher);
+        otherCourse = courseRepo.save(otherCourse);
+
+        Team otherTeam = new Team();
+        otherTeam.setName("Equipa Beta");
+        otherTeam.setCourse(otherCourse);
+        teamRepo.save(otherTeam);
+
+        Enrollment e = new Enrollment();
+        e.setStudent(student);
+        e.setCourse(course);
+        enrollmentRepo.save(e);
+
+        Score s = new Score();
+        s.setUser(student);
+        s.setTotalPoints(30);
+        scoreRepo.save(s);
+
+        entityManager.flush();
+        entityManager.clear();
+
+        session.setAttribute("currentUserId", teacher.getId());
+        session.setAttribute("currentUserRole", "TEACHER");
+        assertEquals("teacherHome", webController.teacherHome(model, session));
+
+        List<?> teams = (List<?>) model.getAttribute("teams");
+        assertEquals(1, teams.size());
+        assertEquals(team.getId(), ((Team) teams.get(0)).getId());
+        assertFalse(((Map<?, ?>) model.getAttribute("teamsByCourse")).containsKey(otherCourse.getId()));
+        assertTrue(((List<?>) model.getAttribute("availableTeams")).isEmpty());
+
+        assertEquals(1, model.getAttribute("totalStudents"));
+        assertEquals(1L, model.getAttribute("activeTeamsCount"));
+        assertEquals("Aluno Test", model.getAttribute("topPerformerName"));
+        assertEquals(course.getId().toString(),
+                ((Map<?, ?>) model.getAttribute("studentCoursesMap")).get(student.getId()));
+        assertTrue(((Map<?, ?>) model.getAttribute("takenMap")).get(course.getId()).toString()
+                .contains(student.getId().toString()));
+    }
+
     @Test
     void testCreateCourseWeb() {
         session.setAttribute("currentUserId", teacher.getId());
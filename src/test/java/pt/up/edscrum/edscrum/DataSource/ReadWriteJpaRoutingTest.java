@@ -0,0 +1,106 @@
+package pt.up.edscrum.edscrum.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManagerFactory;
+import pt.up.edscrum.model.Course;
+import pt.up.edscrum.service.CourseService;
+
+/**
+ * Encaminhamento leitura/escrita com o gestor de transações JPA da aplicação,
+ * sobre duas bases H2 em memória com o mesmo schema: cada uma tem um curso
+ * com o seu nome, e os serviços mostram para onde foi cada transação.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=" + ReadWriteJpaRoutingTest.PRIMARY_URL,
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "edscrum.datasource.replica.enabled=true",
+    "edscrum.datasource.replica.jdbc-url=" + ReadWriteJpaRoutingTest.REPLICA_URL,
+    "edscrum.datasource.replica.username=sa",
+    "edscrum.datasource.replica.password="
+})
+class ReadWriteJpaRoutingTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:edscrum-rw-primary;MODE=MySQL;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:edscrum-rw-replica;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    @Autowired private CourseService courseService;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = new JdbcTemplate(h2(PRIMARY_URL));
+        replica = new JdbcTemplate(h2(REPLICA_URL));
+
+        // O schema é criado pelo Hibernate só na principal; a réplica recebe uma cópia
+        Integer replicaTables = replica.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.tables WHERE LOWER(table_name) = 'course'", Integer.class);
+        if (replicaTables == 0) {
+            for (String statement : primary.queryForList("SCRIPT NODATA", String.class)) {
+                if (!statement.startsWith("--") && !statement.startsWith("CREATE USER")) {
+                    replica.execute(statement);
+                }
+            }
+        }
+
+        primary.update("DELETE FROM course");
+        replica.update("DELETE FROM course");
+        primary.update("INSERT INTO course (name) VALUES ('primary')");
+        replica.update("INSERT INTO course (name) VALUES ('replica')");
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    private static JdbcDataSource h2(String url) {
+        JdbcDataSource ds = new JdbcDataSource();
+        ds.setURL(url);
+        ds.setUser("sa");
+        return ds;
+    }
+
+    private static List<String> names(List<Course> courses) {
+        return courses.stream().map(Course::getName).toList();
+    }
+
+    @Test
+    void testReadOnlyServiceRead_GoesToReplica() {
+        assertEquals(List.of("replica"), names(courseService.getAllCourses()));
+    }
+
+    @Test
+    void testReadOnlyServiceInReadWriteTransaction_GoesToPrimary() {
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+        assertEquals(List.of("primary"), readWrite.execute(status -> names(courseService.getAllCourses())));
+    }
+
+    @Test
+    void testWriteThenReadOnlyRead_WriteStaysOnPrimary() {
+        courseService.getAllCourses();
+        Course course = new Course();
+        course.setName("written");
+        courseService.createCourse(course);
+
+        assertEquals(2, (int) primary.queryForObject("SELECT COUNT(*) FROM course", Integer.class));
+        assertEquals(1, (int) replica.queryForObject("SELECT COUNT(*) FROM course", Integer.class));
+        assertEquals(List.of("replica"), names(courseService.getAllCourses()));
+    }
+}
@@ -0,0 +1,81 @@
+package pt.up.edscrum.edscrum.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import pt.up.edscrum.datasource.ReadWriteRoutingDataSource;
+
+/**
+ * Encaminhamento entre duas bases H2 em memória: cada uma tem uma tabela
+ * `node` com o seu nome, e as queries mostram para onde foi cada ligação.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource primary = h2("rw-primary");
+        JdbcDataSource replica = h2("rw-replica");
+        new JdbcTemplate(primary).execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20))");
+        new JdbcTemplate(primary).execute("DELETE FROM node");
+        new JdbcTemplate(primary).update("INSERT INTO node VALUES ('primary')");
+        new JdbcTemplate(replica).execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20))");
+        new JdbcTemplate(replica).execute("DELETE FROM node");
+        new JdbcTemplate(replica).update("INSERT INTO node VALUES ('replica')");
+
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replica);
+        DataSourceTransactionManager txManager = new DataSourceTransactionManager(routing);
+        jdbc = new JdbcTemplate(routing);
+        readWrite = new TransactionTemplate(txManager);
+        readOnly = new TransactionTemplate(txManager);
+        readOnly.setReadOnly(true);
+    }
+
+    private static JdbcDataSource h2(String name) {
+        JdbcDataSource ds = new JdbcDataSource();
+        ds.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        ds.setUser("sa");
+        return ds;
+    }
+
+    private String node() {
+        return jdbc.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private int count() {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM node", Integer.class);
+    }
+
+    @Test
+    void testReadOnlyTransaction_GoesToReplica() {
+        assertEquals("replica", readOnly.execute(status -> node()));
+    }
+
+    @Test
+    void testReadWriteTransaction_GoesToPrimary() {
+        assertEquals("primary", readWrite.execute(status -> node()));
+    }
+
+    @Test
+    void testNoTransaction_GoesToPrimary() {
+        assertEquals("primary", node());
+    }
+
+    @Test
+    void testWriteAfterReadOnly_StaysOnPrimary() {
+        readOnly.execute(status -> node());
+        readWrite.execute(status -> jdbc.update("INSERT INTO node VALUES ('written')"));
+
+        assertEquals(1, (int) readOnly.execute(status -> count()));
+        assertEquals(2, (int) readWrite.execute(status -> count()));
+    }
+}
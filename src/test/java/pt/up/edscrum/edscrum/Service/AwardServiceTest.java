@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.List;
 
+import jakarta.persistence.Cache;
 import jakarta.persistence.EntityManager;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -12,6 +13,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 
+import pt.up.edscrum.dto.BulkAwardRequest;
+import pt.up.edscrum.dto.BulkAwardResultDTO;
 import pt.up.edscrum.model.*;
 import pt.up.edscrum.repository.*;
 import pt.up.edscrum.service.AwardService;
@@ -179,6 +182,20 @@ class AwardServiceTest {
         assertEquals(50, score.getTotalPoints());
     }
     
+    @Test
+    void testScoreDeltas_AccumulateAcrossAwards() {
+        awardService.assignAwardToStudent(awardIndiv.getId(), student.getId(), project.getId());
+        awardService.assignAwardToTeam(awardTeam.getId(), team.getId(), project.getId());
+
+        entityManager.flush();
+        entityManager.clear();
+
+        // 100 (individual) + 50 (equipa), aplicados incrementalmente
+        assertEquals(150, scoreRepo.findByUser(student).getTotalPoints());
+        assertEquals(50, scoreRepo.findByTeamAndUserIsNull(team).getTotalPoints());
+        assertEquals(awardService.calculateTotalPoints(student.getId()), scoreRepo.findByUser(student).getTotalPoints());
+    }
+
     @Test
     void testAssignAwardToTeam_WithoutProject() {
         awardService.assignAwardToTeam(awardTeam.getId(), team.getId());
@@ -326,6 +343,26 @@ class AwardServiceTest {
         assertEquals(200, updated.getPoints());
     }
 
+    @Test
+    void testAwardSecondLevelCache_EvictedOnWrite() {
+        Long id = awardIndiv.getId();
+        entityManager.flush();
+        entityManager.clear();
+
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        awardService.getAwardById(id);
+        assertTrue(cache.contains(Award.class, id));
+
+        Award updateDetails = new Award();
+        updateDetails.setName("Nome Novo");
+        updateDetails.setPoints(5);
+        updateDetails.setType("MANUAL");
+        awardService.updateAward(id, updateDetails);
+
+        assertFalse(cache.contains(Award.class, id));
+        assertEquals("Nome Novo", awardService.getAwardById(id).getName());
+    }
+
     @Test
     void testDeleteAward() {
         Award toDelete = new Award();
@@ -365,6 +402,102 @@ class AwardServiceTest {
         assertEquals(count1, count2);
     }
 
+    @Test
+    void testAssignAutomaticAward_WithoutProject_Idempotent() {
+        awardService.assignAutomaticAwardToStudentByName("Auto Global", "Desc", 10, student.getId(), null);
+        awardService.assignAutomaticAwardToStudentByName("Auto Global", "Desc", 10, student.getId(), null);
+
+        entityManager.flush();
+        entityManager.clear();
+
+        // Uma só atribuição, pontos e notificação apenas uma vez
+        assertEquals(1, studentAwardRepo.findAllByStudentId(student.getId()).size());
+        assertEquals(10, scoreRepo.findByUser(userRepo.findById(student.getId()).orElseThrow()).getTotalPoints());
+        assertEquals(1, notificationRepo.findAll().stream()
+                .filter(n -> n.getUser().getId().equals(student.getId())).count());
+    }
+
+    @Test
+    void testAssignAwardToStudent_WithoutProject_AlreadyAssigned_ThrowsException() {
+        awardService.assignAwardToStudent(awardIndiv.getId(), student.getId());
+
+        assertThrows(RuntimeException.class, () -> {
+            awardService.assignAwardToStudent(awardIndiv.getId(), student.getId());
+        });
+    }
+
+    @Test
+    void testHandleTeamLeadersAssigned_Rules() {
+        // O aluno só tem uma equipa: primeira equipa e liderança no projeto
+        awardService.handleTeamLeadersAssigned(student.getId(), null, project.getId());
+
+        assertTrue(hasAward(student, "Arquiteto de Equipas"));
+        assertTrue(hasAward(student, "Líder de Projeto (SM)"));
+        assertFalse(hasAward(student, "Líder de Projeto (PO)"));
+        assertTrue(studentAwardRepo.existsByStudentIdAndAwardIdAndProjectId(student.getId(),
+                awardRepo.findByName("Líder de Projeto (SM)").orElseThrow().getId(), project.getId()));
+    }
+
+    @Test
+    void testAssignAwardInBulk_MixedTargets() {
+        User other = new User();
+        other.setName("Outro Aluno");
+        other.setEmail("outro@test.com");
+        other.setRole("STUDENT");
+        other = userRepo.save(other);
+
+        awardService.assignAwardToStudent(awardIndiv.getId(), student.getId(), project.getId());
+
+        BulkAwardRequest request = new BulkAwardRequest();
+        request.setAwardId(awardIndiv.getId());
+        request.setProjectId(project.getId());
+        request.setStudentIds(List.of(student.getId()));
+        request.setCsv("outro@test.com; fantasma@test.com\n999999999");
+
+        BulkAwardResultDTO result = awardService.assignAwardInBulk(request);
+
+        assertEquals(List.of(other.getId()), result.getAssigned());
+        assertEquals(List.of(student.getId()), result.getAlreadyAssigned());
+        assertEquals(List.of(999999999L), result.getIneligible());
+        assertEquals(List.of("fantasma@test.com"), result.getUnresolved());
+
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(1, studentAwardRepo.findByStudentIdAndProjectId(other.getId(), project.getId()).size());
+        assertEquals(100, scoreRepo.findByUser(userRepo.findById(other.getId()).orElseThrow()).getTotalPoints());
+        // O estudante que já tinha o prémio não ganha pontos outra vez
+        assertEquals(100, scoreRepo.findByUser(userRepo.findById(student.getId()).orElseThrow()).getTotalPoints());
+        final Long otherId = other.getId();
+        assertEquals(1, notificationRepo.findAll().stream()
+                .filter(n -> n.getUser().getId().equals(otherId)).count());
+    }
+
+    @Test
+    void testAssignAwardInBulk_TeamMembersWithoutProject() {
+        BulkAwardRequest request = new BulkAwardRequest();
+        request.setAwardId(awardIndiv.getId());
+        request.setTeamIds(List.of(team.getId()));
+
+        BulkAwardResultDTO result = awardService.assignAwardInBulk(request);
+        assertEquals(List.of(student.getId()), result.getAssigned());
+
+        // Repetir não duplica
+        result = awardService.assignAwardInBulk(request);
+        assertTrue(result.getAssigned().isEmpty());
+        assertEquals(List.of(student.getId()), result.getAlreadyAssigned());
+        assertEquals(1, studentAwardRepo.findAllByStudentId(student.getId()).size());
+    }
+
+    @Test
+    void testAssignAwardInBulk_TeamAwardRejected() {
+        BulkAwardRequest request = new BulkAwardRequest();
+        request.setAwardId(awardTeam.getId());
+        request.setStudentIds(List.of(student.getId()));
+
+        assertThrows(RuntimeException.class, () -> awardService.assignAwardInBulk(request));
+    }
+
     // --- Helpers ---
 
     private void createSprintForUser(User u) {
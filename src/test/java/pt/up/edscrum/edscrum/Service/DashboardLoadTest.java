@@ -0,0 +1,107 @@
+package pt.up.edscrum.edscrum.Service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import pt.up.edscrum.dto.ConnectionPoolMetricsDTO;
+import pt.up.edscrum.dto.dashboard.TeacherDashboardDTO;
+import pt.up.edscrum.metrics.ConnectionPoolMetrics;
+import pt.up.edscrum.model.Course;
+import pt.up.edscrum.model.User;
+import pt.up.edscrum.repository.CourseRepository;
+import pt.up.edscrum.repository.UserRepository;
+import pt.up.edscrum.service.DashboardService;
+
+/**
+ * Carga concorrente de dashboards sobre um pool pequeno (H2 em memória): com
+ * mais pedidos do que ligações, os pedidos ficam à espera na fila do pool e
+ * terminam todos, sem timeouts.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:edscrum-load;MODE=MySQL;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.datasource.hikari.pool-name=edscrum-load",
+    "spring.datasource.hikari.maximum-pool-size=" + DashboardLoadTest.POOL_SIZE,
+    "spring.datasource.hikari.minimum-idle=" + DashboardLoadTest.POOL_SIZE,
+    "spring.datasource.hikari.connection-timeout=10000"
+})
+class DashboardLoadTest {
+
+    static final int POOL_SIZE = 4;
+    private static final int THREADS = 16;
+    private static final int CALLS_PER_THREAD = 5;
+    private static final long HOLD_MILLIS = 50;
+
+    @Autowired private DashboardService dashboardService;
+    @Autowired private ConnectionPoolMetrics poolMetrics;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private CourseRepository courseRepo;
+    @Autowired private UserRepository userRepo;
+
+    @Test
+    void testConcurrentDashboards_QueueOnSaturatedPoolWithoutTimeouts() throws Exception {
+        User teacher = new User();
+        teacher.setName("Load Teacher");
+        teacher.setEmail("load-teacher@test.com");
+        teacher.setPassword("pass");
+        teacher.setRole("TEACHER");
+        teacher = userRepo.save(teacher);
+
+        Course course = new Course();
+        course.setName("Load Course");
+        course.setTeacher(teacher);
+        Long courseId = courseRepo.save(course).getId();
+
+        // Cada pedido segura a ligação HOLD_MILLIS, como um dashboard lento
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        poolMetrics.reset();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<TeacherDashboardDTO>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS * CALLS_PER_THREAD; i++) {
+                results.add(executor.submit(() -> readOnly.execute(status -> {
+                    TeacherDashboardDTO dto = dashboardService.getTeacherDashboard(courseId);
+                    try {
+                        Thread.sleep(HOLD_MILLIS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return dto;
+                })));
+            }
+            for (Future<TeacherDashboardDTO> result : results) {
+                assertEquals(courseId, result.get().getCourseId());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        ConnectionPoolMetricsDTO pool = poolMetrics.getAll().stream()
+                .filter(p -> "edscrum-load".equals(p.getPool()))
+                .findFirst().orElseThrow();
+        assertEquals(0, pool.getTimeouts());
+        assertEquals(POOL_SIZE, pool.getMaxConnections());
+        assertTrue(pool.getAcquisitions() >= THREADS * CALLS_PER_THREAD);
+        // Mais threads do que ligações: houve espera na fila do pool
+        assertTrue(pool.getMaxAcquireMillis() >= HOLD_MILLIS / 2,
+                "Espera máxima: " + pool.getMaxAcquireMillis() + " ms");
+        assertTrue(pool.getMaxUsageMillis() >= HOLD_MILLIS);
+    }
+}
@@ -3,6 +3,7 @@ package pt.up.edscrum.edscrum.Service;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 import jakarta.persistence.EntityManager;
@@ -20,6 +21,7 @@ import pt.up.edscrum.enums.ProjectStatus;
 import pt.up.edscrum.enums.SprintStatus;
 import pt.up.edscrum.enums.UserStoryPriority;
 import pt.up.edscrum.enums.UserStoryStatus;
+import pt.up.edscrum.metrics.QueryStats;
 import pt.up.edscrum.model.*;
 import pt.up.edscrum.repository.*;
 import pt.up.edscrum.service.DashboardService;
@@ -107,6 +109,43 @@ class DashboardServiceTest {
         assertEquals(100.0, dto.getProjects().get(0).getCompletionPercentage());
     }
 
+    /**
+     * Progresso por projeto agregado na base de dados e número de queries do
+     * dashboard do professor constante com o número de projetos.
+     */
+    @Test
+    void testGetTeacherDashboard_ProgressAggregatedAndQueryCountConstant() {
+        Course c = new Course(); c.setName("Budget Course"); final Course savedCourse = courseRepo.save(c);
+        User student = createUser("Budget User", "budget@upt.pt", "STUDENT");
+        createEnrollment(student, savedCourse);
+        Project first = createProjectWithTeam(savedCourse, student, "P0");
+
+        entityManager.flush();
+        entityManager.clear();
+        QueryStats.Snapshot oneProject = QueryStats.measure(() -> dashboardService.getTeacherDashboard(savedCourse.getId()));
+
+        for (int i = 1; i <= 3; i++) {
+            createProjectWithTeam(savedCourse, student, "P" + i);
+        }
+        Project empty = new Project(); empty.setName("Sem sprints"); empty.setCourse(savedCourse);
+        projectRepo.save(empty);
+        Sprint done = new Sprint(); done.setProject(first); done.setName("Done"); done.setStatus(SprintStatus.CONCLUIDO);
+        sprintRepo.save(done);
+        entityManager.flush();
+        entityManager.clear();
+        QueryStats.Snapshot fiveProjects = QueryStats.measure(() -> dashboardService.getTeacherDashboard(savedCourse.getId()));
+
+        assertTrue(fiveProjects.getStatements() <= oneProject.getStatements(),
+                "1 projeto: " + oneProject + " / 5 projetos: " + fiveProjects);
+
+        TeacherDashboardDTO dto = dashboardService.getTeacherDashboard(savedCourse.getId());
+        assertEquals(1, dto.getTotalStudents());
+        assertEquals(5, dto.getProjects().size());
+        assertEquals(50.0, dto.getProjects().get(0).getCompletionPercentage());
+        assertEquals(0.0, dto.getProjects().get(1).getCompletionPercentage());
+        assertEquals(0.0, dto.getProjects().get(4).getCompletionPercentage());
+    }
+
     @Test
     void testGetStudentDashboard() {
         User student = createUser("João", "joao@upt.pt", "STUDENT");
@@ -239,6 +278,59 @@ class DashboardServiceTest {
         assertEquals("Product Owner", details.getMembers().get(0).getRoleInTeam());
     }
 
+    @Test
+    void testGetProjectDetails_MemberAwardStatsAggregated() {
+        Course c = new Course();
+        c.setName("Curso XP");
+        final Course savedCourse = courseRepo.save(c);
+
+        Project p = new Project();
+        p.setName("Projeto XP");
+        p.setCourse(savedCourse);
+        p.setStatus(ProjectStatus.EM_CURSO);
+        p = projectRepo.save(p);
+
+        User sm = createUser("SM XP", "smxp@upt.pt", "STUDENT");
+        User dev = createUser("Dev XP", "devxp@upt.pt", "STUDENT");
+        Team t = new Team();
+        t.setName("Equipa XP");
+        t.setCourse(savedCourse);
+        t.setProject(p);
+        t.setScrumMaster(sm);
+        t.setDevelopers(List.of(dev));
+        teamRepo.save(t);
+
+        for (int pts : new int[]{30, 20}) {
+            Award award = new Award();
+            award.setName("Prémio XP " + pts);
+            award.setPoints(pts);
+            award.setType("MANUAL");
+            award = awardRepo.save(award);
+
+            StudentAward sa = new StudentAward();
+            sa.setStudent(sm);
+            sa.setAward(award);
+            sa.setProject(p);
+            sa.setPointsEarned(pts);
+            studentAwardRepo.save(sa);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        ProjectDetailsDTO details = dashboardService.getProjectDetails(p.getId());
+
+        ProjectDetailsDTO.TeamMemberDTO smDto = details.getMembers().stream()
+                .filter(m -> m.getId().equals(sm.getId())).findFirst().orElseThrow();
+        assertEquals(50, smDto.getIndividualXP());
+        assertEquals(2, smDto.getAwardsCount());
+
+        ProjectDetailsDTO.TeamMemberDTO devDto = details.getMembers().stream()
+                .filter(m -> m.getId().equals(dev.getId())).findFirst().orElseThrow();
+        assertEquals(0, devDto.getIndividualXP());
+        assertEquals(0, devDto.getAwardsCount());
+    }
+
     // --- Helpers ---
     private User createUser(String name, String email, String role) {
         if (userRepo.findByEmail(email).isPresent()) return userRepo.findByEmail(email).get();
@@ -287,6 +379,63 @@ class DashboardServiceTest {
         assertTrue(dto.getTopStudents().isEmpty());
     }
 
+    /**
+     * Orçamento de queries: o número de instruções SQL do dashboard do aluno
+     * não pode crescer com o número de projetos/equipas (sem N+1).
+     */
+    @Test
+    void testGetStudentDashboard_QueryCountIndependentOfProjects() {
+        Course c = new Course(); c.setName("Budget Course"); final Course savedCourse = courseRepo.save(c);
+        User student = createUser("Budget User", "budget@upt.pt", "STUDENT");
+        createEnrollment(student, savedCourse);
+        createProjectWithTeam(savedCourse, student, "P0");
+
+        QueryStats.Snapshot oneProject = measureWarm(() -> dashboardService.getStudentDashboard(student.getId()));
+
+        for (int i = 1; i <= 3; i++) {
+            createProjectWithTeam(savedCourse, student, "P" + i);
+        }
+        QueryStats.Snapshot fourProjects = measureWarm(() -> dashboardService.getStudentDashboard(student.getId()));
+
+        assertTrue(oneProject.getStatements() > 0);
+        assertEquals(oneProject.getStatements(), fourProjects.getStatements(),
+                "1 projeto: " + oneProject + " / 4 projetos: " + fourProjects);
+    }
+
+    /**
+     * Mede uma chamada nas mesmas condições de cache: a chamada é feita uma
+     * vez antes (ranking em memória e cache de segundo nível preenchidos) e
+     * o contexto de persistência é limpo antes de cada execução.
+     */
+    private QueryStats.Snapshot measureWarm(Runnable call) {
+        entityManager.flush();
+        entityManager.clear();
+        call.run();
+        entityManager.clear();
+        return QueryStats.measure(call);
+    }
+
+    private Project createProjectWithTeam(Course course, User student, String name) {
+        Project p = new Project();
+        p.setName(name);
+        p.setCourse(course);
+        p.setStatus(ProjectStatus.EM_CURSO);
+        p = projectRepo.save(p);
+
+        Sprint s = new Sprint(); s.setProject(p); s.setName(name + "-S1"); s.setStatus(SprintStatus.EM_CURSO);
+        s = sprintRepo.save(s);
+        UserStory us = new UserStory(); us.setSprint(s); us.setStatus(UserStoryStatus.TODO); us.setPriority(UserStoryPriority.LOW); us.setName(name + "-US");
+        userStoryRepo.save(us);
+
+        Team t = new Team();
+        t.setName(name + " Team");
+        t.setCourse(course);
+        t.setProject(p);
+        t.setDevelopers(new ArrayList<>(List.of(student)));
+        teamRepo.save(t);
+        return p;
+    }
+
     /**
      * Testa a lógica de 'convertProjectToDTO'.
      * Cenário: Aluno numa equipa com projeto, sprints e user stories.
@@ -2,8 +2,10 @@ package pt.up.edscrum.edscrum.Service;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import jakarta.persistence.EntityManager;
 
@@ -13,6 +15,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 
+import pt.up.edscrum.dto.NotificationDTO;
 import pt.up.edscrum.enums.NotificationType;
 import pt.up.edscrum.model.Notification;
 import pt.up.edscrum.model.User;
@@ -213,6 +216,76 @@ class NotificationServiceTest {
         assertTrue(all.stream().allMatch(Notification::isRead), "Todas as notificações devem estar como lidas");
     }
 
+    @Test
+    void testGetUnreadCount() {
+        createNotif(user, "U1", false);
+        createNotif(user, "U2", false);
+        createNotif(user, "R1", true);
+
+        assertEquals(2, notificationService.getUnreadCount(user.getId()));
+
+        notificationService.markAllAsRead(user.getId());
+        assertEquals(0, notificationService.getUnreadCount(user.getId()));
+    }
+
+    @Test
+    void testGetNotificationPage_KeysetWalksWholeHistory() {
+        for (int i = 0; i < 5; i++) {
+            createNotif(user, "N" + i, false);
+        }
+        entityManager.flush();
+
+        List<NotificationDTO> first = notificationService.getNotificationPage(user.getId(), null, 2);
+        assertEquals(2, first.size());
+
+        List<NotificationDTO> second = notificationService.getNotificationPage(user.getId(), first.get(1).getId(), 2);
+        assertEquals(2, second.size());
+
+        List<NotificationDTO> third = notificationService.getNotificationPage(user.getId(), second.get(1).getId(), 2);
+        assertEquals(1, third.size());
+
+        Set<Long> seen = new HashSet<>();
+        for (List<NotificationDTO> page : List.of(first, second, third)) {
+            page.forEach(n -> seen.add(n.getId()));
+        }
+        assertEquals(5, seen.size(), "As páginas não se devem sobrepor");
+    }
+
+    @Test
+    void testGetNotificationPage_CursorFromOtherUserIsIgnored() {
+        User other = new User();
+        other.setName("Cursor");
+        other.setEmail("cursor@test.com");
+        other.setPassword("123");
+        other.setRole("STUDENT");
+        other = userRepo.save(other);
+
+        createNotif(user, "Minha", false);
+        Notification foreign = createNotif(other, "Alheia", false);
+        entityManager.flush();
+
+        // O cursor tem de pertencer ao utilizador pedido
+        assertTrue(notificationService.getNotificationPage(user.getId(), foreign.getId(), 10).isEmpty());
+    }
+
+    @Test
+    void testCreateNotifications_CoalescesAndRespectsPreferences() {
+        User other = new User();
+        other.setName("Other");
+        other.setEmail("other@test.com");
+        other.setPassword("123");
+        other.setRole("STUDENT");
+        other.setNotificationAwards(false);
+        other = userRepo.save(other);
+
+        // O utilizador repetido recebe uma só notificação; "other" desligou os prémios
+        notificationService.createNotifications(List.of(user, user, other), NotificationType.AWARD, "Prémio", "+50 XP");
+
+        List<Notification> all = notificationRepo.findAll();
+        assertEquals(1, all.size());
+        assertEquals(user.getId(), all.get(0).getUser().getId());
+    }
+
     // --- Helpers ---
 
     private Notification createNotif(User u, String title, boolean read) {
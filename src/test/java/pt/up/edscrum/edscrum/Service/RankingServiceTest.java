@@ -0,0 +1,194 @@
+package pt.up.edscrum.edscrum.Service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import jakarta.persistence.EntityManager;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import pt.up.edscrum.dto.dashboard.RankingDTO;
+import pt.up.edscrum.model.*;
+import pt.up.edscrum.repository.*;
+import pt.up.edscrum.service.AwardService;
+import pt.up.edscrum.service.RankingService;
+
+@SpringBootTest
+@Transactional
+class RankingServiceTest {
+
+    @Autowired private RankingService rankingService;
+    @Autowired private AwardService awardService;
+    @Autowired private EntityManager entityManager;
+
+    @Autowired private NotificationRepository notificationRepo;
+    @Autowired private UserStoryRepository userStoryRepo;
+    @Autowired private SprintRepository sprintRepo;
+    @Autowired private StudentAwardRepository studentAwardRepo;
+    @Autowired private TeamAwardRepository teamAwardRepo;
+    @Autowired private ScoreRepository scoreRepo;
+    @Autowired private TeamRepository teamRepo;
+    @Autowired private ProjectRepository projectRepo;
+    @Autowired private EnrollmentRepository enrollmentRepo;
+    @Autowired private AwardRepository awardRepo;
+    @Autowired private CourseRepository courseRepo;
+    @Autowired private UserRepository userRepo;
+
+    private Course course;
+    private User ana;
+    private User bruno;
+    private User carla;
+
+    @BeforeEach
+    void setUp() {
+        notificationRepo.deleteAll();
+        userStoryRepo.deleteAll();
+        sprintRepo.deleteAll();
+        studentAwardRepo.deleteAll();
+        teamAwardRepo.deleteAll();
+        scoreRepo.deleteAll();
+        teamRepo.deleteAll();
+        projectRepo.deleteAll();
+        enrollmentRepo.deleteAll();
+        awardRepo.deleteAll();
+        courseRepo.deleteAll();
+        userRepo.deleteAll();
+
+        course = new Course();
+        course.setName("Curso Ranking");
+        course = courseRepo.save(course);
+
+        ana = createStudent("Ana", "ana@upt.pt", 300);
+        bruno = createStudent("Bruno", "bruno@upt.pt", 100);
+        carla = createStudent("Carla", "carla@upt.pt", -1);
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testCourseRanking_OrderAndStatistics() {
+        RankingService.Snapshot ranking = rankingService.getCourseRanking(course.getId());
+
+        assertEquals(3, ranking.size());
+        assertEquals("Ana", ranking.first().getName());
+        assertEquals(1, ranking.rankOf(ana.getId()));
+        assertEquals(2, ranking.rankOf(bruno.getId()));
+        // Sem Score conta como 0 pontos
+        assertEquals(3, ranking.rankOf(carla.getId()));
+        assertEquals(0, ranking.rankOf(-1L));
+
+        assertEquals(300, ranking.getMax());
+        assertEquals(0, ranking.getMin());
+        assertEquals(400 / 3.0, ranking.getAverage(), 0.001);
+        assertEquals(2, ranking.top(2).size());
+        assertEquals(3, ranking.top(10).size());
+    }
+
+    @Test
+    void testCourseRanking_RefreshedAfterScoreChange() {
+        RankingService.Snapshot before = rankingService.getCourseRanking(course.getId());
+        assertSame(before, rankingService.getCourseRanking(course.getId()), "Sem escritas o snapshot é reutilizado");
+
+        Award award = new Award();
+        award.setName("Grande Prémio");
+        award.setPoints(500);
+        award.setType("MANUAL");
+        award.setTargetType("INDIVIDUAL");
+        award = awardRepo.save(award);
+
+        // Bruno já tem Score: o incremento é feito por UPDATE em massa
+        awardService.assignAwardToStudent(award.getId(), bruno.getId());
+
+        RankingService.Snapshot after = rankingService.getCourseRanking(course.getId());
+        assertNotSame(before, after);
+        // 100 + 500, mais os bónus automáticos de Top 5 (50) e Top 3 (120)
+        assertEquals(1, after.rankOf(bruno.getId()));
+        assertEquals(2, after.rankOf(ana.getId()));
+        assertEquals(3, after.rankOf(carla.getId()));
+        assertEquals(List.of("Bruno", "Ana"), after.top(2).stream().map(RankingDTO::getName).toList());
+        assertEquals(770, after.getMax());
+        assertEquals(0, after.getMin());
+        assertEquals(1070 / 3.0, after.getAverage(), 0.001);
+    }
+
+    @Test
+    void testCourseRanking_OtherCourseWriteKeepsSnapshot() {
+        Course other = new Course();
+        other.setName("Outro Curso");
+        other = courseRepo.save(other);
+        User diogo = new User();
+        diogo.setName("Diogo");
+        diogo.setEmail("diogo@upt.pt");
+        diogo.setPassword("pass");
+        diogo.setRole("STUDENT");
+        diogo = userRepo.save(diogo);
+        Enrollment e = new Enrollment();
+        e.setStudent(diogo);
+        e.setCourse(other);
+        enrollmentRepo.save(e);
+        entityManager.flush();
+
+        RankingService.Snapshot before = rankingService.getCourseRanking(course.getId());
+        RankingService.Snapshot global = rankingService.getGlobalRanking();
+
+        Score score = new Score();
+        score.setUser(diogo);
+        score.setTotalPoints(900);
+        scoreRepo.save(score);
+        entityManager.flush();
+
+        // Diogo não está inscrito neste curso: o snapshot mantém-se
+        assertSame(before, rankingService.getCourseRanking(course.getId()));
+        RankingService.Snapshot otherRanking = rankingService.getCourseRanking(other.getId());
+        assertEquals(1, otherRanking.size());
+        assertEquals(900, otherRanking.getMax());
+
+        // O ranking global inclui toda a gente, por isso é reconstruído
+        RankingService.Snapshot globalAfter = rankingService.getGlobalRanking();
+        assertNotSame(global, globalAfter);
+        assertEquals(1, globalAfter.rankOf(diogo.getId()));
+        assertEquals(2, globalAfter.rankOf(ana.getId()));
+        assertEquals(3, globalAfter.rankOf(bruno.getId()));
+        assertEquals(900, globalAfter.getMax());
+        assertEquals(100, globalAfter.getMin());
+        assertEquals(1300 / 3.0, globalAfter.getAverage(), 0.001);
+    }
+
+    @Test
+    void testGlobalRanking() {
+        RankingService.Snapshot global = rankingService.getGlobalRanking();
+
+        // Apenas utilizadores com Score
+        assertEquals(2, global.size());
+        assertEquals(1, global.rankOf(ana.getId()));
+        assertEquals(0, global.rankOf(carla.getId()));
+    }
+
+    private User createStudent(String name, String email, int points) {
+        User u = new User();
+        u.setName(name);
+        u.setEmail(email);
+        u.setPassword("pass");
+        u.setRole("STUDENT");
+        u = userRepo.save(u);
+
+        Enrollment e = new Enrollment();
+        e.setStudent(u);
+        e.setCourse(course);
+        enrollmentRepo.save(e);
+
+        if (points >= 0) {
+            Score s = new Score();
+            s.setUser(u);
+            s.setTotalPoints(points);
+            scoreRepo.save(s);
+        }
+        return u;
+    }
+}
@@ -172,6 +172,39 @@ class SprintServiceTest {
         assertEquals(0, progress, "Sprint sem US deve ter 0% de progresso");
     }
 
+    @Test
+    void testCalculateSprintProgress_SeveralSprints() {
+        Sprint half = new Sprint();
+        half.setProject(project);
+        half.setName("Half Sprint");
+        half = sprintRepo.save(half);
+        createUserStory(half, "H1", UserStoryStatus.DONE);
+        createUserStory(half, "H2", UserStoryStatus.TODO);
+
+        Sprint testing = new Sprint();
+        testing.setProject(project);
+        testing.setName("Testing Sprint");
+        testing = sprintRepo.save(testing);
+        createUserStory(testing, "T1", UserStoryStatus.TESTING);
+
+        Sprint empty = new Sprint();
+        empty.setProject(project);
+        empty.setName("Empty Sprint");
+        empty = sprintRepo.save(empty);
+
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(50, sprintService.calculateSprintProgress(half.getId()));
+        assertEquals(75, sprintService.calculateSprintProgress(testing.getId()));
+        assertEquals(0, sprintService.calculateSprintProgress(empty.getId()));
+    }
+
+    @Test
+    void testCalculateSprintProgress_NotFound() {
+        assertThrows(RuntimeException.class, () -> sprintService.calculateSprintProgress(99999L));
+    }
+
     // ===========================================
     // TESTES DE CONCLUSÃO (COMPLETE)
     // ===========================================
@@ -313,7 +346,10 @@ class SprintServiceTest {
     
         us.setPriority(UserStoryPriority.MEDIUM);
         
-        return userStoryRepo.save(us);
+        UserStory saved = userStoryRepo.save(us);
+        // Mantém os contadores do sprint, como o UserStoryService
+        sprintRepo.moveStoryStatus(sprint.getId(), null, status);
+        return saved;
     }
 
 
@@ -36,6 +36,7 @@ class TeamServiceTest {
     @Autowired private NotificationRepository notificationRepo;
     @Autowired private AwardRepository awardRepo;
     @Autowired private StudentAwardRepository studentAwardRepo;
+    @Autowired private TeamMembershipRepository teamMembershipRepo;
 
     private Course course;
     private User s1, s2, s3, s4;
@@ -139,6 +140,26 @@ class TeamServiceTest {
         assertTrue(e.getMessage().contains("já pertence a uma equipa"));
     }
     
+    @Test
+    void testCreateTeam_Fail_ReportsFirstUnavailableMember() {
+        // Validação em conjunto: o erro indica o primeiro membro em falta, pela ordem SM, PO, Devs
+        Course c = courseRepo.findById(course.getId()).get();
+        User u1 = userRepo.findById(s1.getId()).get();
+        User u2 = userRepo.findById(s2.getId()).get();
+        User u3 = userRepo.findById(s3.getId()).get();
+        User notEnrolled = userRepo.findById(s4.getId()).get();
+
+        Team t1 = new Team(); t1.setName("Team 1"); t1.setCourse(c); t1.setDevelopers(new ArrayList<>(List.of(u3)));
+        teamService.createTeam(t1);
+
+        Team t2 = new Team(); t2.setName("Team 2"); t2.setCourse(c); t2.setScrumMaster(u1);
+        t2.setDevelopers(new ArrayList<>(List.of(u2, u3, notEnrolled)));
+
+        Exception e = assertThrows(RuntimeException.class, () -> teamService.createTeam(t2));
+        assertTrue(e.getMessage().contains(u3.getName()));
+        assertTrue(e.getMessage().contains("já pertence a uma equipa"));
+    }
+
     @Test
     void testCreateTeam_TeacherBypassesValidation() {
         // Professores não precisam de estar inscritos para serem PO/SM
@@ -239,6 +260,67 @@ class TeamServiceTest {
         assertEquals(2, userTeams.size());
     }
 
+    @Test
+    void testTeamMembership_SyncedOnSaveUpdateAndDelete() {
+        Course c = courseRepo.findById(course.getId()).get();
+        User sm = userRepo.findById(s1.getId()).get();
+        User po = userRepo.findById(s2.getId()).get();
+        User dev = userRepo.findById(s3.getId()).get();
+
+        Team t = new Team();
+        t.setName("Sync Team");
+        t.setCourse(c);
+        t.setScrumMaster(sm);
+        t.setProductOwner(po);
+        t.setDevelopers(new ArrayList<>(List.of(dev, sm)));
+        t = teamRepo.save(t);
+        entityManager.flush();
+
+        // SM também developer: duas linhas, mas a equipa só aparece uma vez
+        assertEquals(4, teamMembershipRepo.findByTeamId(t.getId()).size());
+        assertEquals(1, teamRepo.findTeamByUserId(sm.getId()).size());
+        assertEquals(1, teamRepo.countStudentTeamsInCourse(dev.getId(), c.getId()));
+
+        t.getDevelopers().removeIf(u -> u.getId().equals(dev.getId()));
+        entityManager.flush();
+
+        assertEquals(3, teamMembershipRepo.findByTeamId(t.getId()).size());
+        assertEquals(0, teamRepo.countStudentTeamsInCourse(dev.getId(), c.getId()));
+        assertTrue(teamRepo.findTeamByCourseAndUser(c.getId(), dev.getId()).isEmpty());
+
+        Long teamId = t.getId();
+        teamRepo.delete(t);
+        entityManager.flush();
+
+        assertTrue(teamMembershipRepo.findByTeamId(teamId).isEmpty());
+    }
+
+    @Test
+    void testTeamMembership_LeaderChangeKeepsUnloadedDevelopers() {
+        Course c = courseRepo.findById(course.getId()).get();
+        User sm = userRepo.findById(s1.getId()).get();
+        User dev = userRepo.findById(s3.getId()).get();
+
+        Team t = new Team();
+        t.setName("Lazy Team");
+        t.setCourse(c);
+        t.setScrumMaster(sm);
+        t.setDevelopers(new ArrayList<>(List.of(dev)));
+        t = teamRepo.save(t);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Developers não carregados: só as linhas de SM/PO são reescritas
+        Team loaded = teamRepo.findById(t.getId()).get();
+        loaded.setProductOwner(userRepo.findById(s2.getId()).get());
+        entityManager.flush();
+
+        assertFalse(org.hibernate.Hibernate.isInitialized(loaded.getDevelopers()));
+        assertEquals(3, teamMembershipRepo.findByTeamId(t.getId()).size());
+        assertEquals(1, teamRepo.countStudentTeamsInCourse(dev.getId(), c.getId()));
+        assertEquals(3, teamService.getTeamMembers(t.getId()).size());
+    }
+
     @Test
     void testGetTakenStudentsMap() {
         Course c = courseRepo.findById(course.getId()).get();
@@ -453,6 +535,25 @@ class TeamServiceTest {
         assertFalse(takenIds.contains(s3.getId()));
     }
 
+    @Test
+    void testGetTakenStudentsMap_IgnoresTeachers() {
+        Course c = courseRepo.findById(course.getId()).get();
+        User sm = userRepo.findById(s1.getId()).get();
+        User teacher = createUser("Prof Map", "profmap@upt.pt", "TEACHER");
+
+        Team t = new Team();
+        t.setName("Teacher PO Team");
+        t.setCourse(c);
+        t.setScrumMaster(sm);
+        t.setProductOwner(teacher);
+        t.setDevelopers(new ArrayList<>(List.of(sm)));
+        teamRepo.save(t);
+
+        Set<Long> taken = teamService.getTakenStudentsMap().get(c.getId());
+        assertEquals(Set.of(sm.getId()), taken);
+        assertEquals(Set.of(sm.getId()), teamService.getTakenStudentIdsByCourse(c.getId()));
+    }
+
     @Test
     void testGetAvailableTeamsForStudentByCourse() {
         Course c = courseRepo.findById(course.getId()).get();
@@ -4,6 +4,7 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
@@ -11,7 +12,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 
+import pt.up.edscrum.dto.UserDirectoryDTO;
+import pt.up.edscrum.dto.UserDirectoryPageDTO;
+import pt.up.edscrum.model.Course;
+import pt.up.edscrum.model.Enrollment;
 import pt.up.edscrum.model.User;
+import pt.up.edscrum.repository.CourseRepository;
+import pt.up.edscrum.repository.EnrollmentRepository;
+import pt.up.edscrum.service.ProfileImageCache;
 import pt.up.edscrum.service.UserService;
 
 @SpringBootTest
@@ -21,6 +29,15 @@ class UserServiceTest {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private ProfileImageCache profileImageCache;
+
+    @Autowired
+    private CourseRepository courseRepo;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepo;
+
     @Test
     void testCreateAndGetUser() {
         User user = new User();
@@ -59,6 +76,27 @@ class UserServiceTest {
         assertEquals("TEACHER", updated.getRole());
     }
 
+    @Test
+    void testUpdateUser_EvictsCachedProfileImage() {
+        User u = new User();
+        u.setName("Com Foto");
+        u.setEmail("foto@mail.com");
+        u.setRole("STUDENT");
+        User saved = userService.createUser(u);
+
+        assertNull(profileImageCache.getImage(saved.getId()));
+
+        User update = new User();
+        update.setName("Com Foto");
+        update.setEmail("foto@mail.com");
+        update.setRole("STUDENT");
+        update.setProfileImage("nova.png");
+        userService.updateUser(saved.getId(), update);
+
+        assertEquals("nova.png", profileImageCache.getImage(saved.getId()));
+        assertEquals("nova.png", profileImageCache.lazyView().get(saved.getId()));
+    }
+
     @Test
     void testDeleteUser() {
         User u = new User();
@@ -69,4 +107,52 @@ class UserServiceTest {
         // Está amarelo no IDE mas está correto, ele está se a queixar porque não faz nada depois. 
         assertThrows(RuntimeException.class, () -> userService.getUserById(saved.getId()));
     }
+
+    @Test
+    void testSearchDirectory_PrefixAndKeysetPages() {
+        User c = createDirectoryUser("Zdirtest Carla", "zdir.carla@mail.com", "STUDENT");
+        User a = createDirectoryUser("Zdirtest Ana", "zdir.ana@mail.com", "STUDENT");
+        User b = createDirectoryUser("Zdirtest Bruno", "zdir.bruno@mail.com", "STUDENT");
+        createDirectoryUser("Zdirtest Prof", "zdir.prof@mail.com", "TEACHER");
+
+        UserDirectoryPageDTO first = userService.searchDirectory("zdirtest", "STUDENT", null, null, 2);
+        assertEquals(List.of(a.getId(), b.getId()), first.getItems().stream().map(UserDirectoryDTO::getId).toList());
+        assertEquals(b.getId(), first.getNextCursor());
+
+        UserDirectoryPageDTO second = userService.searchDirectory("zdirtest", "STUDENT", null, first.getNextCursor(), 2);
+        assertEquals(List.of(c.getId()), second.getItems().stream().map(UserDirectoryDTO::getId).toList());
+        assertNull(second.getNextCursor());
+
+        // Pesquisa por email e por tag de estudante
+        assertEquals(1, userService.searchDirectory("zdir.bruno@", null, null, null, 10).getItems().size());
+        UserDirectoryPageDTO byTag = userService.searchDirectory(a.getId() + "-UPT", "STUDENT", null, null, 10);
+        assertEquals(List.of(a.getId()), byTag.getItems().stream().map(UserDirectoryDTO::getId).toList());
+    }
+
+    @Test
+    void testSearchDirectory_CourseFilter() {
+        User enrolled = createDirectoryUser("Zdircourse Inscrito", "zdircourse.in@mail.com", "STUDENT");
+        createDirectoryUser("Zdircourse Fora", "zdircourse.out@mail.com", "STUDENT");
+
+        Course course = new Course();
+        course.setName("Curso Diretório");
+        course = courseRepo.save(course);
+        Enrollment e = new Enrollment();
+        e.setStudent(enrolled);
+        e.setCourse(course);
+        enrollmentRepo.save(e);
+
+        UserDirectoryPageDTO page = userService.searchDirectory("zdircourse", null, course.getId(), null, 10);
+        assertEquals(1, page.getItems().size());
+        assertEquals(enrolled.getId(), page.getItems().get(0).getId());
+        assertEquals(enrolled.getId() + "-UPT", page.getItems().get(0).getStudentTag());
+    }
+
+    private User createDirectoryUser(String name, String email, String role) {
+        User u = new User();
+        u.setName(name);
+        u.setEmail(email);
+        u.setRole(role);
+        return userService.createUser(u);
+    }
 }
@@ -284,6 +284,47 @@ class UserStoryServiceTest {
         assertFalse(userStoryRepo.existsById(saved.getId()));
     }
 
+    @Test
+    void testStoryCountersFollowCreateUpdateAndDelete() {
+        UserStory a = new UserStory(); a.setName("A"); a.setSprint(sprint);
+        UserStory b = new UserStory(); b.setName("B"); b.setSprint(sprint);
+        UserStory c = new UserStory(); c.setName("C"); c.setSprint(sprint); c.setStatus(UserStoryStatus.TESTING);
+        a = userStoryService.createUserStory(a);
+        b = userStoryService.createUserStory(b);
+        c = userStoryService.createUserStory(c);
+
+        userStoryService.updateUserStoryStatus(a.getId(), UserStoryStatus.DONE);
+        userStoryService.updateUserStoryStatus(b.getId(), UserStoryStatus.IN_PROGRESS);
+        userStoryService.deleteUserStory(c.getId());
+
+        entityManager.flush();
+        entityManager.clear();
+
+        Sprint reloaded = sprintRepo.findById(sprint.getId()).orElseThrow();
+        assertEquals(0, reloaded.getTodoCount());
+        assertEquals(1, reloaded.getInProgressCount());
+        assertEquals(0, reloaded.getTestingCount());
+        assertEquals(1, reloaded.getDoneCount());
+        assertEquals(2, reloaded.getStoryCount());
+        // (25 + 100) / 2
+        assertEquals(62, reloaded.getStoryProgress());
+    }
+
+    @Test
+    void testBackfillStoryCounters_OnlyUncountedSprints() {
+        UserStory us = new UserStory(); us.setName("Direct"); us.setSprint(sprint); us.setStatus(UserStoryStatus.DONE);
+        userStoryRepo.save(us);
+
+        assertEquals(1, sprintRepo.backfillStoryCounters());
+
+        Sprint reloaded = sprintRepo.findById(sprint.getId()).orElseThrow();
+        assertEquals(1, reloaded.getDoneCount());
+        assertEquals(1, reloaded.getStoryCount());
+
+        // Já preenchido: a migração não volta a escrever o sprint
+        assertEquals(0, sprintRepo.backfillStoryCounters());
+    }
+
     // ===========================================
     // TESTES: UPDATE FULL (Edição)
     // ===========================================